@@ -0,0 +1,69 @@
+package dev.dluks.escriba.benchmark;
+
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construção validada de {@link Cartorio} e mapeamento para os DTOs de resposta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartorioMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int quantidadeAtribuicoes;
+
+    private Situacao situacao;
+    private Set<Atribuicao> atribuicoes;
+    private Cartorio cartorio;
+
+    @Setup
+    public void setUp() {
+        situacao = Fixtures.situacao();
+        atribuicoes = Fixtures.atribuicoes(quantidadeAtribuicoes);
+        cartorio = Fixtures.cartorio(1, situacao, atribuicoes);
+    }
+
+    @Benchmark
+    public Cartorio builder() {
+        return Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório de Notas")
+                .observacao("Benchmark")
+                .situacao(situacao)
+                .atribuicoes(atribuicoes)
+                .build();
+    }
+
+    @Benchmark
+    public CartorioResponse responseFromEntity() {
+        return CartorioResponse.fromEntity(cartorio);
+    }
+
+    @Benchmark
+    public CartorioResponseMin responseMinFromEntity() {
+        return CartorioResponseMin.fromEntity(cartorio);
+    }
+
+}
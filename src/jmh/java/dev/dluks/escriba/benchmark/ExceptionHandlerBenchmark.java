@@ -0,0 +1,69 @@
+package dev.dluks.escriba.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dluks.escriba.controllers.CartorioController;
+import dev.dluks.escriba.domain.exceptions.DomainException;
+import dev.dluks.escriba.domain.exceptions.handler.GlobalExceptionHandler;
+import dev.dluks.escriba.dtos.cartorio.CreateCartorioRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem e serialização do {@link GlobalExceptionHandler.Problem} para os erros mais comuns da API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private GlobalExceptionHandler handler;
+    private DomainException domainException;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        handler = new GlobalExceptionHandler();
+        domainException = new DomainException("Nome é obrigatório");
+
+        CreateCartorioRequest request = CreateCartorioRequest.builder().build();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(request, "dto");
+        bindingResult.addError(new FieldError("dto", "nome", "Nome é obrigatório"));
+        bindingResult.addError(new FieldError("dto", "situacaoId", "Situação é obrigatória"));
+        bindingResult.addError(new FieldError("dto", "atribuicoesIds", "Pelo menos uma atribuição é obrigatória"));
+        MethodParameter parametro = new MethodParameter(
+                CartorioController.class.getMethod("create", CreateCartorioRequest.class), 0);
+        validationException = new MethodArgumentNotValidException(parametro, bindingResult);
+    }
+
+    @Benchmark
+    public byte[] domainException() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleDomainException(domainException).getBody());
+    }
+
+    @Benchmark
+    public byte[] validationException() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleValidationException(validationException).getBody());
+    }
+
+}
@@ -0,0 +1,43 @@
+package dev.dluks.escriba.benchmark;
+
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.domain.entities.Situacao;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Situacao situacao() {
+        return Situacao.builder()
+                .id("SIT_ATIVO")
+                .nome("Ativo")
+                .build();
+    }
+
+    static Set<Atribuicao> atribuicoes(int quantidade) {
+        return IntStream.rangeClosed(1, quantidade)
+                .mapToObj(i -> Atribuicao.builder()
+                        .id("ATRIB_" + i)
+                        .nome("Atribuição " + i)
+                        .situacao(true)
+                        .build())
+                .collect(Collectors.toSet());
+    }
+
+    static Cartorio cartorio(int id, Situacao situacao, Set<Atribuicao> atribuicoes) {
+        return Cartorio.builder()
+                .id(id)
+                .nome(id + "º Cartório de Notas")
+                .observacao("Benchmark")
+                .situacao(situacao)
+                .atribuicoes(atribuicoes)
+                .build();
+    }
+
+}
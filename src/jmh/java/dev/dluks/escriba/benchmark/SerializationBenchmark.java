@@ -0,0 +1,80 @@
+package dev.dluks.escriba.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Serialização JSON das respostas de cartório com um {@link ObjectMapper} equivalente ao da aplicação, com e sem o
+ * {@link BlackbirdModule}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int tamanhoPagina;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private CartorioResponse cartorio;
+    private Page<CartorioResponseMin> pagina;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        cartorio = CartorioResponse.fromEntity(
+                Fixtures.cartorio(1, Fixtures.situacao(), Fixtures.atribuicoes(10)));
+
+        List<CartorioResponseMin> conteudo = IntStream.rangeClosed(1, tamanhoPagina)
+                .mapToObj(id -> Fixtures.cartorio(id, Fixtures.situacao(), Fixtures.atribuicoes(1)))
+                .map(CartorioResponseMin::fromEntity)
+                .collect(Collectors.toList());
+        pagina = new PageImpl<>(conteudo, PageRequest.of(3, tamanhoPagina, Sort.by("nome")), 10_000);
+    }
+
+    @Benchmark
+    public byte[] cartorioResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cartorio);
+    }
+
+    @Benchmark
+    public byte[] paginaResponseMin() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+}
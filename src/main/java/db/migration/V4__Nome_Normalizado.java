@@ -0,0 +1,86 @@
+package db.migration;
+
+import dev.dluks.escriba.domain.utils.TextNormalizer;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Nome sem acentos e em minúsculas para verificação de duplicidade por índice. A coluna é preenchida com
+ * {@link TextNormalizer}, e não com uma expressão SQL equivalente, para que os registros existentes tenham exatamente o
+ * valor que a aplicação grava.
+ * <p>
+ * Nomes que a aplicação considera iguais interrompem a migração com a lista dos conflitos, para correção manual.
+ */
+public class V4__Nome_Normalizado extends BaseJavaMigration {
+
+    private static final Map<String, Integer> TABELAS = new LinkedHashMap<>();
+
+    static {
+        TABELAS.put("situacoes", 50);
+        TABELAS.put("atribuicoes", 50);
+        TABELAS.put("cartorios", 150);
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection conexao = context.getConnection();
+        for (Map.Entry<String, Integer> tabela : TABELAS.entrySet()) {
+            normalizar(conexao, tabela.getKey(), tabela.getValue());
+        }
+    }
+
+    private static void normalizar(Connection conexao, String tabela, int tamanho) throws SQLException {
+        try (Statement sql = conexao.createStatement()) {
+            sql.execute("ALTER TABLE " + tabela + " ADD COLUMN nome_normalizado VARCHAR(" + tamanho + ")");
+        }
+
+        Map<Object, String> normalizados = new LinkedHashMap<>();
+        Map<String, List<String>> nomesPorChave = new LinkedHashMap<>();
+        try (Statement consulta = conexao.createStatement();
+             ResultSet linhas = consulta.executeQuery("SELECT id, nome FROM " + tabela)) {
+            while (linhas.next()) {
+                String normalizado = TextNormalizer.normalize(linhas.getString("nome"));
+                nomesPorChave.computeIfAbsent(normalizado, chave -> new ArrayList<>()).add(linhas.getString("nome"));
+                normalizados.put(linhas.getObject("id"), normalizado);
+            }
+        }
+
+        String conflitos = nomesPorChave.values().stream()
+                .filter(nomes -> nomes.size() > 1)
+                .map(nomes -> String.join(" / ", nomes))
+                .collect(Collectors.joining("; "));
+        if (!conflitos.isEmpty()) {
+            throw new FlywayException(String.format("Nomes equivalentes em %s: %s", tabela, conflitos));
+        }
+
+        if (!normalizados.isEmpty()) {
+            try (PreparedStatement gravar = conexao.prepareStatement(
+                    "UPDATE " + tabela + " SET nome_normalizado = ? WHERE id = ?")) {
+                for (Map.Entry<Object, String> normalizado : normalizados.entrySet()) {
+                    gravar.setString(1, normalizado.getValue());
+                    gravar.setObject(2, normalizado.getKey());
+                    gravar.addBatch();
+                }
+                gravar.executeBatch();
+            }
+        }
+
+        try (Statement sql = conexao.createStatement()) {
+            sql.execute("ALTER TABLE " + tabela + " ALTER COLUMN nome_normalizado SET NOT NULL");
+            sql.execute("CREATE UNIQUE INDEX uk_" + tabela + "_nome_normalizado ON " + tabela + " (nome_normalizado)");
+        }
+    }
+
+}
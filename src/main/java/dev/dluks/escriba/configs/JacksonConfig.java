@@ -0,0 +1,20 @@
+package dev.dluks.escriba.configs;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Troca o acesso por reflexão aos getters e construtores dos DTOs por lambdas geradas via {@code LambdaMetafactory}.
+     * O Spring Boot registra todo {@link Module} do contexto no {@code ObjectMapper} da aplicação.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+}
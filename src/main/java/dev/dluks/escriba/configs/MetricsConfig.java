@@ -0,0 +1,52 @@
+package dev.dluks.escriba.configs;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor(ObjectProvider<QueryCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && !(bean instanceof QueryCountingDataSource)
+                        ? new QueryCountingDataSource((DataSource) bean, counter.getObject())
+                        : bean;
+            }
+        };
+    }
+
+    /**
+     * Aplicado pelo Spring Boot ao executor padrão, que também roda os corpos em fluxo das requisições assíncronas.
+     */
+    @Bean
+    public TaskDecorator queryCountTaskDecorator(QueryCounter counter) {
+        return counter::decorate;
+    }
+
+    @Bean
+    public MappedInterceptor queryCountInterceptor(MeterRegistry registry, QueryCounter counter) {
+        return new MappedInterceptor(new String[]{"/api/**"}, new QueryCountInterceptor(registry, counter));
+    }
+
+}
@@ -0,0 +1,62 @@
+package dev.dluks.escriba.configs;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publica a quantidade de comandos SQL executados em cada requisição, por método e padrão de URI.
+ * <p>
+ * Em requisições assíncronas a contagem sai da thread do container quando o processamento assíncrono começa, segue com
+ * as tarefas do executor do MVC (exportação e importação em fluxo) e é publicada ao fim do último despacho. Envios de
+ * SSE feitos pelas threads do {@code EventStream} atendem a todas as conexões e não entram na contagem de nenhuma.
+ */
+@RequiredArgsConstructor
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    static final String METRICA = "escriba.http.server.queries";
+
+    private static final String CONTAGEM = QueryCountInterceptor.class.getName() + ".CONTAGEM";
+
+    private final MeterRegistry registry;
+    private final QueryCounter counter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AtomicInteger contagem = (AtomicInteger) request.getAttribute(CONTAGEM);
+        if (contagem != null) {
+            request.removeAttribute(CONTAGEM);
+            counter.resume(contagem);
+        } else {
+            counter.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        request.setAttribute(CONTAGEM, counter.suspend());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int comandos = counter.stop();
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        DistributionSummary.builder(METRICA)
+                .description("Comandos SQL executados por requisição")
+                .baseUnit("statements")
+                .tags("method", request.getMethod(), "uri", uri != null ? uri.toString() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(comandos);
+    }
+
+}
@@ -0,0 +1,67 @@
+package dev.dluks.escriba.configs;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta os comandos SQL executados na thread corrente, entre {@link #start()} e {@link #stop()}.
+ * <p>
+ * Requisições assíncronas continuam a mesma contagem em outras threads: {@link #suspend()} e {@link #resume} a levam
+ * entre os despachos da requisição, e {@link #decorate} a leva para as tarefas submetidas durante a contagem.
+ */
+public class QueryCounter {
+
+    private static final ThreadLocal<AtomicInteger> CONTADOR = new ThreadLocal<>();
+
+    public void increment() {
+        AtomicInteger contador = CONTADOR.get();
+        if (contador != null) {
+            contador.incrementAndGet();
+        }
+    }
+
+    public void start() {
+        CONTADOR.set(new AtomicInteger());
+    }
+
+    public int stop() {
+        AtomicInteger contador = suspend();
+        return contador != null ? contador.get() : 0;
+    }
+
+    /**
+     * Desvincula a contagem da thread corrente, sem encerrá-la.
+     */
+    AtomicInteger suspend() {
+        AtomicInteger contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador;
+    }
+
+    /**
+     * Retoma na thread corrente uma contagem obtida de {@link #suspend()}.
+     */
+    void resume(AtomicInteger contador) {
+        if (contador != null) {
+            CONTADOR.set(contador);
+        } else {
+            CONTADOR.remove();
+        }
+    }
+
+    /**
+     * Executa a tarefa na contagem da thread que a submeteu, restaurando depois a contagem da thread executora.
+     */
+    public Runnable decorate(Runnable tarefa) {
+        AtomicInteger contador = CONTADOR.get();
+        return () -> {
+            AtomicInteger anterior = CONTADOR.get();
+            resume(contador);
+            try {
+                tarefa.run();
+            } finally {
+                resume(anterior);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,60 @@
+package dev.dluks.escriba.configs;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Envolve o {@link DataSource} e conta no {@link QueryCounter} cada execução de comando SQL, seja do
+ * Hibernate, do {@code JdbcTemplate} ou do {@code NamedParameterJdbcTemplate}. Um {@code executeBatch} conta
+ * como um comando.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private final QueryCounter counter;
+
+    public QueryCountingDataSource(DataSource target, QueryCounter counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private <T> T proxy(Class<T> tipo, Object alvo) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (alvo instanceof Statement && method.getName().startsWith("execute")) {
+                counter.increment();
+            }
+            Object resultado = invocar(alvo, method, args);
+            Class<?> retorno = method.getReturnType();
+            return resultado != null && Statement.class.isAssignableFrom(retorno)
+                    ? proxy(retorno, resultado)
+                    : resultado;
+        };
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, handler));
+    }
+
+    private static Object invocar(Object alvo, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+}
@@ -0,0 +1,11 @@
+package dev.dluks.escriba.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "escriba.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
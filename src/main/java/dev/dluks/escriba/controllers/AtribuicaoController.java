@@ -4,6 +4,7 @@ import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponse;
 import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponseMin;
 import dev.dluks.escriba.dtos.atribuicao.CreateAtribuicaoRequest;
 import dev.dluks.escriba.dtos.atribuicao.UpdateAtribuicaoRequest;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
 import dev.dluks.escriba.services.AtribuicaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,8 +14,10 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -47,8 +50,9 @@ public class AtribuicaoController {
 
     @GetMapping
     @Operation(summary = "Listar atribuições",
-            description = "Retorna uma lista paginada de todas as atribuições")
-    public Page<AtribuicaoResponseMin> listAll(
+            description = "Retorna uma lista paginada de todas as atribuições. " +
+                          "Com total=false a contagem de registros é dispensada e apenas last indica se há próxima página")
+    public Slice<AtribuicaoResponseMin> listAll(
             @ParameterObject
             @PageableDefault(
                     page = 0,
@@ -57,8 +61,11 @@ public class AtribuicaoController {
                     direction = Sort.Direction.ASC)
 
             @Parameter(description = "Parâmetros de paginação")
-            Pageable pageable) {
-        return service.findAll(pageable);
+            Pageable pageable,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "Calcula o total de registros (false dispensa a contagem)")
+            boolean total) {
+        return total ? service.findAll(pageable) : service.findSlice(pageable);
     }
 
     @GetMapping("/{id}")
@@ -66,13 +73,14 @@ public class AtribuicaoController {
             description = "Retorna uma atribuição pelo ID",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Atribuição encontrada"),
+                    @ApiResponse(responseCode = "304", description = "Atribuição não modificada"),
                     @ApiResponse(responseCode = "404", description = "Atribuição não encontrada")
             })
-    public AtribuicaoResponse findById(
+    public ResponseEntity<AtribuicaoResponse> findById(
             @PathVariable
             @Parameter(description = "ID da atribuição")
             String id) {
-        return service.findById(id);
+        return comETag(service.findById(id));
     }
 
     @PutMapping("/{id}")
@@ -81,12 +89,17 @@ public class AtribuicaoController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Atribuição atualizada"),
                     @ApiResponse(responseCode = "404", description = "Atribuição não encontrada"),
-                    @ApiResponse(responseCode = "400", description = "Dados inválidos")
+                    @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+                    @ApiResponse(responseCode = "409", description = "Atribuição alterada concorrentemente"),
+                    @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
             })
-    public AtribuicaoResponse update(
+    public ResponseEntity<AtribuicaoResponse> update(
             @PathVariable String id,
-            @Valid @RequestBody UpdateAtribuicaoRequest dto) {
-        return service.update(id, dto);
+            @Valid @RequestBody UpdateAtribuicaoRequest dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag da versão conhecida pelo cliente; se divergir da atual a alteração é rejeitada com 412")
+            String ifMatch) {
+        return comETag(service.update(id, dto, ETags.versoesEsperadas(ifMatch)));
     }
 
     @PatchMapping("/{id}/situacao")
@@ -94,14 +107,42 @@ public class AtribuicaoController {
             description = "Ativa ou desativa uma atribuição",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Situação alterada com sucesso"),
-                    @ApiResponse(responseCode = "404", description = "Atribuição não encontrada")
+                    @ApiResponse(responseCode = "404", description = "Atribuição não encontrada"),
+                    @ApiResponse(responseCode = "409", description = "Atribuição alterada concorrentemente"),
+                    @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
             })
-    public AtribuicaoResponse changeSituacao(
+    public ResponseEntity<AtribuicaoResponse> changeSituacao(
             @PathVariable String id,
             @RequestParam
             @Parameter(description = "Nova situação (true=ativo, false=inativo)")
-            boolean situacao) {
-        return service.changeSituacao(id, situacao);
+            boolean situacao,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag da versão conhecida pelo cliente; se divergir da atual a alteração é rejeitada com 412")
+            String ifMatch) {
+        return comETag(service.changeSituacao(id, situacao, ETags.versoesEsperadas(ifMatch)));
+    }
+
+    @GetMapping("/{id}/cartorios")
+    @Operation(summary = "Listar cartórios da atribuição",
+            description = "Retorna uma lista paginada com ID e nome dos cartórios que têm a atribuição; o total indica " +
+                          "quantos cartórios a utilizam",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cartórios listados com sucesso"),
+                    @ApiResponse(responseCode = "404", description = "Atribuição não encontrada")
+            })
+    public Page<CartorioResponseMin> findCartorios(
+            @PathVariable
+            @Parameter(description = "ID da atribuição")
+            String id,
+            @ParameterObject
+            @PageableDefault(
+                    page = 0,
+                    size = 10,
+                    sort = "nome",
+                    direction = Sort.Direction.ASC)
+            @Parameter(description = "Parâmetros de paginação")
+            Pageable pageable) {
+        return service.findCartorios(id, pageable);
     }
 
     @DeleteMapping("/{id}")
@@ -111,9 +152,15 @@ public class AtribuicaoController {
             responses = {
                     @ApiResponse(responseCode = "204", description = "Atribuição removida"),
                     @ApiResponse(responseCode = "404", description = "Atribuição não encontrada"),
-                    @ApiResponse(responseCode = "400", description = "Atribuição não pode ser removida")
+                    @ApiResponse(responseCode = "409", description = "Atribuição utilizada por cartórios")
             })
     public void delete(@PathVariable String id) {
         service.delete(id);
     }
+
+    private ResponseEntity<AtribuicaoResponse> comETag(AtribuicaoResponse response) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersao()))
+                .body(response);
+    }
 }
\ No newline at end of file
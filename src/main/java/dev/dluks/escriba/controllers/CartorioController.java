@@ -1,12 +1,25 @@
 package dev.dluks.escriba.controllers;
 
 import dev.dluks.escriba.dtos.atribuicao.AtribuicaoRequest;
+import dev.dluks.escriba.dtos.cartorio.AlteracaoAtribuicoesRequest;
+import dev.dluks.escriba.dtos.cartorio.AlteracaoSituacaoEmLoteRequest;
+import dev.dluks.escriba.dtos.cartorio.AlteracaoSituacaoEmLoteResponse;
+import dev.dluks.escriba.dtos.cartorio.AtribuicoesCartorioRequest;
+import dev.dluks.escriba.dtos.cartorio.CartorioAlteracoesResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioCursorResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioEstatisticasResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
 import dev.dluks.escriba.dtos.cartorio.CartorioResponse;
 import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
 import dev.dluks.escriba.dtos.cartorio.CreateCartorioRequest;
+import dev.dluks.escriba.dtos.cartorio.FormatoExportacao;
+import dev.dluks.escriba.dtos.cartorio.ModoFiltroAtribuicoes;
 import dev.dluks.escriba.dtos.cartorio.UpdateCartorioRequest;
 import dev.dluks.escriba.dtos.situacao.SituacaoRequest;
+import dev.dluks.escriba.services.CartorioExportService;
+import dev.dluks.escriba.services.CartorioImportService;
 import dev.dluks.escriba.services.CartorioService;
+import dev.dluks.escriba.services.CartorioStatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,13 +27,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/cartorios")
@@ -29,6 +49,9 @@ import java.net.URI;
 public class CartorioController {
 
     private final CartorioService service;
+    private final CartorioImportService importService;
+    private final CartorioExportService exportService;
+    private final CartorioStatisticsService statisticsService;
 
 
     @Operation(
@@ -46,25 +69,136 @@ public class CartorioController {
         return ResponseEntity.created(uri).body(response);
     }
 
+    @Operation(
+            summary = "Importar cartórios em massa",
+            description = "Importa cartórios a partir de um array JSON ou de NDJSON (um cartório por linha). " +
+                          "O corpo é processado em fluxo e em lotes; a resposta é um NDJSON com o resultado de " +
+                          "cada registro, escrito à medida que os lotes são gravados",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Importação processada")
+            })
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importar(InputStream corpo) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(saida -> importService.importar(corpo, saida));
+    }
+
     @GetMapping
     @Operation(summary = "Listar cartórios paginados",
-            description = "Retorna uma lista paginada com ID e nome dos cartórios")
-    public Page<CartorioResponseMin> listAll(
+            description = "Retorna uma lista paginada com ID e nome dos cartórios, opcionalmente filtrada por situação " +
+                          "e atribuições. Com total=false a contagem de registros é dispensada e apenas last indica " +
+                          "se há próxima página")
+    public Slice<CartorioResponseMin> listAll(
             @PageableDefault(
                     page = 0,
                     size = 10,
                     sort = "nome",
                     direction = Sort.Direction.ASC)
             @Parameter(description = "Parâmetros de paginação")
+            Pageable pageable,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "Calcula o total de registros (false dispensa a contagem)")
+            boolean total,
+            @RequestParam(required = false)
+            @Parameter(description = "Filtra pela situação do cartório")
+            String situacaoId,
+            @RequestParam(required = false)
+            @Parameter(description = "Filtra por atribuição; pode ser repetido")
+            Set<String> atribuicaoId,
+            @RequestParam(defaultValue = "QUALQUER")
+            @Parameter(description = "Com várias atribuições, exige QUALQUER uma delas ou TODAS")
+            ModoFiltroAtribuicoes modo) {
+        CartorioFiltro filtro = new CartorioFiltro(situacaoId, atribuicaoId, modo);
+        return total ? service.listAll(filtro, pageable) : service.listSlice(filtro, pageable);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar cartórios por cursor",
+            description = "Retorna cartórios ordenados por nome e ID a partir de um cursor opaco, " +
+                          "sem contagem total. Use o nextCursor retornado para buscar a próxima página",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cartórios listados com sucesso"),
+                    @ApiResponse(responseCode = "400", description = "Cursor inválido")
+            })
+    public CartorioCursorResponse listByCursor(
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor retornado pela página anterior")
+            String after,
+            @RequestParam(defaultValue = "10")
+            @Parameter(description = "Quantidade de registros por página")
+            int size) {
+        return service.listByCursor(after, size);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Sincronizar cartórios",
+            description = "Retorna os cartórios incluídos ou alterados e os ids excluídos após o token, na ordem em " +
+                          "que as alterações foram confirmadas. Sem token retorna todos os cartórios. Guarde o " +
+                          "nextToken retornado e repita a consulta com ele enquanto hasNext for verdadeiro",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Alterações listadas com sucesso"),
+                    @ApiResponse(responseCode = "400", description = "Token inválido")
+            })
+    public CartorioAlteracoesResponse listChanges(
+            @RequestParam(required = false)
+            @Parameter(description = "Token retornado pela sincronização anterior")
+            String since,
+            @RequestParam(defaultValue = "500")
+            @Parameter(description = "Quantidade máxima de alterações por resposta")
+            int size) {
+        return service.listChanges(since, size);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Pesquisar cartórios",
+            description = "Pesquisa cartórios por termos do nome e da observação, sem diferenciar acentos e maiúsculas. " +
+                          "Cada termo casa por prefixo e todos precisam ser encontrados; os resultados vêm ordenados " +
+                          "por relevância, com ocorrências no nome à frente")
+    public Page<CartorioResponseMin> search(
+            @RequestParam
+            @Parameter(description = "Termos pesquisados")
+            String q,
+            @PageableDefault(page = 0, size = 10)
+            @Parameter(description = "Parâmetros de paginação (a ordenação é sempre por relevância)")
             Pageable pageable) {
-        return service.listAll(pageable);
+        return service.search(q, pageable);
+    }
+
+    @GetMapping("/estatisticas")
+    @Operation(summary = "Estatísticas de cartórios",
+            description = "Retorna o total de cartórios e a quantidade por situação e por atribuição, " +
+                          "a partir de contadores mantidos nas escritas")
+    public CartorioEstatisticasResponse estatisticas() {
+        return statisticsService.estatisticas();
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar cartórios",
+            description = "Exporta todos os cartórios com situação e atribuições em CSV ou NDJSON. " +
+                          "O conteúdo é gerado em fluxo a partir de um cursor no banco, sem paginação")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "NDJSON")
+            @Parameter(description = "Formato do arquivo exportado (CSV ou NDJSON)")
+            FormatoExportacao formato) {
+        return ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("cartorios." + formato.getExtensao())
+                        .build()
+                        .toString())
+                .body(saida -> exportService.exportar(formato, saida));
     }
 
     @Operation(
             summary = "Buscar cartório por ID",
-            description = "Retorna um cartório pelo ID",
+            description = "Retorna um cartório pelo ID com a versão no ETag. " +
+                          "Com If-None-Match igual à versão atual responde 304 sem corpo",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Cartório encontrado"),
+                    @ApiResponse(responseCode = "304", description = "Cartório não modificado"),
                     @ApiResponse(responseCode = "404", description = "Cartório não encontrado")
             }
     )
@@ -73,7 +207,7 @@ public class CartorioController {
             @PathVariable
             @Parameter(description = "ID do cartório")
             Integer id) {
-        return ResponseEntity.ok(service.findById(id));
+        return comETag(service.findById(id));
     }
 
     @Operation(
@@ -82,14 +216,19 @@ public class CartorioController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Cartório atualizado com sucesso"),
                     @ApiResponse(responseCode = "400", description = "Dados inválidos"),
-                    @ApiResponse(responseCode = "404", description = "Cartório, situação ou atribuição não encontrada")
+                    @ApiResponse(responseCode = "404", description = "Cartório, situação ou atribuição não encontrada"),
+                    @ApiResponse(responseCode = "409", description = "Cartório alterado concorrentemente"),
+                    @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
             }
     )
     @PutMapping("/{id}")
     public ResponseEntity<CartorioResponse> update(
             @PathVariable Integer id,
-            @Valid @RequestBody UpdateCartorioRequest dto) {
-        return ResponseEntity.ok(service.update(id, dto));
+            @Valid @RequestBody UpdateCartorioRequest dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag da versão conhecida pelo cliente; se divergir da atual a alteração é rejeitada com 412")
+            String ifMatch) {
+        return comETag(service.update(id, dto, ETags.versoesEsperadas(ifMatch)));
     }
 
     @Operation(
@@ -98,7 +237,7 @@ public class CartorioController {
             responses = {
                     @ApiResponse(responseCode = "204", description = "Cartório removido com sucesso"),
                     @ApiResponse(responseCode = "404", description = "Cartório não encontrado"),
-                    @ApiResponse(responseCode = "400", description = "Cartório não pode ser removido")
+                    @ApiResponse(responseCode = "409", description = "Cartório não pode ser removido")
             }
 
     )
@@ -113,15 +252,20 @@ public class CartorioController {
             description = "Adiciona uma atribuição ao cartório",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Atribuição adicionada com sucesso"),
-                    @ApiResponse(responseCode = "404", description = "Cartório ou atribuição não encontrada")
+                    @ApiResponse(responseCode = "404", description = "Cartório ou atribuição não encontrada"),
+                    @ApiResponse(responseCode = "409", description = "Cartório alterado concorrentemente"),
+                    @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
             }
     )
     @PutMapping("/{id}/atribuicoes/add")
     public ResponseEntity<CartorioResponse> addAtribuicao(
             @PathVariable Integer id,
-            @Valid @RequestBody AtribuicaoRequest atribuicao
+            @Valid @RequestBody AtribuicaoRequest atribuicao,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag da versão conhecida pelo cliente; se divergir da atual a alteração é rejeitada com 412")
+            String ifMatch
     ) {
-        return ResponseEntity.ok(service.addAtribuicao(id, atribuicao.getId()));
+        return comETag(service.addAtribuicao(id, atribuicao.getId(), ETags.versoesEsperadas(ifMatch)));
     }
 
     @Operation(
@@ -129,15 +273,65 @@ public class CartorioController {
             description = "Remove uma atribuição do cartório",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Atribuição removida com sucesso"),
-                    @ApiResponse(responseCode = "404", description = "Cartório ou atribuição não encontrada")
+                    @ApiResponse(responseCode = "404", description = "Cartório ou atribuição não encontrada"),
+                    @ApiResponse(responseCode = "409", description = "Cartório alterado concorrentemente"),
+                    @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
             }
     )
     @PutMapping("/{id}/atribuicoes/remove")
     public ResponseEntity<CartorioResponse> removeAtribuicao(
             @PathVariable Integer id,
-            @Valid @RequestBody AtribuicaoRequest atribuicao
+            @Valid @RequestBody AtribuicaoRequest atribuicao,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag da versão conhecida pelo cliente; se divergir da atual a alteração é rejeitada com 412")
+            String ifMatch
     ) {
-        return ResponseEntity.ok(service.removeAtribuicao(id, atribuicao.getId()));
+        return comETag(service.removeAtribuicao(id, atribuicao.getId(), ETags.versoesEsperadas(ifMatch)));
+    }
+
+    @Operation(
+            summary = "Substituir atribuições",
+            description = "Define o conjunto completo de atribuições do cartório, incluindo e removendo apenas a diferença",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Atribuições atualizadas com sucesso"),
+                    @ApiResponse(responseCode = "400", description = "Conjunto vazio ou atribuição nova inativa"),
+                    @ApiResponse(responseCode = "404", description = "Cartório ou atribuição não encontrada"),
+                    @ApiResponse(responseCode = "409", description = "Cartório alterado concorrentemente"),
+                    @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
+            }
+    )
+    @PutMapping("/{id}/atribuicoes")
+    public ResponseEntity<CartorioResponse> replaceAtribuicoes(
+            @PathVariable Integer id,
+            @Valid @RequestBody AtribuicoesCartorioRequest atribuicoes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag da versão conhecida pelo cliente; se divergir da atual a alteração é rejeitada com 412")
+            String ifMatch
+    ) {
+        return comETag(service.replaceAtribuicoes(id, atribuicoes.getAtribuicoesIds(), ETags.versoesEsperadas(ifMatch)));
+    }
+
+    @Operation(
+            summary = "Alterar atribuições",
+            description = "Inclui e remove várias atribuições do cartório em uma única alteração",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Atribuições atualizadas com sucesso"),
+                    @ApiResponse(responseCode = "400", description = "Atribuição em ambas as listas, nova inativa, removida sem estar no cartório ou cartório sem atribuições"),
+                    @ApiResponse(responseCode = "404", description = "Cartório ou atribuição não encontrada"),
+                    @ApiResponse(responseCode = "409", description = "Cartório alterado concorrentemente"),
+                    @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
+            }
+    )
+    @PatchMapping("/{id}/atribuicoes")
+    public ResponseEntity<CartorioResponse> changeAtribuicoes(
+            @PathVariable Integer id,
+            @Valid @RequestBody AlteracaoAtribuicoesRequest alteracao,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag da versão conhecida pelo cliente; se divergir da atual a alteração é rejeitada com 412")
+            String ifMatch
+    ) {
+        return comETag(service.changeAtribuicoes(id, alteracao.getIncluir(), alteracao.getRemover(),
+                ETags.versoesEsperadas(ifMatch)));
     }
 
     @Operation(
@@ -145,14 +339,42 @@ public class CartorioController {
             description = "Atualiza a situação do cartório",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Situação atualizada com sucesso"),
-                    @ApiResponse(responseCode = "404", description = "Cartório ou situação não encontrada")
+                    @ApiResponse(responseCode = "404", description = "Cartório ou situação não encontrada"),
+                    @ApiResponse(responseCode = "409", description = "Cartório alterado concorrentemente"),
+                    @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
             }
     )
     @PutMapping("/{id}/situacao")
     public ResponseEntity<CartorioResponse> updateSituacao(
             @PathVariable Integer id,
-            @Valid @RequestBody SituacaoRequest situacao
+            @Valid @RequestBody SituacaoRequest situacao,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag da versão conhecida pelo cliente; se divergir da atual a alteração é rejeitada com 412")
+            String ifMatch
     ) {
-        return ResponseEntity.ok(service.changeSituacao(id, situacao.getId()));
+        return comETag(service.changeSituacao(id, situacao.getId(), ETags.versoesEsperadas(ifMatch)));
+    }
+
+    @Operation(
+            summary = "Atualizar situação em lote",
+            description = "Atualiza a situação de vários cartórios em uma única alteração, informando os ids " +
+                          "alterados, os que já estavam na situação e os não encontrados",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Situação atualizada com sucesso"),
+                    @ApiResponse(responseCode = "400", description = "Lista de cartórios vazia ou acima do limite"),
+                    @ApiResponse(responseCode = "404", description = "Situação não encontrada")
+            }
+    )
+    @PutMapping("/situacao")
+    public AlteracaoSituacaoEmLoteResponse updateSituacaoEmLote(
+            @Valid @RequestBody AlteracaoSituacaoEmLoteRequest alteracao
+    ) {
+        return service.changeSituacaoEmLote(alteracao.getIds(), alteracao.getSituacaoId());
+    }
+
+    private ResponseEntity<CartorioResponse> comETag(CartorioResponse response) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersao()))
+                .body(response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package dev.dluks.escriba.controllers;
+
+import dev.dluks.escriba.dtos.banco.BackupResponse;
+import dev.dluks.escriba.services.DatabaseBackupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Manutenção do banco em arquivo pelo Actuator, em {@code POST /actuator/database/checkpoint} e
+ * {@code POST /actuator/database/backup}. Fica fora da API pública e só é exposto na web se incluído em
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "database")
+@RequiredArgsConstructor
+public class DatabaseEndpoint {
+
+    private final DatabaseBackupService service;
+
+    /**
+     * O checkpoint grava imediatamente as alterações que ainda aguardam o WRITE_DELAY e não tem corpo de resposta;
+     * o backup copia o banco para um zip no diretório de backup do servidor, sem interromper as escritas.
+     */
+    @WriteOperation
+    public BackupResponse executar(@Selector Operacao operacao) {
+        if (operacao == Operacao.CHECKPOINT) {
+            service.checkpoint();
+            return null;
+        }
+        return service.backup();
+    }
+
+    public enum Operacao {
+        CHECKPOINT,
+        BACKUP
+    }
+
+}
@@ -0,0 +1,51 @@
+package dev.dluks.escriba.controllers;
+
+import dev.dluks.escriba.domain.exceptions.PreconditionFailedException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Conversão entre a versão das entidades e o ETag forte usado nos cabeçalhos HTTP.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * Extrai as versões aceitas do cabeçalho If-Match, que pode listar vários ETags separados por vírgula; a
+     * alteração prossegue se a versão atual for qualquer uma delas. Ausente ou "*" não impõe versão, já que o
+     * registro existe. ETags fracos nunca satisfazem a comparação forte exigida pelo If-Match, e ETags que não são
+     * versões nunca correspondem ao registro: uma lista só com eles falha de imediato.
+     */
+    static Set<Long> versoesEsperadas(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+
+        Set<Long> versoes = new HashSet<>();
+        for (String etag : ifMatch.split(",")) {
+            String valor = etag.trim();
+            if (valor.equals("*")) {
+                return null;
+            }
+            if (valor.length() > 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+                try {
+                    versoes.add(Long.valueOf(valor.substring(1, valor.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // não é uma versão emitida pela aplicação
+                }
+            }
+        }
+        if (versoes.isEmpty()) {
+            throw new PreconditionFailedException("If-Match não corresponde à versão atual do registro");
+        }
+        return versoes;
+    }
+
+}
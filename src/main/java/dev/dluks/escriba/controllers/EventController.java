@@ -0,0 +1,50 @@
+package dev.dluks.escriba.controllers;
+
+import dev.dluks.escriba.services.EventStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/events")
+@RequiredArgsConstructor
+@Tag(name = "Eventos", description = "Fluxo de alterações de cartórios, situações e atribuições")
+public class EventController {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final EventStream stream;
+
+    @Operation(
+            summary = "Acompanhar alterações",
+            description = "Abre um fluxo Server-Sent Events com um evento por inclusão, alteração ou exclusão, " +
+                          "na ordem em que foram confirmadas. O id de cada evento é a sua sequência; ao reconectar " +
+                          "com Last-Event-ID (ou after) o fluxo continua do evento seguinte. Sem nenhum dos dois " +
+                          "apenas as alterações novas são enviadas",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Fluxo aberto"),
+                    @ApiResponse(responseCode = "400", description = "Sequência negativa"),
+                    @ApiResponse(responseCode = "410", description = "Sequência desconhecida ou eventos já expurgados; " +
+                                                                     "os cadastros precisam ser relidos")
+            })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(value = LAST_EVENT_ID, required = false)
+            @Parameter(description = "Sequência do último evento recebido, enviada pelo EventSource ao reconectar")
+            Long lastEventId,
+            @RequestParam(required = false)
+            @Parameter(description = "Sequência a partir da qual os eventos são enviados (0 para todos os retidos)")
+            Long after) {
+        return stream.assinar(lastEventId != null ? lastEventId : after);
+    }
+
+}
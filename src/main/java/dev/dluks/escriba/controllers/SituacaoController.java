@@ -1,5 +1,6 @@
 package dev.dluks.escriba.controllers;
 
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
 import dev.dluks.escriba.dtos.situacao.CreateSituacaoRequest;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponse;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponseMin;
@@ -13,8 +14,10 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -54,7 +57,8 @@ public class SituacaoController {
 
     @Operation(
             summary = "Listar situações",
-            description = "Lista todas as situações de cartório cadastradas no sistema",
+            description = "Lista todas as situações de cartório cadastradas no sistema. " +
+                          "Com total=false a contagem de registros é dispensada e apenas last indica se há próxima página",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -63,7 +67,7 @@ public class SituacaoController {
             }
     )
     @GetMapping
-    public Page<SituacaoResponseMin> listAll(
+    public Slice<SituacaoResponseMin> listAll(
             @ParameterObject
             @PageableDefault(
                     page = 0,
@@ -72,13 +76,17 @@ public class SituacaoController {
                     direction = Sort.Direction.ASC)
 
             @Parameter(description = "Parâmetros de paginação")
-            Pageable pageable) {
-        return service.listAll(pageable);
+            Pageable pageable,
+            @RequestParam(defaultValue = "true")
+            @Parameter(description = "Calcula o total de registros (false dispensa a contagem)")
+            boolean total) {
+        return total ? service.listAll(pageable) : service.listSlice(pageable);
     }
 
     @Operation(summary = "Buscar situação por ID",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Situação encontrada"),
+                    @ApiResponse(responseCode = "304", description = "Situação não modificada"),
                     @ApiResponse(responseCode = "404", description = "Situação não encontrada")
             })
     @GetMapping("/{id}")
@@ -88,29 +96,58 @@ public class SituacaoController {
             String id) {
         SituacaoResponse situacao = service.findById(id);
 
-        return ResponseEntity.ok(situacao);
+        return comETag(situacao);
     }
 
     @Operation(summary = "Atualizar situação",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Situação atualizada com sucesso"),
                     @ApiResponse(responseCode = "404", description = "Situação não encontrada"),
-                    @ApiResponse(responseCode = "400", description = "Dados inválidos")
+                    @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+                    @ApiResponse(responseCode = "409", description = "Situação alterada concorrentemente"),
+                    @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual")
             })
     @PutMapping("/{id}")
     public ResponseEntity<SituacaoResponse> update(
             @PathVariable String id,
-            @RequestBody @Valid UpdateSituacaoRequest dto) {
+            @RequestBody @Valid UpdateSituacaoRequest dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag da versão conhecida pelo cliente; se divergir da atual a alteração é rejeitada com 412")
+            String ifMatch) {
+
+        SituacaoResponse updatedSituacao = service.update(id, dto, ETags.versoesEsperadas(ifMatch));
 
-        SituacaoResponse updatedSituacao = service.update(id, dto);
+        return comETag(updatedSituacao);
+    }
 
-        return ResponseEntity.ok(updatedSituacao);
+    @Operation(summary = "Listar cartórios da situação",
+            description = "Retorna uma lista paginada com ID e nome dos cartórios na situação; o total indica quantos " +
+                          "cartórios a utilizam",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cartórios listados com sucesso"),
+                    @ApiResponse(responseCode = "404", description = "Situação não encontrada")
+            })
+    @GetMapping("/{id}/cartorios")
+    public Page<CartorioResponseMin> findCartorios(
+            @PathVariable
+            @Parameter(description = "ID da situação")
+            String id,
+            @ParameterObject
+            @PageableDefault(
+                    page = 0,
+                    size = 10,
+                    sort = "nome",
+                    direction = Sort.Direction.ASC)
+            @Parameter(description = "Parâmetros de paginação")
+            Pageable pageable) {
+        return service.findCartorios(id, pageable);
     }
 
     @Operation(summary = "Excluir situação",
             responses = {
                     @ApiResponse(responseCode = "204", description = "Situação excluída com sucesso"),
-                    @ApiResponse(responseCode = "404", description = "Situação não encontrada")
+                    @ApiResponse(responseCode = "404", description = "Situação não encontrada"),
+                    @ApiResponse(responseCode = "409", description = "Situação utilizada por cartórios")
             })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable String id) {
@@ -118,4 +155,10 @@ public class SituacaoController {
         return ResponseEntity.noContent().build();
     }
 
+    private ResponseEntity<SituacaoResponse> comETag(SituacaoResponse response) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getVersao()))
+                .body(response);
+    }
+
 }
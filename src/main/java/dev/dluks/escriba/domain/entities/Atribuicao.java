@@ -1,20 +1,24 @@
 package dev.dluks.escriba.domain.entities;
 
 import dev.dluks.escriba.domain.exceptions.DomainException;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 import java.util.Objects;
 
 @Entity
+@DynamicUpdate
 @Table(name = "atribuicoes")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -31,15 +35,23 @@ public class Atribuicao {
     @Column(length = 50, nullable = false, unique = true)
     private String nome;
 
+    @Column(name = "nome_normalizado", length = 50, nullable = false, unique = true)
+    private String nomeNormalizado;
+
     @Column(nullable = false)
     private boolean situacao;
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @Builder
     public Atribuicao(String id, String nome, Boolean situacao) {
         validateId(id);
         validateNome(nome);
         this.id = id;
         this.nome = nome;
+        this.nomeNormalizado = TextNormalizer.normalize(nome);
         this.situacao = situacao != null ? situacao : true;
     }
 
@@ -61,6 +73,12 @@ public class Atribuicao {
         }
     }
 
+    public void changeNome(String nome) {
+        validateNome(nome);
+        this.nome = nome;
+        this.nomeNormalizado = TextNormalizer.normalize(nome);
+    }
+
     public boolean isAtribuicaoAtiva() {
         return situacao;
     }
@@ -73,17 +91,21 @@ public class Atribuicao {
         this.situacao = false;
     }
 
+    /**
+     * Finais e pelo id obtido do getter, e não pelo campo: assim referências do Hibernate ainda não carregadas são
+     * comparadas sem consultar o banco e iguais à entidade que representam.
+     */
     @Override
-    public boolean equals(Object o) {
+    public final boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Atribuicao)) return false;
         Atribuicao that = (Atribuicao) o;
-        return Objects.equals(id, that.id);
+        return Objects.equals(getId(), that.getId());
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hashCode(id);
+    public final int hashCode() {
+        return Objects.hashCode(getId());
     }
 
     @Override
@@ -1,10 +1,12 @@
 package dev.dluks.escriba.domain.entities;
 
 import dev.dluks.escriba.domain.exceptions.DomainException;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -15,11 +17,18 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@DynamicUpdate
 @Table(name = "cartorios")
+@NamedEntityGraph(name = Cartorio.GRAFO_DETALHE, attributeNodes = {
+        @NamedAttributeNode("situacao"),
+        @NamedAttributeNode("atribuicoes")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Cartorio {
 
+    public static final String GRAFO_DETALHE = "Cartorio.detalhe";
+
     @Id
     @Column(name = "id")
     private Integer id;
@@ -29,6 +38,9 @@ public class Cartorio {
     @Column(name = "nome", length = 150, nullable = false)
     private String nome;
 
+    @Column(name = "nome_normalizado", length = 150, nullable = false, unique = true)
+    private String nomeNormalizado;
+
     @Size(max = 250)
     @Column(name = "observacao", length = 250)
     private String observacao;
@@ -47,11 +59,16 @@ public class Cartorio {
     )
     private Set<Atribuicao> atribuicoes = new HashSet<>();
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @Builder
     public Cartorio(Integer id, String nome, String observacao, Situacao situacao, Set<Atribuicao> atribuicoes) {
         validarCamposObrigatorios(id, nome, situacao, atribuicoes);
         this.id = id;
         this.nome = nome;
+        this.nomeNormalizado = TextNormalizer.normalize(nome);
         this.observacao = observacao;
         this.situacao = situacao;
         this.atribuicoes = new HashSet<>(atribuicoes);
@@ -61,16 +78,19 @@ public class Cartorio {
         if (id == null || id <= 0) {
             throw new DomainException("ID é obrigatório e deve ser maior que zero");
         }
-        if (nome == null || nome.trim().isEmpty()) {
-            throw new DomainException("Nome é obrigatório");
-        }
+        validarNome(nome);
         if (situacao == null) {
             throw new DomainException("Situação é obrigatória");
         }
         if (atribuicoes == null || atribuicoes.isEmpty()) {
             throw new DomainException("O cartório deve ter pelo menos uma atribuição");
         }
+    }
 
+    private void validarNome(String nome) {
+        if (nome == null || nome.trim().isEmpty()) {
+            throw new DomainException("Nome é obrigatório");
+        }
         validarTamanhoNome(nome);
     }
 
@@ -80,6 +100,13 @@ public class Cartorio {
         }
     }
 
+    public void changeDados(String nome, String observacao) {
+        validarNome(nome);
+        this.nome = nome;
+        this.nomeNormalizado = TextNormalizer.normalize(nome);
+        this.observacao = observacao;
+    }
+
     public void changeSituacao(Situacao situacao) {
         if (situacao == null) {
             throw new DomainException("Situação é obrigatória");
@@ -87,21 +114,38 @@ public class Cartorio {
         this.situacao = situacao;
     }
 
-    public void adicionarAtribuicao(Atribuicao atribuicao) {
+    public boolean adicionarAtribuicao(Atribuicao atribuicao) {
         if (atribuicao == null) {
             throw new DomainException("Atribuição não pode ser nula");
         }
         if (!atribuicao.isSituacao()) {
             throw new DomainException("Não é possível adicionar uma atribuição inativa");
         }
-        atribuicoes.add(atribuicao);
+        return atribuicoes.add(atribuicao);
     }
 
-    public void removerAtribuicao(Atribuicao atribuicao) {
+    public boolean removerAtribuicao(Atribuicao atribuicao) {
         if (atribuicoes.size() <= 1) {
             throw new DomainException("O cartório deve ter pelo menos uma atribuição");
         }
-        atribuicoes.remove(atribuicao);
+        return atribuicoes.remove(atribuicao);
+    }
+
+    /**
+     * Substitui as atribuições pelo conjunto informado, mantendo as que já estavam no cartório. Somente as atribuições
+     * novas precisam estar ativas.
+     */
+    public void changeAtribuicoes(Set<Atribuicao> novasAtribuicoes) {
+        if (novasAtribuicoes == null || novasAtribuicoes.isEmpty()) {
+            throw new DomainException("O cartório deve ter pelo menos uma atribuição");
+        }
+        for (Atribuicao atribuicao : novasAtribuicoes) {
+            if (!atribuicoes.contains(atribuicao) && !atribuicao.isSituacao()) {
+                throw new DomainException("Não é possível adicionar uma atribuição inativa");
+            }
+        }
+        atribuicoes.retainAll(novasAtribuicoes);
+        atribuicoes.addAll(novasAtribuicoes);
     }
 
     @Override
@@ -1,20 +1,24 @@
 package dev.dluks.escriba.domain.entities;
 
 import dev.dluks.escriba.domain.exceptions.DomainException;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 import java.util.Objects;
 
 @Entity
+@DynamicUpdate
 @Table(name = "situacoes")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -31,12 +35,20 @@ public class Situacao {
     @Column(length = 50, nullable = false, unique = true)
     private String nome;
 
+    @Column(name = "nome_normalizado", length = 50, nullable = false, unique = true)
+    private String nomeNormalizado;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @Builder
     public Situacao(String id, String nome) {
         validateId(id);
         validateNome(nome);
         this.id = id;
         this.nome = nome;
+        this.nomeNormalizado = TextNormalizer.normalize(nome);
     }
 
     private void validateId(String id) {
@@ -57,17 +69,27 @@ public class Situacao {
         }
     }
 
+    public void changeNome(String nome) {
+        validateNome(nome);
+        this.nome = nome;
+        this.nomeNormalizado = TextNormalizer.normalize(nome);
+    }
+
+    /**
+     * Finais e pelo id obtido do getter, e não pelo campo: assim referências do Hibernate ainda não carregadas são
+     * comparadas sem consultar o banco e iguais à entidade que representam.
+     */
     @Override
-    public boolean equals(Object o) {
+    public final boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Situacao)) return false;
         Situacao situacao = (Situacao) o;
-        return Objects.equals(id, situacao.id);
+        return Objects.equals(getId(), situacao.getId());
     }
 
     @Override
-    public int hashCode() {
-        return Objects.hashCode(id);
+    public final int hashCode() {
+        return Objects.hashCode(getId());
     }
 
     @Override
@@ -0,0 +1,9 @@
+package dev.dluks.escriba.domain.exceptions;
+
+public class PreconditionFailedException extends EscribaException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
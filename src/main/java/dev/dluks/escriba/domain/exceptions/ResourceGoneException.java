@@ -0,0 +1,9 @@
+package dev.dluks.escriba.domain.exceptions;
+
+public class ResourceGoneException extends EscribaException {
+
+    public ResourceGoneException(String message) {
+        super(message);
+    }
+
+}
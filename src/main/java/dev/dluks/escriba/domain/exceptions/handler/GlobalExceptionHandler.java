@@ -3,11 +3,16 @@ package dev.dluks.escriba.domain.exceptions.handler;
 import dev.dluks.escriba.domain.exceptions.BusinessException;
 import dev.dluks.escriba.domain.exceptions.DomainException;
 import dev.dluks.escriba.domain.exceptions.DuplicateResourceException;
+import dev.dluks.escriba.domain.exceptions.IntegrityConstraintException;
+import dev.dluks.escriba.domain.exceptions.PreconditionFailedException;
+import dev.dluks.escriba.domain.exceptions.ResourceGoneException;
 import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -45,6 +50,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(problem);
     }
 
+    @ExceptionHandler(IntegrityConstraintException.class)
+    public ResponseEntity<Problem> handleIntegrityConstraintException(IntegrityConstraintException e) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        Problem problem = new Problem(
+                status.value(),
+                LocalDateTime.now(),
+                e.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(status).body(problem);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Problem> handleResourceNotFoundException(ResourceNotFoundException e) {
         HttpStatus status = HttpStatus.NOT_FOUND;
@@ -58,6 +76,52 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(problem);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Problem> handlePreconditionFailedException(PreconditionFailedException e) {
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        Problem problem = new Problem(
+                status.value(),
+                LocalDateTime.now(),
+                e.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(status).body(problem);
+    }
+
+    /**
+     * O tipo do corpo é fixado porque a requisição do fluxo de eventos aceita apenas {@code text/event-stream}.
+     */
+    @ExceptionHandler(ResourceGoneException.class)
+    public ResponseEntity<Problem> handleResourceGoneException(ResourceGoneException e) {
+        HttpStatus status = HttpStatus.GONE;
+        Problem problem = new Problem(
+                status.value(),
+                LocalDateTime.now(),
+                e.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(problem);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Problem> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException e) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        Problem problem = new Problem(
+                status.value(),
+                LocalDateTime.now(),
+                "O registro foi alterado por outra requisição. Consulte-o novamente e repita a operação",
+                null
+        );
+
+        return ResponseEntity.status(status).body(problem);
+    }
+
+    /**
+     * Tipo do corpo fixado como em {@link #handleResourceGoneException}: o fluxo de eventos também rejeita sequências
+     * inválidas com esta exceção.
+     */
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<Problem> handleBusinessException(BusinessException e) {
         HttpStatus status = HttpStatus.BAD_REQUEST;
@@ -68,7 +132,7 @@ public class GlobalExceptionHandler {
                 null
         );
 
-        return ResponseEntity.status(status).body(problem);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(problem);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -1,16 +1,24 @@
 package dev.dluks.escriba.domain.repositories;
 
 import dev.dluks.escriba.domain.entities.Atribuicao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface AtribuicaoRepository extends JpaRepository<Atribuicao, String> {
+public interface AtribuicaoRepository extends JpaRepository<Atribuicao, String>, InsertRepository<Atribuicao> {
 
     boolean existsById(String id);
 
     boolean existsByNomeIgnoreCase(String nome);
 
-    Optional<Atribuicao> findByNomeIgnoreCase(String nome);
+    Optional<Atribuicao> findByNomeNormalizado(String nomeNormalizado);
+
+    List<Atribuicao> findByIdIn(Collection<String> ids);
+
+    Slice<Atribuicao> findSliceBy(Pageable pageable);
 
 }
@@ -0,0 +1,164 @@
+package dev.dluks.escriba.domain.repositories;
+
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.dtos.cartorio.CartorioRevisao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Operações em lote sobre cartórios feitas direto via JDBC, sem passar pelo contexto de persistência.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartorioBatchRepository {
+
+    private static final String INSERT_CARTORIO =
+            "INSERT INTO cartorios (id, nome, nome_normalizado, observacao, situacao_id, versao) " +
+            "VALUES (:id, :nome, :nomeNormalizado, :observacao, :situacaoId, 0)";
+
+    private static final String INSERT_CARTORIO_ATRIBUICAO =
+            "INSERT INTO cartorios_atribuicoes (cartorio_id, atribuicao_id) VALUES (:cartorioId, :atribuicaoId)";
+
+    private static final String UPDATE_SITUACAO =
+            "SELECT id, situacao_id FROM OLD TABLE (" +
+            "UPDATE cartorios SET situacao_id = :situacaoId, versao = versao + 1 " +
+            "WHERE id IN (:ids) AND situacao_id <> :situacaoId)";
+
+    private static final String UPDATE_REVISAO = "UPDATE cartorios SET revisao = :revisao WHERE id = :id";
+
+    private static final String MERGE_EXCLUSAO =
+            "MERGE INTO cartorios_excluidos (id, revisao) KEY (id) VALUES (:id, :revisao)";
+
+    /**
+     * Alterações e exclusões após a posição informada, na ordem {@code (revisao, id)}. A condição redundante em
+     * {@code revisao >= :revisao} deixa cada lado da união percorrer apenas o trecho do seu índice.
+     */
+    private static final String SELECT_ALTERACOES =
+            "SELECT id, revisao, excluido FROM (" +
+            "SELECT id, revisao, FALSE AS excluido FROM cartorios " +
+            "WHERE revisao >= :revisao AND (revisao > :revisao OR id > :id) " +
+            "UNION ALL " +
+            "SELECT id, revisao, TRUE AS excluido FROM cartorios_excluidos " +
+            "WHERE revisao >= :revisao AND (revisao > :revisao OR id > :id)) " +
+            "ORDER BY revisao, id LIMIT :limite";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Set<Integer> findExistingIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM cartorios WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                Integer.class));
+    }
+
+    public Map<String, Integer> findIdsByNomeNormalizado(Collection<String> nomesNormalizados) {
+        Map<String, Integer> ids = new HashMap<>();
+        if (nomesNormalizados.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(
+                "SELECT id, nome_normalizado FROM cartorios WHERE nome_normalizado IN (:nomes)",
+                new MapSqlParameterSource("nomes", nomesNormalizados),
+                rs -> {
+                    ids.put(rs.getString("nome_normalizado"), rs.getInt("id"));
+                });
+        return ids;
+    }
+
+    /**
+     * Troca a situação dos cartórios em um único UPDATE, sem tocar nos que já estão nela, e devolve a situação
+     * anterior de cada cartório alterado.
+     */
+    public Map<Integer, String> updateSituacao(Collection<Integer> ids, String situacaoId) {
+        Map<Integer, String> anteriores = new HashMap<>();
+        if (ids.isEmpty()) {
+            return anteriores;
+        }
+        jdbcTemplate.query(UPDATE_SITUACAO,
+                new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("situacaoId", situacaoId),
+                rs -> {
+                    anteriores.put(rs.getInt("id"), rs.getString("situacao_id"));
+                });
+        return anteriores;
+    }
+
+    /**
+     * Grava a revisão de cada cartório; a coluna não é mapeada na entidade para que as alterações do Hibernate não a
+     * sobrescrevam.
+     */
+    public void updateRevisoes(Map<Integer, Long> revisoes) {
+        jdbcTemplate.batchUpdate(UPDATE_REVISAO, revisaoParams(revisoes));
+    }
+
+    public void insertExclusoes(Map<Integer, Long> revisoes) {
+        jdbcTemplate.batchUpdate(MERGE_EXCLUSAO, revisaoParams(revisoes));
+    }
+
+    public void deleteExclusoes(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM cartorios_excluidos WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+
+    public List<CartorioRevisao> findAlteracoes(CartorioRevisao apos, int limite) {
+        return jdbcTemplate.query(SELECT_ALTERACOES,
+                new MapSqlParameterSource()
+                        .addValue("revisao", apos.getRevisao())
+                        .addValue("id", apos.getId())
+                        .addValue("limite", limite),
+                (rs, linha) -> new CartorioRevisao(rs.getInt("id"), rs.getLong("revisao"), rs.getBoolean("excluido")));
+    }
+
+    public void insertAll(List<Cartorio> cartorios) {
+        if (cartorios.isEmpty()) {
+            return;
+        }
+
+        List<SqlParameterSource> linhas = new ArrayList<>(cartorios.size());
+        List<SqlParameterSource> atribuicoes = new ArrayList<>();
+        for (Cartorio cartorio : cartorios) {
+            linhas.add(new MapSqlParameterSource()
+                    .addValue("id", cartorio.getId())
+                    .addValue("nome", cartorio.getNome())
+                    .addValue("nomeNormalizado", cartorio.getNomeNormalizado())
+                    .addValue("observacao", cartorio.getObservacao())
+                    .addValue("situacaoId", cartorio.getSituacao().getId()));
+            for (Atribuicao atribuicao : cartorio.getAtribuicoes()) {
+                atribuicoes.add(new MapSqlParameterSource()
+                        .addValue("cartorioId", cartorio.getId())
+                        .addValue("atribuicaoId", atribuicao.getId()));
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_CARTORIO, linhas.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(INSERT_CARTORIO_ATRIBUICAO, atribuicoes.toArray(SqlParameterSource[]::new));
+    }
+
+    private static SqlParameterSource[] revisaoParams(Map<Integer, Long> revisoes) {
+        return revisoes.entrySet().stream()
+                .map(revisao -> new MapSqlParameterSource()
+                        .addValue("id", revisao.getKey())
+                        .addValue("revisao", revisao.getValue()))
+                .toArray(SqlParameterSource[]::new);
+    }
+
+}
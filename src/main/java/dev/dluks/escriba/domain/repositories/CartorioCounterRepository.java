@@ -0,0 +1,136 @@
+package dev.dluks.escriba.domain.repositories;
+
+import dev.dluks.escriba.dtos.cartorio.ContagemResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Contadores de cartórios por situação e por atribuição na tabela {@code contadores_cartorios}.
+ * <p>
+ * Cada contador é dividido em {@link #FAIXAS} linhas somadas na leitura. Uma escrita altera apenas a linha da faixa da
+ * thread corrente, de modo que inclusões concorrentes na mesma situação, todas na situação padrão, não se enfileiram na
+ * trava de uma única linha. A faixa é fixa durante toda a transação, que não muda de thread, e por isso as linhas
+ * continuam travadas na ordem das chaves.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartorioCounterRepository {
+
+    static final int FAIXAS = 8;
+
+    private static final String INCREMENTAR =
+            "MERGE INTO contadores_cartorios c " +
+            "USING (VALUES (CAST(:tipo AS VARCHAR(20)), CAST(:referenciaId AS VARCHAR(20)), CAST(:faixa AS SMALLINT), " +
+            "CAST(:delta AS BIGINT))) AS d (tipo, referencia_id, faixa, delta) " +
+            "ON c.tipo = d.tipo AND c.referencia_id = d.referencia_id AND c.faixa = d.faixa " +
+            "WHEN MATCHED THEN UPDATE SET quantidade = c.quantidade + d.delta " +
+            "WHEN NOT MATCHED THEN INSERT (tipo, referencia_id, faixa, quantidade) " +
+            "VALUES (d.tipo, d.referencia_id, d.faixa, d.delta)";
+
+    private static final String LIMPAR_FAIXAS =
+            "DELETE FROM contadores_cartorios WHERE tipo = :tipo AND referencia_id = :referenciaId AND faixa <> 0";
+
+    private static final String DEFINIR =
+            "MERGE INTO contadores_cartorios (tipo, referencia_id, faixa, quantidade) KEY (tipo, referencia_id, faixa) " +
+            "VALUES (:tipo, :referenciaId, 0, :quantidade)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Aplica as variações na ordem das chaves, para que transações concorrentes travem as linhas sempre na mesma
+     * sequência.
+     */
+    public void incrementar(Tipo tipo, SortedMap<String, Long> deltas) {
+        int faixa = faixa();
+        SqlParameterSource[] linhas = deltas.entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("tipo", tipo.name())
+                        .addValue("referenciaId", delta.getKey())
+                        .addValue("faixa", faixa)
+                        .addValue("delta", delta.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        if (linhas.length > 0) {
+            jdbcTemplate.batchUpdate(INCREMENTAR, linhas);
+        }
+    }
+
+    /**
+     * Substitui as faixas de cada contador informado por uma única linha, na faixa 0, com a quantidade informada.
+     */
+    public void definir(Tipo tipo, Map<String, Long> quantidades) {
+        SqlParameterSource[] linhas = quantidades.entrySet().stream()
+                .map(quantidade -> new MapSqlParameterSource()
+                        .addValue("tipo", tipo.name())
+                        .addValue("referenciaId", quantidade.getKey())
+                        .addValue("quantidade", quantidade.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(LIMPAR_FAIXAS, linhas);
+        jdbcTemplate.batchUpdate(DEFINIR, linhas);
+    }
+
+    /**
+     * Lê os contadores do tipo, somando as faixas, travando as linhas até o fim da transação.
+     */
+    public Map<String, Long> lockContadores(Tipo tipo) {
+        return toMap("SELECT referencia_id, quantidade FROM contadores_cartorios WHERE tipo = :tipo " +
+                     "ORDER BY referencia_id, faixa FOR UPDATE",
+                new MapSqlParameterSource("tipo", tipo.name()));
+    }
+
+    /**
+     * Conta direto nas tabelas de cartórios, percorrendo todos os registros; usado apenas na reconciliação.
+     */
+    public Map<String, Long> countCartorios(Tipo tipo) {
+        return toMap(tipo.contagem, new MapSqlParameterSource());
+    }
+
+    /**
+     * Todas as situações ou atribuições com a quantidade de cartórios, inclusive as sem nenhum, ordenadas por nome.
+     */
+    public List<ContagemResponse> findContagens(Tipo tipo) {
+        return jdbcTemplate.query(
+                "SELECT r.id, r.nome, COALESCE(c.quantidade, 0) AS quantidade " +
+                "FROM " + tipo.tabela + " r " +
+                "LEFT JOIN (SELECT referencia_id, SUM(quantidade) AS quantidade FROM contadores_cartorios " +
+                "WHERE tipo = :tipo GROUP BY referencia_id) c ON c.referencia_id = r.id " +
+                "ORDER BY r.nome",
+                new MapSqlParameterSource("tipo", tipo.name()),
+                (rs, linha) -> new ContagemResponse(rs.getString("id"), rs.getString("nome"), rs.getLong("quantidade")));
+    }
+
+    private Map<String, Long> toMap(String sql, SqlParameterSource parametros) {
+        Map<String, Long> quantidades = new HashMap<>();
+        jdbcTemplate.query(sql, parametros, rs -> {
+            quantidades.merge(rs.getString(1), rs.getLong(2), Long::sum);
+        });
+        return quantidades;
+    }
+
+    private static int faixa() {
+        return (int) (Thread.currentThread().getId() % FAIXAS);
+    }
+
+    public enum Tipo {
+
+        SITUACAO("situacoes", "SELECT situacao_id, COUNT(*) FROM cartorios GROUP BY situacao_id"),
+        ATRIBUICAO("atribuicoes", "SELECT atribuicao_id, COUNT(*) FROM cartorios_atribuicoes GROUP BY atribuicao_id");
+
+        private final String tabela;
+        private final String contagem;
+
+        Tipo(String tabela, String contagem) {
+            this.tabela = tabela;
+            this.contagem = contagem;
+        }
+    }
+
+}
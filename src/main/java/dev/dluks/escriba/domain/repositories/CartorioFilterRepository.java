@@ -0,0 +1,18 @@
+package dev.dluks.escriba.domain.repositories;
+
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Listagem de cartórios com critérios opcionais, montada conforme os filtros informados.
+ */
+public interface CartorioFilterRepository {
+
+    Page<CartorioResponseMin> findPageMin(CartorioFiltro filtro, Pageable pageable);
+
+    Slice<CartorioResponseMin> findSliceMin(CartorioFiltro filtro, Pageable pageable);
+
+}
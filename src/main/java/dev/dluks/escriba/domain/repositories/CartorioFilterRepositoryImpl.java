@@ -0,0 +1,107 @@
+package dev.dluks.escriba.domain.repositories;
+
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.cartorio.ModoFiltroAtribuicoes;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.AbstractQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Os filtros por atribuição são semi-joins correlacionados sobre {@code cartorios_atribuicoes}: a coleção do cartório
+ * nunca é carregada e cada cartório aparece uma única vez, sem {@code distinct}.
+ */
+public class CartorioFilterRepositoryImpl implements CartorioFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<CartorioResponseMin> findPageMin(CartorioFiltro filtro, Pageable pageable) {
+        List<CartorioResponseMin> conteudo = find(filtro, pageable, pageable.isPaged() ? pageable.getPageSize() : 0);
+        return PageableExecutionUtils.getPage(conteudo, pageable, () -> count(filtro));
+    }
+
+    @Override
+    public Slice<CartorioResponseMin> findSliceMin(CartorioFiltro filtro, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(find(filtro, pageable, 0), pageable, false);
+        }
+
+        List<CartorioResponseMin> conteudo = find(filtro, pageable, pageable.getPageSize() + 1);
+        boolean temProxima = conteudo.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProxima ? conteudo.subList(0, pageable.getPageSize()) : conteudo, pageable, temProxima);
+    }
+
+    private List<CartorioResponseMin> find(CartorioFiltro filtro, Pageable pageable, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CartorioResponseMin> query = cb.createQuery(CartorioResponseMin.class);
+        Root<Cartorio> cartorio = query.from(Cartorio.class);
+
+        query.select(cb.construct(CartorioResponseMin.class, cartorio.get("id"), cartorio.get("nome")))
+                .where(predicates(filtro, cb, query, cartorio))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), cartorio, cb));
+
+        TypedQuery<CartorioResponseMin> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(limite);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private long count(CartorioFiltro filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Cartorio> cartorio = query.from(Cartorio.class);
+
+        query.select(cb.count(cartorio))
+                .where(predicates(filtro, cb, query, cartorio));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Predicate[] predicates(CartorioFiltro filtro, CriteriaBuilder cb, AbstractQuery<?> query,
+                                   Root<Cartorio> cartorio) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filtro.getSituacaoId() != null) {
+            predicates.add(cb.equal(cartorio.get("situacao").get("id"), filtro.getSituacaoId()));
+        }
+
+        if (!filtro.getAtribuicoesIds().isEmpty() && filtro.getModo() == ModoFiltroAtribuicoes.TODAS) {
+            Subquery<Long> atribuicoes = query.subquery(Long.class);
+            Join<Cartorio, Atribuicao> atribuicao = atribuicoes.correlate(cartorio).join("atribuicoes");
+            atribuicoes.select(cb.count(atribuicao))
+                    .where(atribuicao.get("id").in(filtro.getAtribuicoesIds()));
+            predicates.add(cb.equal(atribuicoes, (long) filtro.getAtribuicoesIds().size()));
+        } else if (!filtro.getAtribuicoesIds().isEmpty()) {
+            Subquery<String> atribuicoes = query.subquery(String.class);
+            Join<Cartorio, Atribuicao> atribuicao = atribuicoes.correlate(cartorio).join("atribuicoes");
+            atribuicoes.select(atribuicao.get("id"))
+                    .where(atribuicao.get("id").in(filtro.getAtribuicoesIds()));
+            predicates.add(cb.exists(atribuicoes));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+}
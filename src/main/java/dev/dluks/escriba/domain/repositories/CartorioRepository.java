@@ -1,14 +1,75 @@
 package dev.dluks.escriba.domain.repositories;
 
 import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.dtos.cartorio.CartorioExportRow;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.cartorio.CartorioSearchRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface CartorioRepository extends JpaRepository<Cartorio, Integer> {
+public interface CartorioRepository extends JpaRepository<Cartorio, Integer>, CartorioFilterRepository,
+        InsertRepository<Cartorio> {
+
+    Optional<Cartorio> findByNomeNormalizado(String nomeNormalizado);
+
+    @Query(value = "select new dev.dluks.escriba.dtos.cartorio.CartorioResponseMin(c.id, c.nome) from Cartorio c",
+            countQuery = "select count(c) from Cartorio c")
+    Page<CartorioResponseMin> findPageMin(Pageable pageable);
+
+    @Query("select new dev.dluks.escriba.dtos.cartorio.CartorioResponseMin(c.id, c.nome) from Cartorio c")
+    Slice<CartorioResponseMin> findSliceMin(Pageable pageable);
+
+    long countBySituacaoId(String situacaoId);
+
+    @Query(value = "SELECT COUNT(*) FROM cartorios_atribuicoes WHERE atribuicao_id = :atribuicaoId", nativeQuery = true)
+    long countByAtribuicaoId(@Param("atribuicaoId") String atribuicaoId);
+
+    @EntityGraph(Cartorio.GRAFO_DETALHE)
+    Optional<Cartorio> findDetalhadoById(Integer id);
+
+    @EntityGraph(Cartorio.GRAFO_DETALHE)
+    List<Cartorio> findDistinctDetalhadosByIdIn(Collection<Integer> ids);
+
+    @Query("select new dev.dluks.escriba.dtos.cartorio.CartorioResponseMin(c.id, c.nome) " +
+           "from Cartorio c order by c.nome, c.id")
+    List<CartorioResponseMin> findPrimeirosPorNome(Pageable pageable);
+
+    @Query("select new dev.dluks.escriba.dtos.cartorio.CartorioResponseMin(c.id, c.nome) " +
+           "from Cartorio c " +
+           "where c.nome > :nome or (c.nome = :nome and c.id > :id) " +
+           "order by c.nome, c.id")
+    List<CartorioResponseMin> findProximosPorNome(@Param("nome") String nome,
+                                                  @Param("id") Integer id,
+                                                  Pageable pageable);
+
+    /**
+     * Percorre todos os cartórios em um cursor somente-avanço, uma linha por atribuição, ordenado por id.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new dev.dluks.escriba.dtos.cartorio.CartorioExportRow(" +
+           "c.id, c.nome, c.observacao, s.id, s.nome, a.id, a.nome, a.situacao) " +
+           "from Cartorio c join c.situacao s left join c.atribuicoes a " +
+           "order by c.id, a.id")
+    Stream<CartorioExportRow> streamExportacao();
 
-    Optional<Cartorio> findByNomeIgnoreCase(String nome);
+    @Query("select new dev.dluks.escriba.dtos.cartorio.CartorioSearchRow(c.id, c.nome, c.observacao) from Cartorio c")
+    List<CartorioSearchRow> findAllParaBusca();
 
-}
\ No newline at end of file
+}
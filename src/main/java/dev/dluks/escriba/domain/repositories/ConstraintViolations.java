@@ -0,0 +1,40 @@
+package dev.dluks.escriba.domain.repositories;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Identifica a restrição do banco violada em uma {@link DataIntegrityViolationException}. O H2 informa o nome do
+ * índice, que começa pelo nome da restrição declarada nas migrações, ou {@code PRIMARY KEY ON tabela} quando a chave
+ * primária é inteira; espaços são tratados como sublinhados para que as duas formas casem.
+ */
+public final class ConstraintViolations {
+
+    public static final String CHAVE_PRIMARIA = "PRIMARY_KEY";
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean violou(DataIntegrityViolationException e, String restricao) {
+        return nomeDaRestricao(e).contains(normalizar(restricao));
+    }
+
+    private static String nomeDaRestricao(DataIntegrityViolationException e) {
+        for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException) {
+                String nome = ((ConstraintViolationException) causa).getConstraintName();
+                if (nome != null) {
+                    return normalizar(nome);
+                }
+            }
+        }
+        return normalizar(String.valueOf(e.getMostSpecificCause().getMessage()));
+    }
+
+    private static String normalizar(String nome) {
+        return nome.toUpperCase(Locale.ROOT).replace(' ', '_');
+    }
+
+}
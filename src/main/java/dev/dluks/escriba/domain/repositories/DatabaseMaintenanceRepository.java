@@ -0,0 +1,41 @@
+package dev.dluks.escriba.domain.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.file.Path;
+
+/**
+ * Comandos de manutenção do H2 executados no próprio banco da aplicação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DatabaseMaintenanceRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Caminho dos arquivos do banco, sem extensão, ou {@code null} se o banco estiver em memória.
+     */
+    public String findCaminho() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE_PATH()", EmptySqlParameterSource.INSTANCE, String.class);
+    }
+
+    /**
+     * Grava em disco as alterações confirmadas que ainda aguardam o {@code WRITE_DELAY}.
+     */
+    public void checkpoint() {
+        jdbcTemplate.getJdbcOperations().execute("CHECKPOINT SYNC");
+    }
+
+    /**
+     * Copia o banco para um arquivo zip sem travar tabelas; a cópia é consistente porque o MVStore preserva as
+     * páginas em uso enquanto ela é feita. O comando não aceita parâmetros, por isso o caminho vai como literal.
+     */
+    public void backup(Path arquivo) {
+        jdbcTemplate.getJdbcOperations().execute("BACKUP TO '" + arquivo.toString().replace("'", "''") + "'");
+    }
+
+}
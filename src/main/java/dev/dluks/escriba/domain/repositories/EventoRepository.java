@@ -0,0 +1,94 @@
+package dev.dluks.escriba.domain.repositories;
+
+import dev.dluks.escriba.dtos.evento.EventoResponse;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outbox de eventos de alteração na tabela {@code eventos}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventoRepository {
+
+    private static final String RESERVAR =
+            "SELECT valor FROM FINAL TABLE (UPDATE eventos_sequencia SET valor = valor + :quantidade)";
+
+    private static final String INSERT_EVENTO =
+            "INSERT INTO eventos (sequencia, recurso, operacao, recurso_id, dados, registrado_em) " +
+            "VALUES (:sequencia, :recurso, :operacao, :recursoId, :dados, :registradoEm)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserva sequências para a quantidade de eventos informada e devolve a primeira delas. A linha do contador fica
+     * travada até o fim da transação, então transações concorrentes recebem sequências na ordem em que confirmam.
+     */
+    public long reservar(int quantidade) {
+        Long ultima = jdbcTemplate.queryForObject(RESERVAR,
+                new MapSqlParameterSource("quantidade", quantidade), Long.class);
+        return ultima - quantidade + 1;
+    }
+
+    public void insertAll(List<EventoResponse> eventos) {
+        jdbcTemplate.batchUpdate(INSERT_EVENTO, eventos.stream()
+                .map(evento -> new MapSqlParameterSource()
+                        .addValue("sequencia", evento.getSequencia())
+                        .addValue("recurso", evento.getRecurso().name())
+                        .addValue("operacao", evento.getOperacao().name())
+                        .addValue("recursoId", evento.getRecursoId())
+                        .addValue("dados", evento.getDados())
+                        .addValue("registradoEm", Timestamp.valueOf(evento.getRegistradoEm())))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Eventos com sequência maior que a informada, em ordem, pela chave primária.
+     */
+    public List<EventoResponse> findApos(long sequencia, int limite) {
+        return jdbcTemplate.query(
+                "SELECT sequencia, recurso, operacao, recurso_id, dados, registrado_em FROM eventos " +
+                "WHERE sequencia > :sequencia ORDER BY sequencia LIMIT :limite",
+                new MapSqlParameterSource()
+                        .addValue("sequencia", sequencia)
+                        .addValue("limite", limite),
+                (rs, linha) -> new EventoResponse(
+                        rs.getLong("sequencia"),
+                        RecursoEvento.valueOf(rs.getString("recurso")),
+                        OperacaoEvento.valueOf(rs.getString("operacao")),
+                        rs.getString("recurso_id"),
+                        rs.getString("dados"),
+                        rs.getTimestamp("registrado_em").toLocalDateTime()));
+    }
+
+    /**
+     * Última sequência atribuída, inclusive a de eventos já expurgados.
+     */
+    public long findUltimaSequencia() {
+        return jdbcTemplate.queryForObject("SELECT valor FROM eventos_sequencia",
+                new MapSqlParameterSource(), Long.class);
+    }
+
+    /**
+     * Menor sequência ainda disponível, ou {@code null} se não houver eventos.
+     */
+    public Long findPrimeiraSequencia() {
+        return jdbcTemplate.queryForObject("SELECT MIN(sequencia) FROM eventos",
+                new MapSqlParameterSource(), Long.class);
+    }
+
+    public int deleteAnteriores(LocalDateTime limite) {
+        return jdbcTemplate.update("DELETE FROM eventos WHERE registrado_em < :limite",
+                new MapSqlParameterSource("limite", Timestamp.valueOf(limite)));
+    }
+
+}
@@ -0,0 +1,15 @@
+package dev.dluks.escriba.domain.repositories;
+
+/**
+ * Inclusão otimista de entidades com id informado pelo cliente.
+ */
+public interface InsertRepository<T> {
+
+    /**
+     * Insere a entidade com {@code persist} e grava imediatamente, sem a consulta que o {@code save} faz antes do
+     * {@code merge}. Ids e nomes repetidos chegam como
+     * {@link org.springframework.dao.DataIntegrityViolationException}, com o contexto de persistência já limpo.
+     */
+    void insert(T entity);
+
+}
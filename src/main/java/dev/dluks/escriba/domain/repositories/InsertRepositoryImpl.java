@@ -0,0 +1,30 @@
+package dev.dluks.escriba.domain.repositories;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+
+public class InsertRepositoryImpl<T> implements InsertRepository<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Se o INSERT falhar a entidade continuaria no contexto e seria gravada de novo no próximo flush; o contexto é
+     * limpo para que a transação ainda possa consultar o registro conflitante.
+     */
+    @Override
+    @Transactional
+    public void insert(T entity) {
+        try {
+            entityManager.persist(entity);
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            entityManager.clear();
+            throw e;
+        }
+    }
+
+}
@@ -1,18 +1,22 @@
 package dev.dluks.escriba.domain.repositories;
 
 import dev.dluks.escriba.domain.entities.Situacao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface SituacaoRepository extends JpaRepository<Situacao, String> {
+public interface SituacaoRepository extends JpaRepository<Situacao, String>, InsertRepository<Situacao> {
 
     boolean existsById(String id);
 
     boolean existsByNomeIgnoreCase(String nome);
 
-    Optional<Situacao> findByNomeIgnoreCase(String nome);
+    Optional<Situacao> findByNomeNormalizado(String nomeNormalizado);
+
+    Slice<Situacao> findSliceBy(Pageable pageable);
 
 }
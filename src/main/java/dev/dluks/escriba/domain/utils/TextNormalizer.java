@@ -0,0 +1,27 @@
+package dev.dluks.escriba.domain.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canônica dos nomes usada nas verificações de duplicidade: sem espaços nas pontas,
+ * sem acentos e em minúsculas. A migração V4 preenche com ela a coluna {@code nome_normalizado} dos registros
+ * existentes, para que o valor gravado seja sempre o da aplicação.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String decomposto = Normalizer.normalize(texto.trim(), Normalizer.Form.NFD);
+        return DIACRITICOS.matcher(decomposto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -1,5 +1,6 @@
 package dev.dluks.escriba.dtos.atribuicao;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import dev.dluks.escriba.domain.entities.Atribuicao;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,6 +13,9 @@ public class AtribuicaoResponse {
     private String nome;
     private boolean situacao;
 
+    @JsonIgnore
+    private Long versao;
+
     public AtribuicaoResponse(String id, String nome, boolean situacao) {
         this.id = id;
         this.nome = nome;
@@ -19,7 +23,9 @@ public class AtribuicaoResponse {
     }
 
     public static AtribuicaoResponse fromEntity(Atribuicao atribuicao) {
-        return new AtribuicaoResponse(atribuicao.getId(), atribuicao.getNome(), atribuicao.isSituacao());
+        AtribuicaoResponse response = new AtribuicaoResponse(atribuicao.getId(), atribuicao.getNome(), atribuicao.isSituacao());
+        response.versao = atribuicao.getVersao();
+        return response;
     }
 
 }
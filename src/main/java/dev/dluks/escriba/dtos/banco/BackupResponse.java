@@ -0,0 +1,27 @@
+package dev.dluks.escriba.dtos.banco;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+public class BackupResponse {
+
+    /**
+     * Nome do arquivo gerado no diretório de backup; o caminho no servidor não é exposto.
+     */
+    private String arquivo;
+    private long tamanho;
+    private long duracaoMs;
+    private LocalDateTime criadoEm;
+
+    public BackupResponse(String arquivo, long tamanho, long duracaoMs, LocalDateTime criadoEm) {
+        this.arquivo = arquivo;
+        this.tamanho = tamanho;
+        this.duracaoMs = duracaoMs;
+        this.criadoEm = criadoEm;
+    }
+
+}
@@ -0,0 +1,32 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotBlank;
+import java.util.Set;
+
+/**
+ * Atribuições a incluir e a remover do cartório em uma única alteração.
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoAtribuicoesRequest {
+
+    private Set<@NotBlank(message = "Atribuição não pode ser vazia") String> incluir;
+
+    private Set<@NotBlank(message = "Atribuição não pode ser vazia") String> remover;
+
+    @JsonIgnore
+    @AssertTrue(message = "Informe ao menos uma atribuição para incluir ou remover")
+    public boolean isAlteracaoInformada() {
+        return (incluir != null && !incluir.isEmpty()) || (remover != null && !remover.isEmpty());
+    }
+
+}
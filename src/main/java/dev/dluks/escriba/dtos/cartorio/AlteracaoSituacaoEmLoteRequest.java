@@ -0,0 +1,26 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.Set;
+
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoSituacaoEmLoteRequest {
+
+    @NotEmpty(message = "Pelo menos um cartório é obrigatório")
+    @Size(max = 1000, message = "No máximo 1000 cartórios por alteração")
+    private Set<Integer> ids;
+
+    @NotBlank(message = "O id da situação é obrigatório")
+    private String situacaoId;
+
+}
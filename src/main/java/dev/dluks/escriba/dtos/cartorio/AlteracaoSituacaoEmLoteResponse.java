@@ -0,0 +1,21 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado da alteração de situação em lote, com os ids em ordem crescente.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoSituacaoEmLoteResponse {
+
+    private List<Integer> alterados;
+    private List<Integer> inalterados;
+    private List<Integer> naoEncontrados;
+
+}
@@ -0,0 +1,23 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.Set;
+
+/**
+ * Conjunto completo de atribuições que o cartório deve passar a ter.
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtribuicoesCartorioRequest {
+
+    @NotEmpty(message = "Pelo menos uma atribuição é obrigatória")
+    private Set<String> atribuicoesIds;
+
+}
@@ -0,0 +1,26 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class CartorioAlteracoesResponse {
+
+    private List<CartorioResponse> alterados = new ArrayList<>();
+    private List<Integer> excluidos = new ArrayList<>();
+    private String nextToken;
+    private boolean hasNext;
+
+    public CartorioAlteracoesResponse(List<CartorioResponse> alterados, List<Integer> excluidos, String nextToken,
+                                      boolean hasNext) {
+        this.alterados = alterados;
+        this.excluidos = excluidos;
+        this.nextToken = nextToken;
+        this.hasNext = hasNext;
+    }
+
+}
@@ -0,0 +1,47 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição opaca na listagem de cartórios ordenada por {@code (nome, id)}.
+ */
+@Getter
+public class CartorioCursor {
+
+    private static final String SEPARADOR = ":";
+
+    private final Integer id;
+    private final String nome;
+
+    public CartorioCursor(Integer id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public static CartorioCursor of(CartorioResponseMin cartorio) {
+        return new CartorioCursor(cartorio.getId(), cartorio.getNome());
+    }
+
+    public String encode() {
+        String valor = id + SEPARADOR + nome;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CartorioCursor decode(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador <= 0) {
+                throw new BusinessException("Cursor inválido");
+            }
+            return new CartorioCursor(Integer.valueOf(valor.substring(0, separador)), valor.substring(separador + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor inválido");
+        }
+    }
+
+}
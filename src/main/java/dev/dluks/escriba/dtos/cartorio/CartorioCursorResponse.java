@@ -0,0 +1,25 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class CartorioCursorResponse {
+
+    private List<CartorioResponseMin> content = new ArrayList<>();
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public CartorioCursorResponse(List<CartorioResponseMin> content, String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+}
@@ -0,0 +1,25 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class CartorioEstatisticasResponse {
+
+    private long total;
+    private List<ContagemResponse> situacoes = new ArrayList<>();
+    private List<ContagemResponse> atribuicoes = new ArrayList<>();
+
+    public CartorioEstatisticasResponse(List<ContagemResponse> situacoes, List<ContagemResponse> atribuicoes) {
+        this.situacoes = situacoes;
+        this.atribuicoes = atribuicoes;
+        this.total = situacoes.stream()
+                .mapToLong(ContagemResponse::getQuantidade)
+                .sum();
+    }
+
+}
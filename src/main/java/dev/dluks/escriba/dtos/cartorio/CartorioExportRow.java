@@ -0,0 +1,33 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.Getter;
+
+/**
+ * Linha achatada da exportação: um cartório por atribuição, já com os dados da situação.
+ */
+@Getter
+public class CartorioExportRow {
+
+    private final Integer id;
+    private final String nome;
+    private final String observacao;
+    private final String situacaoId;
+    private final String situacaoNome;
+    private final String atribuicaoId;
+    private final String atribuicaoNome;
+    private final Boolean atribuicaoSituacao;
+
+    public CartorioExportRow(Integer id, String nome, String observacao,
+                             String situacaoId, String situacaoNome,
+                             String atribuicaoId, String atribuicaoNome, Boolean atribuicaoSituacao) {
+        this.id = id;
+        this.nome = nome;
+        this.observacao = observacao;
+        this.situacaoId = situacaoId;
+        this.situacaoNome = situacaoNome;
+        this.atribuicaoId = atribuicaoId;
+        this.atribuicaoNome = atribuicaoNome;
+        this.atribuicaoSituacao = atribuicaoSituacao;
+    }
+
+}
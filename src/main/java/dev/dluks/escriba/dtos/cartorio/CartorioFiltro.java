@@ -0,0 +1,33 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Critérios opcionais da listagem de cartórios por situação e atribuições.
+ */
+@Getter
+public class CartorioFiltro {
+
+    private static final CartorioFiltro VAZIO = new CartorioFiltro(null, null, null);
+
+    private final String situacaoId;
+    private final Set<String> atribuicoesIds;
+    private final ModoFiltroAtribuicoes modo;
+
+    public CartorioFiltro(String situacaoId, Set<String> atribuicoesIds, ModoFiltroAtribuicoes modo) {
+        this.situacaoId = situacaoId == null || situacaoId.isBlank() ? null : situacaoId;
+        this.atribuicoesIds = atribuicoesIds == null ? Set.of() : Set.copyOf(atribuicoesIds);
+        this.modo = modo == null ? ModoFiltroAtribuicoes.QUALQUER : modo;
+    }
+
+    public static CartorioFiltro vazio() {
+        return VAZIO;
+    }
+
+    public boolean isVazio() {
+        return situacaoId == null && atribuicoesIds.isEmpty();
+    }
+
+}
@@ -0,0 +1,35 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class CartorioImportResult {
+
+    public enum Status {
+        IMPORTADO,
+        REJEITADO
+    }
+
+    private long linha;
+    private Integer id;
+    private Status status;
+    private String mensagem;
+
+    public CartorioImportResult(long linha, Integer id, Status status, String mensagem) {
+        this.linha = linha;
+        this.id = id;
+        this.status = status;
+        this.mensagem = mensagem;
+    }
+
+    public static CartorioImportResult importado(long linha, Integer id) {
+        return new CartorioImportResult(linha, id, Status.IMPORTADO, null);
+    }
+
+    public static CartorioImportResult rejeitado(long linha, Integer id, String mensagem) {
+        return new CartorioImportResult(linha, id, Status.REJEITADO, mensagem);
+    }
+
+}
@@ -1,5 +1,6 @@
 package dev.dluks.escriba.dtos.cartorio;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import dev.dluks.escriba.domain.entities.Atribuicao;
 import dev.dluks.escriba.domain.entities.Cartorio;
 import dev.dluks.escriba.domain.entities.Situacao;
@@ -21,6 +22,9 @@ public class CartorioResponse {
     private SituacaoResponse situacao;
     private Set<AtribuicaoResponse> atribuicoes = new HashSet<>();
 
+    @JsonIgnore
+    private Long versao;
+
     public CartorioResponse(Integer id, String nome, String observacao, Situacao situacao, Set<Atribuicao> atribuicoes) {
         this.id = id;
         this.nome = nome;
@@ -29,8 +33,24 @@ public class CartorioResponse {
         this.atribuicoes = atribuicoes.stream().map(AtribuicaoResponse::fromEntity).collect(java.util.stream.Collectors.toSet());
     }
 
+    public CartorioResponse(Integer id, String nome, String observacao, SituacaoResponse situacao, Set<AtribuicaoResponse> atribuicoes) {
+        this.id = id;
+        this.nome = nome;
+        this.observacao = observacao;
+        this.situacao = situacao;
+        this.atribuicoes = atribuicoes;
+    }
+
+    public static CartorioResponse of(Cartorio cartorio, SituacaoResponse situacao, Set<AtribuicaoResponse> atribuicoes) {
+        CartorioResponse response = new CartorioResponse(cartorio.getId(), cartorio.getNome(), cartorio.getObservacao(), situacao, atribuicoes);
+        response.versao = cartorio.getVersao();
+        return response;
+    }
+
     public static CartorioResponse fromEntity(Cartorio cartorio) {
-        return new CartorioResponse(cartorio.getId(), cartorio.getNome(), cartorio.getObservacao(), cartorio.getSituacao(), cartorio.getAtribuicoes());
+        CartorioResponse response = new CartorioResponse(cartorio.getId(), cartorio.getNome(), cartorio.getObservacao(), cartorio.getSituacao(), cartorio.getAtribuicoes());
+        response.versao = cartorio.getVersao();
+        return response;
     }
 
 }
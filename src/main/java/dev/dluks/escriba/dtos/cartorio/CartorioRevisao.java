@@ -0,0 +1,50 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Alteração ou exclusão de um cartório no histórico ordenado por {@code (revisao, id)}. Codificada, é a posição opaca
+ * a partir da qual a sincronização incremental continua.
+ */
+@Getter
+public class CartorioRevisao {
+
+    /** Posição anterior a qualquer cartório, inclusive os de revisão 0. */
+    public static final CartorioRevisao INICIO = new CartorioRevisao(0, 0L, false);
+
+    private static final String SEPARADOR = ":";
+
+    private final Integer id;
+    private final long revisao;
+    private final boolean excluido;
+
+    public CartorioRevisao(Integer id, long revisao, boolean excluido) {
+        this.id = id;
+        this.revisao = revisao;
+        this.excluido = excluido;
+    }
+
+    public String encode() {
+        String valor = revisao + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CartorioRevisao decode(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador <= 0) {
+                throw new BusinessException("Token inválido");
+            }
+            return new CartorioRevisao(Integer.valueOf(valor.substring(separador + 1)),
+                    Long.parseLong(valor.substring(0, separador)), false);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Token inválido");
+        }
+    }
+
+}
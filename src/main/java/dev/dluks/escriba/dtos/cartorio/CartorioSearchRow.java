@@ -0,0 +1,21 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.Getter;
+
+/**
+ * Campos textuais de um cartório carregados na reconstrução do índice de busca.
+ */
+@Getter
+public class CartorioSearchRow {
+
+    private final Integer id;
+    private final String nome;
+    private final String observacao;
+
+    public CartorioSearchRow(Integer id, String nome, String observacao) {
+        this.id = id;
+        this.nome = nome;
+        this.observacao = observacao;
+    }
+
+}
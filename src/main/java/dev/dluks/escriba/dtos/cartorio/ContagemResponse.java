@@ -0,0 +1,20 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ContagemResponse {
+
+    private String id;
+    private String nome;
+    private long quantidade;
+
+    public ContagemResponse(String id, String nome, long quantidade) {
+        this.id = id;
+        this.nome = nome;
+        this.quantidade = quantidade;
+    }
+
+}
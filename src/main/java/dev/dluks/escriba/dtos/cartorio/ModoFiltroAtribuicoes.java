@@ -0,0 +1,14 @@
+package dev.dluks.escriba.dtos.cartorio;
+
+/**
+ * Como combinar várias atribuições no filtro da listagem de cartórios.
+ */
+public enum ModoFiltroAtribuicoes {
+
+    /** O cartório tem ao menos uma das atribuições informadas. */
+    QUALQUER,
+
+    /** O cartório tem todas as atribuições informadas. */
+    TODAS
+
+}
@@ -0,0 +1,36 @@
+package dev.dluks.escriba.dtos.evento;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+public class EventoResponse {
+
+    private long sequencia;
+    private RecursoEvento recurso;
+    private OperacaoEvento operacao;
+    private String recursoId;
+
+    /**
+     * JSON gravado no registro do evento, repassado sem nova serialização.
+     */
+    @JsonRawValue
+    private String dados;
+
+    private LocalDateTime registradoEm;
+
+    public EventoResponse(long sequencia, RecursoEvento recurso, OperacaoEvento operacao, String recursoId,
+                          String dados, LocalDateTime registradoEm) {
+        this.sequencia = sequencia;
+        this.recurso = recurso;
+        this.operacao = operacao;
+        this.recursoId = recursoId;
+        this.dados = dados;
+        this.registradoEm = registradoEm;
+    }
+
+}
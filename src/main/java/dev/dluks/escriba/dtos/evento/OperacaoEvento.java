@@ -0,0 +1,20 @@
+package dev.dluks.escriba.dtos.evento;
+
+/**
+ * Alteração registrada por um evento e o conteúdo de {@code dados} em cada caso.
+ */
+public enum OperacaoEvento {
+
+    /** Registro incluído; os dados trazem o registro completo. */
+    INCLUSAO,
+
+    /** Registro alterado; os dados trazem o registro completo após a alteração. */
+    ALTERACAO,
+
+    /** Situação do cartório trocada em lote; os dados trazem apenas o id e a nova situação. */
+    ALTERACAO_SITUACAO,
+
+    /** Registro excluído; sem dados. */
+    EXCLUSAO
+
+}
@@ -0,0 +1,12 @@
+package dev.dluks.escriba.dtos.evento;
+
+/**
+ * Cadastro alterado por um evento.
+ */
+public enum RecursoEvento {
+
+    CARTORIO,
+    SITUACAO,
+    ATRIBUICAO
+
+}
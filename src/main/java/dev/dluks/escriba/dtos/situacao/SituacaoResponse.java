@@ -1,5 +1,6 @@
 package dev.dluks.escriba.dtos.situacao;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import dev.dluks.escriba.domain.entities.Situacao;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -10,13 +11,18 @@ public class SituacaoResponse {
     private String id;
     private String nome;
 
+    @JsonIgnore
+    private Long versao;
+
     public SituacaoResponse(String id, String nome) {
         this.id = id;
         this.nome = nome;
     }
 
     public static SituacaoResponse fromEntity(Situacao situacao) {
-        return new SituacaoResponse(situacao.getId(), situacao.getNome());
+        SituacaoResponse response = new SituacaoResponse(situacao.getId(), situacao.getNome());
+        response.versao = situacao.getVersao();
+        return response;
     }
 
 }
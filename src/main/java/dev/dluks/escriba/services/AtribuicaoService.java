@@ -2,55 +2,76 @@ package dev.dluks.escriba.services;
 
 import dev.dluks.escriba.domain.entities.Atribuicao;
 import dev.dluks.escriba.domain.exceptions.DuplicateResourceException;
+import dev.dluks.escriba.domain.exceptions.IntegrityConstraintException;
+import dev.dluks.escriba.domain.exceptions.PreconditionFailedException;
 import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
 import dev.dluks.escriba.domain.repositories.AtribuicaoRepository;
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.domain.repositories.ConstraintViolations;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
 import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponse;
 import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponseMin;
 import dev.dluks.escriba.dtos.atribuicao.CreateAtribuicaoRequest;
 import dev.dluks.escriba.dtos.atribuicao.UpdateAtribuicaoRequest;
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "escriba.service", histogram = true)
 public class AtribuicaoService {
 
     private final AtribuicaoRepository repository;
-
+    private final CartorioRepository cartorioRepository;
+    private final ReferenceCatalog catalog;
+    private final EventOutbox outbox;
+
+    /**
+     * Insere sem consultar antes: id ou nome repetidos são detectados pelas restrições do banco, o que também
+     * cobre inclusões concorrentes.
+     */
     @Transactional
     public AtribuicaoResponse create(CreateAtribuicaoRequest dto) {
-        validateDuplicatedId(dto.getId());
-        validateDuplicateNome(dto.getNome());
+        Atribuicao atribuicao = Atribuicao.builder()
+                .id(dto.getId())
+                .nome(dto.getNome())
+                .situacao(dto.getSituacao() != null ? dto.getSituacao() : true)
+                .build();
 
-        Atribuicao atribuicao = repository.save(
-                Atribuicao.builder()
-                        .id(dto.getId())
-                        .nome(dto.getNome())
-                        .situacao(dto.getSituacao() != null ? dto.getSituacao() : true)
-                        .build());
+        try {
+            repository.insert(atribuicao);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicidade(e, atribuicao);
+        }
 
-        return AtribuicaoResponse.fromEntity(atribuicao);
+        return registrar(OperacaoEvento.INCLUSAO, AtribuicaoResponse.fromEntity(atribuicao));
     }
 
     @Transactional
-    public AtribuicaoResponse update(String id, UpdateAtribuicaoRequest dto) {
-        Atribuicao atribuicao = findOrFail(id);
+    public AtribuicaoResponse update(String id, UpdateAtribuicaoRequest dto, Set<Long> versoesEsperadas) {
+        Atribuicao atribuicao = findOrFail(id, versoesEsperadas);
 
-        if (!atribuicao.getNome().equalsIgnoreCase(dto.getNome())) {
+        if (!atribuicao.getNomeNormalizado().equals(TextNormalizer.normalize(dto.getNome()))) {
             validateDuplicateNome(dto.getNome());
         }
 
-        Atribuicao atribuicaoAtualizada = repository.save(Atribuicao.builder()
-                .id(id)
-                .nome(dto.getNome())
-                .build());
+        atribuicao.changeNome(dto.getNome());
+        repository.flush();
 
-        return AtribuicaoResponse.fromEntity(atribuicaoAtualizada);
+        return registrar(OperacaoEvento.ALTERACAO, AtribuicaoResponse.fromEntity(atribuicao));
     }
 
     public Page<AtribuicaoResponseMin> findAll(Pageable pageable) {
@@ -58,27 +79,63 @@ public class AtribuicaoService {
                 .map(AtribuicaoResponseMin::fromEntity);
     }
 
+    public Slice<AtribuicaoResponseMin> findSlice(Pageable pageable) {
+        return repository.findSliceBy(pageable)
+                .map(AtribuicaoResponseMin::fromEntity);
+    }
+
     public AtribuicaoResponse findById(String id) {
         return AtribuicaoResponse.fromEntity(findOrFail(id));
     }
 
     @Transactional
-    public AtribuicaoResponse changeSituacao(String id, Boolean situacao) {
-        Atribuicao atribuicao = findOrFail(id);
+    public AtribuicaoResponse changeSituacao(String id, Boolean situacao, Set<Long> versoesEsperadas) {
+        Atribuicao atribuicao = findOrFail(id, versoesEsperadas);
 
         if (situacao) {
             atribuicao.activate();
         } else {
             atribuicao.deactivate();
         }
+        repository.flush();
+
+        return registrar(OperacaoEvento.ALTERACAO, AtribuicaoResponse.fromEntity(atribuicao));
+    }
 
-        return AtribuicaoResponse.fromEntity(repository.save(atribuicao));
+    /**
+     * Cartórios com a atribuição, pelo índice de {@code cartorios_atribuicoes.atribuicao_id}.
+     */
+    @Transactional(readOnly = true)
+    public Page<CartorioResponseMin> findCartorios(String id, Pageable pageable) {
+        catalog.findAtribuicao(id);
+        return cartorioRepository.findPageMin(new CartorioFiltro(null, Set.of(id), null), pageable);
     }
 
     @Transactional
     public void delete(String id) {
         Atribuicao atribuicao = findOrFail(id);
-        repository.delete(atribuicao);
+
+        long cartorios = cartorioRepository.countByAtribuicaoId(id);
+        if (cartorios > 0) {
+            throw new IntegrityConstraintException(
+                    String.format("Atribuição utilizada por %d cartório(s)", cartorios));
+        }
+
+        // o cartório incluído por outra transação depois da contagem só aparece na chave estrangeira
+        try {
+            repository.delete(atribuicao);
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new IntegrityConstraintException("Registro utilizado em outro cadastro.");
+        }
+        outbox.registrar(RecursoEvento.ATRIBUICAO, OperacaoEvento.EXCLUSAO, id, null);
+        catalog.removeAtribuicao(id);
+    }
+
+    private AtribuicaoResponse registrar(OperacaoEvento operacao, AtribuicaoResponse atribuicao) {
+        outbox.registrar(RecursoEvento.ATRIBUICAO, operacao, atribuicao.getId(), atribuicao);
+        catalog.put(atribuicao);
+        return atribuicao;
     }
 
     private Atribuicao findOrFail(String id) {
@@ -86,14 +143,29 @@ public class AtribuicaoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Atribuição não encontrada: " + id));
     }
 
-    private void validateDuplicatedId(String id) {
-        if (repository.existsById(id)) {
-            throw new DuplicateResourceException("Registro já cadastrado");
+    private Atribuicao findOrFail(String id, Set<Long> versoesEsperadas) {
+        Atribuicao atribuicao = findOrFail(id);
+        if (versoesEsperadas != null && !versoesEsperadas.contains(atribuicao.getVersao())) {
+            throw new PreconditionFailedException("A atribuição foi alterada por outra requisição");
+        }
+        return atribuicao;
+    }
+
+    private RuntimeException duplicidade(DataIntegrityViolationException e, Atribuicao atribuicao) {
+        if (ConstraintViolations.violou(e, ConstraintViolations.CHAVE_PRIMARIA)) {
+            return new DuplicateResourceException("Registro já cadastrado");
+        }
+        if (ConstraintViolations.violou(e, "uk_atribuicoes_nome")) {
+            return repository.findByNomeNormalizado(atribuicao.getNomeNormalizado())
+                    .map(existente -> new DuplicateResourceException(
+                            String.format("Nome já informado no registro com código %s", existente.getId())))
+                    .orElseGet(() -> new DuplicateResourceException("Nome já informado em outro registro"));
         }
+        return e;
     }
 
     private void validateDuplicateNome(String nome) {
-        Optional<Atribuicao> atribuicao = repository.findByNomeIgnoreCase(nome);
+        Optional<Atribuicao> atribuicao = repository.findByNomeNormalizado(TextNormalizer.normalize(nome));
 
         if (atribuicao.isPresent()) {
             throw new DuplicateResourceException(
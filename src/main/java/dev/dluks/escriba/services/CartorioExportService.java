@@ -0,0 +1,119 @@
+package dev.dluks.escriba.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioExportRow;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponse;
+import dev.dluks.escriba.dtos.cartorio.FormatoExportacao;
+import dev.dluks.escriba.dtos.situacao.SituacaoResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de todos os cartórios com situação e atribuições.
+ * <p>
+ * As linhas vêm de um cursor somente-avanço ordenado por id e são agrupadas por cartório à medida que são lidas,
+ * de modo que apenas um cartório fica em memória por vez, independentemente do tamanho da tabela.
+ */
+@Service
+public class CartorioExportService {
+
+    private static final String CABECALHO_CSV = "id,nome,observacao,situacao_id,situacao_nome,atribuicoes_ids,atribuicoes_nomes";
+
+    private final CartorioRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public CartorioExportService(CartorioRepository repository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CartorioExportRow> linhas = repository.streamExportacao()) {
+                    Iterator<CartorioExportRow> iterator = linhas.iterator();
+                    CartorioResponse atual = null;
+                    while (iterator.hasNext()) {
+                        CartorioExportRow linha = iterator.next();
+                        if (atual == null || !atual.getId().equals(linha.getId())) {
+                            if (atual != null) {
+                                escrever(formato, atual, writer);
+                            }
+                            atual = new CartorioResponse(linha.getId(), linha.getNome(), linha.getObservacao(),
+                                    new SituacaoResponse(linha.getSituacaoId(), linha.getSituacaoNome()),
+                                    new LinkedHashSet<>());
+                        }
+                        if (linha.getAtribuicaoId() != null) {
+                            atual.getAtribuicoes().add(new AtribuicaoResponse(linha.getAtribuicaoId(),
+                                    linha.getAtribuicaoNome(), linha.getAtribuicaoSituacao()));
+                        }
+                    }
+                    if (atual != null) {
+                        escrever(formato, atual, writer);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private void escrever(FormatoExportacao formato, CartorioResponse cartorio, Writer writer) throws IOException {
+        if (formato == FormatoExportacao.CSV) {
+            Set<AtribuicaoResponse> atribuicoes = cartorio.getAtribuicoes();
+            writer.write(String.join(",",
+                    String.valueOf(cartorio.getId()),
+                    csv(cartorio.getNome()),
+                    csv(cartorio.getObservacao()),
+                    csv(cartorio.getSituacao().getId()),
+                    csv(cartorio.getSituacao().getNome()),
+                    csv(atribuicoes.stream().map(AtribuicaoResponse::getId).collect(Collectors.joining("|"))),
+                    csv(atribuicoes.stream().map(AtribuicaoResponse::getNome).collect(Collectors.joining("|")))));
+        } else {
+            writer.write(objectMapper.writeValueAsString(cartorio));
+        }
+        writer.write('\n');
+    }
+
+    private static String csv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+}
@@ -0,0 +1,283 @@
+package dev.dluks.escriba.services;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.domain.exceptions.EscribaException;
+import dev.dluks.escriba.domain.repositories.CartorioBatchRepository;
+import dev.dluks.escriba.domain.repositories.ConstraintViolations;
+import dev.dluks.escriba.dtos.cartorio.CartorioImportResult;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponse;
+import dev.dluks.escriba.dtos.cartorio.CreateCartorioRequest;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de cartórios a partir de um fluxo JSON (array ou NDJSON).
+ * <p>
+ * O corpo é lido registro a registro e processado em lotes: cada lote é validado, checado contra o banco
+ * com uma consulta por tipo de duplicidade e gravado via JDBC batch na sua própria transação. O resultado de cada
+ * registro é escrito em NDJSON assim que o seu lote termina, de modo que nem o corpo nem o relatório ficam inteiros
+ * em memória.
+ */
+@Slf4j
+@Service
+public class CartorioImportService {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader leitor;
+    private final Validator validator;
+    private final CartorioService cartorioService;
+    private final CartorioBatchRepository batchRepository;
+    private final CartorioSearchIndex searchIndex;
+    private final CartorioStatisticsService statistics;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    public CartorioImportService(ObjectMapper objectMapper,
+                                 Validator validator,
+                                 CartorioService cartorioService,
+                                 CartorioBatchRepository batchRepository,
+                                 CartorioSearchIndex searchIndex,
+                                 CartorioStatisticsService statistics,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${escriba.import.chunk-size:500}") int tamanhoLote) {
+        this.objectMapper = objectMapper;
+        this.leitor = objectMapper.readerFor(CreateCartorioRequest.class);
+        this.validator = validator;
+        this.cartorioService = cartorioService;
+        this.batchRepository = batchRepository;
+        this.searchIndex = searchIndex;
+        this.statistics = statistics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public void importar(InputStream corpo, OutputStream saida) throws IOException {
+        List<Linha> lote = new ArrayList<>(tamanhoLote);
+        long numeroLinha = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(corpo)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                lote.add(ler(numeroLinha + 1, parser.readValueAsTree()));
+                numeroLinha++;
+                if (lote.size() == tamanhoLote) {
+                    escrever(processarLote(lote), saida);
+                    lote.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonParseException e) {
+            escrever(processarLote(lote), saida);
+            lote.clear();
+            escrever(List.of(CartorioImportResult.rejeitado(numeroLinha + 1, null,
+                    "Conteúdo inválido, importação interrompida: " + e.getOriginalMessage())), saida);
+        }
+
+        escrever(processarLote(lote), saida);
+    }
+
+    /**
+     * O registro é lido inteiro como árvore antes do mapeamento: um campo inválido não deixa o parser no meio do
+     * objeto e o id, quando legível, ainda aparece no relatório da linha rejeitada.
+     */
+    private Linha ler(long numero, JsonNode registro) {
+        JsonNode id = registro.get("id");
+        Integer idLido = id != null && id.isIntegralNumber() && id.canConvertToInt() ? id.intValue() : null;
+        try {
+            return new Linha(numero, idLido, leitor.readValue(registro), null);
+        } catch (JsonMappingException e) {
+            return new Linha(numero, idLido, null, "Registro inválido: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            return new Linha(numero, idLido, null, "Registro inválido: " + e.getMessage());
+        }
+    }
+
+    private void escrever(List<CartorioImportResult> resultados, OutputStream saida) throws IOException {
+        for (CartorioImportResult resultado : resultados) {
+            saida.write(objectMapper.writeValueAsBytes(resultado));
+            saida.write('\n');
+        }
+        saida.flush();
+    }
+
+    private List<CartorioImportResult> processarLote(List<Linha> lote) {
+        if (lote.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Linha, String> rejeicoes = new HashMap<>();
+        List<Linha> validas = new ArrayList<>(lote.size());
+        for (Linha linha : lote) {
+            String erro = validar(linha);
+            if (erro != null) {
+                rejeicoes.put(linha, erro);
+            } else {
+                validas.add(linha);
+            }
+        }
+
+        rejeitarDuplicados(validas, rejeicoes);
+
+        List<Linha> gravadas = validas.stream()
+                .filter(linha -> !rejeicoes.containsKey(linha))
+                .collect(Collectors.toList());
+        try {
+            gravar(gravadas.stream()
+                    .map(linha -> linha.cartorio)
+                    .collect(Collectors.toList()));
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar lote de importação de cartórios, gravando os registros um a um", e);
+            gravadas.forEach(linha -> gravarSozinha(linha, rejeicoes));
+        }
+
+        return lote.stream()
+                .map(linha -> rejeicoes.containsKey(linha)
+                        ? CartorioImportResult.rejeitado(linha.numero, linha.id, rejeicoes.get(linha))
+                        : CartorioImportResult.importado(linha.numero, linha.id))
+                .collect(Collectors.toList());
+    }
+
+    private void gravar(List<Cartorio> cartorios) {
+        transactionTemplate.executeWithoutResult(status -> {
+            batchRepository.insertAll(cartorios);
+            statistics.cartoriosIncluidos(cartorios);
+            cartorioService.registrar(OperacaoEvento.INCLUSAO, cartorios.stream()
+                    .collect(Collectors.toMap(Cartorio::getId, CartorioResponse::fromEntity,
+                            (a, b) -> a, LinkedHashMap::new)));
+            cartorios.forEach(cartorio ->
+                    searchIndex.put(cartorio.getId(), cartorio.getNome(), cartorio.getObservacao()));
+        });
+    }
+
+    /**
+     * Regrava sozinha uma linha de lote que falhou, para que só os registros que violam alguma restrição, como os
+     * gravados por outra requisição entre a checagem de duplicidade e o INSERT, sejam rejeitados.
+     */
+    private void gravarSozinha(Linha linha, Map<Linha, String> rejeicoes) {
+        try {
+            gravar(List.of(linha.cartorio));
+        } catch (DataIntegrityViolationException e) {
+            rejeicoes.put(linha, violacao(e, linha.cartorio));
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar o cartório {} da importação", linha.id, e);
+            rejeicoes.put(linha, "Falha ao gravar o registro: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private String violacao(DataIntegrityViolationException e, Cartorio cartorio) {
+        if (ConstraintViolations.violou(e, ConstraintViolations.CHAVE_PRIMARIA)) {
+            return "Registro já cadastrado";
+        }
+        if (ConstraintViolations.violou(e, "uk_cartorios_nome_normalizado")) {
+            Integer existente = batchRepository.findIdsByNomeNormalizado(Set.of(cartorio.getNomeNormalizado()))
+                    .get(cartorio.getNomeNormalizado());
+            return existente != null
+                    ? String.format("Nome já informado no registro com código %d", existente)
+                    : "Nome já informado em outro registro";
+        }
+        if (ConstraintViolations.violou(e, "fk_cartorios_situacao")) {
+            return "Situação não encontrada com o id: " + cartorio.getSituacao().getId();
+        }
+        if (ConstraintViolations.violou(e, "fk_cartorios_atribuicoes_atribuicao")) {
+            return "Atribuições não encontradas entre: " + cartorio.getAtribuicoes().stream()
+                    .map(Atribuicao::getId)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        return "Falha ao gravar o registro: " + e.getMostSpecificCause().getMessage();
+    }
+
+    private String validar(Linha linha) {
+        if (linha.erro != null) {
+            return linha.erro;
+        }
+
+        Set<ConstraintViolation<CreateCartorioRequest>> violacoes = validator.validate(linha.request);
+        if (!violacoes.isEmpty()) {
+            return violacoes.stream()
+                    .map(violacao -> String.format("%s: %s", violacao.getPropertyPath(), violacao.getMessage()))
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        try {
+            linha.cartorio = cartorioService.toEntity(linha.request);
+            return null;
+        } catch (EscribaException e) {
+            return e.getMessage();
+        }
+    }
+
+    private void rejeitarDuplicados(List<Linha> validas, Map<Linha, String> rejeicoes) {
+        Set<Integer> idsExistentes = batchRepository.findExistingIds(validas.stream()
+                .map(linha -> linha.cartorio.getId())
+                .collect(Collectors.toSet()));
+        Map<String, Integer> nomesExistentes = batchRepository.findIdsByNomeNormalizado(validas.stream()
+                .map(linha -> linha.cartorio.getNomeNormalizado())
+                .collect(Collectors.toSet()));
+
+        Set<Integer> idsNoLote = new HashSet<>();
+        Map<String, Integer> nomesNoLote = new HashMap<>();
+        for (Linha linha : validas) {
+            Integer id = linha.cartorio.getId();
+            String nome = linha.cartorio.getNomeNormalizado();
+            Integer mesmoNome = nomesExistentes.getOrDefault(nome, nomesNoLote.get(nome));
+
+            if (idsExistentes.contains(id) || !idsNoLote.add(id)) {
+                rejeicoes.put(linha, "Registro já cadastrado");
+            } else if (mesmoNome != null) {
+                rejeicoes.put(linha, String.format("Nome já informado no registro com código %d", mesmoNome));
+            } else {
+                nomesNoLote.put(nome, id);
+            }
+        }
+    }
+
+    private static final class Linha {
+
+        private final long numero;
+        private final Integer id;
+        private final CreateCartorioRequest request;
+        private final String erro;
+        private Cartorio cartorio;
+
+        private Linha(long numero, Integer id, CreateCartorioRequest request, String erro) {
+            this.numero = numero;
+            this.id = id;
+            this.request = request;
+            this.erro = erro;
+        }
+    }
+
+}
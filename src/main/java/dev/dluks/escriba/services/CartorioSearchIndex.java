@@ -0,0 +1,221 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.cartorio.CartorioSearchRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Índice invertido em memória sobre o nome e a observação dos cartórios.
+ * <p>
+ * Os termos passam por {@link TextNormalizer}, de modo que a busca ignora acentos e maiúsculas. Cada termo da consulta
+ * casa por prefixo e todos precisam ser encontrados; ocorrências no nome e termos completos pesam mais na ordenação.
+ * O índice é montado na inicialização e mantido pelos fluxos de escrita de cartórios após o commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class CartorioSearchIndex {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas");
+
+    private static final int CAMPO_NOME = 1;
+    private static final int CAMPO_OBSERVACAO = 2;
+
+    private final CartorioRepository repository;
+
+    private volatile Indice indice = new Indice();
+
+    @PostConstruct
+    public synchronized void reload() {
+        Indice novo = new Indice();
+        repository.findAllParaBusca().forEach(row -> novo.indexar(row.getId(), row.getNome(), row.getObservacao()));
+        indice = novo;
+    }
+
+    public Page<CartorioResponseMin> search(String consulta, Pageable pageable) {
+        Indice atual = indice;
+        Set<String> termos = tokenize(consulta);
+        if (termos.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Map<Integer, Integer> pontuacao = null;
+        for (String termo : termos) {
+            Map<Integer, Integer> doTermo = atual.pontuar(termo);
+            pontuacao = pontuacao == null ? doTermo : intersect(pontuacao, doTermo);
+            if (pontuacao.isEmpty()) {
+                return Page.empty(pageable);
+            }
+        }
+
+        List<Resultado> resultados = new ArrayList<>(pontuacao.size());
+        pontuacao.forEach((id, pontos) -> {
+            Documento documento = atual.documentos.get(id);
+            if (documento != null) {
+                resultados.add(new Resultado(id, documento.nome, pontos));
+            }
+        });
+        resultados.sort(Comparator.comparingInt((Resultado resultado) -> resultado.pontos).reversed()
+                .thenComparing(resultado -> resultado.nome)
+                .thenComparing(resultado -> resultado.id));
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(toResponse(resultados), pageable, resultados.size());
+        }
+
+        int inicio = (int) Math.min(pageable.getOffset(), resultados.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), resultados.size());
+        return new PageImpl<>(toResponse(resultados.subList(inicio, fim)), pageable, resultados.size());
+    }
+
+    public void put(Integer id, String nome, String observacao) {
+        AfterCommit.run(() -> indexar(id, nome, observacao));
+    }
+
+    public void remove(Integer id) {
+        AfterCommit.run(() -> remover(id));
+    }
+
+    private synchronized void indexar(Integer id, String nome, String observacao) {
+        indice.indexar(id, nome, observacao);
+    }
+
+    private synchronized void remover(Integer id) {
+        indice.remover(id);
+    }
+
+    private static Map<Integer, Integer> intersect(Map<Integer, Integer> acumulado, Map<Integer, Integer> doTermo) {
+        Map<Integer, Integer> resultado = new HashMap<>();
+        acumulado.forEach((id, pontos) -> {
+            Integer pontosTermo = doTermo.get(id);
+            if (pontosTermo != null) {
+                resultado.put(id, pontos + pontosTermo);
+            }
+        });
+        return resultado;
+    }
+
+    private static List<CartorioResponseMin> toResponse(List<Resultado> resultados) {
+        return resultados.stream()
+                .map(resultado -> new CartorioResponseMin(resultado.id, resultado.nome))
+                .collect(Collectors.toList());
+    }
+
+    static Set<String> tokenize(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return Set.of();
+        }
+
+        Set<String> termos = new LinkedHashSet<>();
+        for (String termo : SEPARADORES.split(TextNormalizer.normalize(texto))) {
+            if (!termo.isEmpty() && !PALAVRAS_VAZIAS.contains(termo)) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Estruturas do índice. Leituras não bloqueiam; as escritas são serializadas por {@link CartorioSearchIndex}.
+     */
+    private static final class Indice {
+
+        /**
+         * Termo para os cartórios que o contêm, com os campos em que aparece ({@link #CAMPO_NOME},
+         * {@link #CAMPO_OBSERVACAO}). Ordenado para permitir a busca por prefixo.
+         */
+        private final ConcurrentSkipListMap<String, Map<Integer, Integer>> termos = new ConcurrentSkipListMap<>();
+        private final Map<Integer, Documento> documentos = new ConcurrentHashMap<>();
+
+        private void indexar(Integer id, String nome, String observacao) {
+            remover(id);
+
+            Set<String> termosDocumento = new LinkedHashSet<>();
+            adicionar(id, tokenize(nome), CAMPO_NOME, termosDocumento);
+            adicionar(id, tokenize(observacao), CAMPO_OBSERVACAO, termosDocumento);
+            documentos.put(id, new Documento(nome, termosDocumento));
+        }
+
+        private void adicionar(Integer id, Set<String> termosCampo, int campo, Set<String> termosDocumento) {
+            for (String termo : termosCampo) {
+                termos.computeIfAbsent(termo, chave -> new ConcurrentHashMap<>()).merge(id, campo, (a, b) -> a | b);
+                termosDocumento.add(termo);
+            }
+        }
+
+        private void remover(Integer id) {
+            Documento documento = documentos.remove(id);
+            if (documento == null) {
+                return;
+            }
+
+            for (String termo : documento.termos) {
+                termos.computeIfPresent(termo, (chave, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        /**
+         * Pontua os cartórios com algum termo iniciado por {@code prefixo}, ficando com a melhor ocorrência de cada um:
+         * nome vale mais que observação e o termo completo vale mais que o prefixo.
+         */
+        private Map<Integer, Integer> pontuar(String prefixo) {
+            Map<Integer, Integer> pontuacao = new HashMap<>();
+            termos.subMap(prefixo, true, prefixo + Character.MAX_VALUE, true).forEach((termo, ids) -> {
+                int bonus = termo.equals(prefixo) ? 1 : 0;
+                ids.forEach((id, campos) -> {
+                    int pontos = ((campos & CAMPO_NOME) != 0 ? 2 : 1) + bonus;
+                    pontuacao.merge(id, pontos, Math::max);
+                });
+            });
+            return pontuacao;
+        }
+    }
+
+    private static final class Documento {
+
+        private final String nome;
+        private final Set<String> termos;
+
+        private Documento(String nome, Set<String> termos) {
+            this.nome = nome;
+            this.termos = termos;
+        }
+    }
+
+    private static final class Resultado {
+
+        private final Integer id;
+        private final String nome;
+        private final int pontos;
+
+        private Resultado(Integer id, String nome, int pontos) {
+            this.id = id;
+            this.nome = nome;
+            this.pontos = pontos;
+        }
+    }
+
+}
@@ -3,104 +3,203 @@ package dev.dluks.escriba.services;
 import dev.dluks.escriba.domain.entities.Atribuicao;
 import dev.dluks.escriba.domain.entities.Cartorio;
 import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.exceptions.BusinessException;
 import dev.dluks.escriba.domain.exceptions.DuplicateResourceException;
 import dev.dluks.escriba.domain.exceptions.IntegrityConstraintException;
+import dev.dluks.escriba.domain.exceptions.PreconditionFailedException;
 import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
+import dev.dluks.escriba.domain.repositories.CartorioBatchRepository;
 import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.domain.repositories.ConstraintViolations;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
 import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponse;
+import dev.dluks.escriba.dtos.cartorio.AlteracaoSituacaoEmLoteResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioAlteracoesResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioCursor;
+import dev.dluks.escriba.dtos.cartorio.CartorioCursorResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
 import dev.dluks.escriba.dtos.cartorio.CartorioResponse;
 import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.cartorio.CartorioRevisao;
 import dev.dluks.escriba.dtos.cartorio.CreateCartorioRequest;
 import dev.dluks.escriba.dtos.cartorio.UpdateCartorioRequest;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponse;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "escriba.service", histogram = true)
 public class CartorioService {
 
+    static final int TAMANHO_MAXIMO_CURSOR = 1000;
+
     private final CartorioRepository repository;
-    private final SituacaoService situacaoService;
-    private final AtribuicaoService atribuicaoService;
+    private final CartorioBatchRepository batchRepository;
+    private final ReferenceCatalog catalog;
+    private final CartorioSearchIndex searchIndex;
+    private final CartorioStatisticsService statistics;
+    private final EventOutbox outbox;
+    private final EntityManager entityManager;
 
+    /**
+     * Insere sem consultar antes: id ou nome repetidos são detectados pelas restrições do banco, o que também
+     * cobre inclusões concorrentes.
+     */
     @Transactional
     public CartorioResponse create(CreateCartorioRequest dto) {
-        validateDuplicateId(dto.getId());
-        validateDuplicateNome(dto.getNome());
-
-        Cartorio cartorio = toEntity(dto);
+        Cartorio cartorio = toEntity(dto, this::referencia, this::referencia);
 
-        cartorio = repository.save(cartorio);
+        try {
+            repository.insert(cartorio);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicidade(e, cartorio);
+        }
+        statistics.cartorioIncluido(cartorio);
+        searchIndex.put(cartorio.getId(), cartorio.getNome(), cartorio.getObservacao());
 
-        return CartorioResponse.fromEntity(cartorio);
+        CartorioResponse response = toResponse(cartorio);
+        registrar(OperacaoEvento.INCLUSAO, Collections.singletonMap(response.getId(), response));
+        return response;
     }
 
     @Transactional
-    public CartorioResponse update(Integer id, UpdateCartorioRequest dto) {
-        Cartorio cartorioExistente = findOrFail(id);
+    public CartorioResponse update(Integer id, UpdateCartorioRequest dto, Set<Long> versoesEsperadas) {
+        Cartorio cartorio = findOrFail(id, versoesEsperadas);
 
-        if (!cartorioExistente.getNome().equalsIgnoreCase(dto.getNome())) {
+        if (!cartorio.getNomeNormalizado().equals(TextNormalizer.normalize(dto.getNome()))) {
             validateDuplicateNome(dto.getNome());
         }
 
-        Cartorio cartorio = Cartorio.builder()
-                .id(cartorioExistente.getId())
-                .nome(dto.getNome())
-                .observacao(dto.getObservacao())
-                .situacao(cartorioExistente.getSituacao())
-                .atribuicoes(cartorioExistente.getAtribuicoes())
-                .build();
+        cartorio.changeDados(dto.getNome(), dto.getObservacao());
+        searchIndex.put(cartorio.getId(), cartorio.getNome(), cartorio.getObservacao());
 
-        return CartorioResponse.fromEntity(repository.save(cartorio));
+        return flush(cartorio);
     }
 
     @Transactional
-    public CartorioResponse changeSituacao(Integer id, String situacaoId) {
-        Cartorio cartorio = findOrFail(id);
-        SituacaoResponse situacao = situacaoService.findById(situacaoId);
+    public CartorioResponse changeSituacao(Integer id, String situacaoId, Set<Long> versoesEsperadas) {
+        Cartorio cartorio = findOrFail(id, versoesEsperadas);
+        SituacaoResponse situacao = catalog.findSituacao(situacaoId);
+        String situacaoAnterior = cartorio.getSituacao().getId();
 
-        cartorio.changeSituacao(Situacao.builder()
-                .id(situacao.getId())
-                .nome(situacao.getNome())
-                .build());
+        cartorio.changeSituacao(referencia(situacao));
+        statistics.situacaoAlterada(situacaoAnterior, situacao.getId());
 
-        return CartorioResponse.fromEntity(repository.save(cartorio));
+        return flush(cartorio);
     }
 
+    /**
+     * Troca a situação de vários cartórios com um único UPDATE, validando a situação uma vez. Ids inexistentes e
+     * cartórios que já estão na situação não são tratados como erro, apenas informados na resposta.
+     */
     @Transactional
-    public CartorioResponse addAtribuicao(Integer id, String atribuicaoId) {
-        Cartorio cartorio = findOrFail(id);
-        AtribuicaoResponse atribuicao = atribuicaoService.findById(atribuicaoId);
+    public AlteracaoSituacaoEmLoteResponse changeSituacaoEmLote(Set<Integer> ids, String situacaoId) {
+        SituacaoResponse situacao = catalog.findSituacao(situacaoId);
 
-        cartorio.adicionarAtribuicao(Atribuicao.builder()
-                .id(atribuicao.getId())
-                .nome(atribuicao.getNome())
-                .situacao(atribuicao.isSituacao())
-                .build());
+        Map<Integer, String> anteriores = batchRepository.updateSituacao(ids, situacao.getId());
+        statistics.situacoesAlteradas(anteriores.values(), situacao.getId());
 
-        return CartorioResponse.fromEntity(repository.save(cartorio));
+        List<Integer> alterados = ordenados(anteriores.keySet());
+        Map<Integer, Object> eventos = new LinkedHashMap<>();
+        alterados.forEach(alterado -> eventos.put(alterado, Map.of("id", alterado, "situacao", situacao)));
+        registrar(OperacaoEvento.ALTERACAO_SITUACAO, eventos);
+
+        Set<Integer> restantes = new HashSet<>(ids);
+        restantes.removeAll(anteriores.keySet());
+        Set<Integer> inalterados = batchRepository.findExistingIds(restantes);
+        restantes.removeAll(inalterados);
+
+        return new AlteracaoSituacaoEmLoteResponse(alterados, ordenados(inalterados), ordenados(restantes));
     }
 
     @Transactional
-    public CartorioResponse removeAtribuicao(Integer id, String atribuicaoId) {
-        Cartorio cartorio = findOrFail(id);
-        AtribuicaoResponse atribuicao = atribuicaoService.findById(atribuicaoId);
+    public CartorioResponse addAtribuicao(Integer id, String atribuicaoId, Set<Long> versoesEsperadas) {
+        Cartorio cartorio = findOrFail(id, versoesEsperadas);
+        AtribuicaoResponse atribuicao = catalog.findAtribuicao(atribuicaoId);
 
-        cartorio.removerAtribuicao(Atribuicao.builder()
-                .id(atribuicao.getId())
-                .nome(atribuicao.getNome())
-                .situacao(atribuicao.isSituacao())
-                .build());
+        boolean incluida = cartorio.adicionarAtribuicao(referencia(atribuicao));
+        if (incluida) {
+            statistics.atribuicaoIncluida(atribuicao.getId());
+        }
 
-        return CartorioResponse.fromEntity(repository.save(cartorio));
+        return flush(cartorio);
+    }
+
+    @Transactional
+    public CartorioResponse removeAtribuicao(Integer id, String atribuicaoId, Set<Long> versoesEsperadas) {
+        Cartorio cartorio = findOrFail(id, versoesEsperadas);
+        AtribuicaoResponse atribuicao = catalog.findAtribuicao(atribuicaoId);
+
+        boolean removida = cartorio.removerAtribuicao(referencia(atribuicao));
+        if (removida) {
+            statistics.atribuicaoRemovida(atribuicao.getId());
+        }
+
+        return flush(cartorio);
+    }
+
+    @Transactional
+    public CartorioResponse replaceAtribuicoes(Integer id, Set<String> atribuicoesIds, Set<Long> versoesEsperadas) {
+        Cartorio cartorio = findOrFail(id, versoesEsperadas);
+        return changeAtribuicoes(cartorio, atribuicoesIds);
+    }
+
+    @Transactional
+    public CartorioResponse changeAtribuicoes(Integer id, Set<String> incluir, Set<String> remover,
+                                              Set<Long> versoesEsperadas) {
+        Set<String> incluidas = incluir != null ? incluir : Set.of();
+        Set<String> removidas = remover != null ? remover : Set.of();
+
+        String conflitantes = incluidas.stream()
+                .filter(removidas::contains)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        if (!conflitantes.isEmpty()) {
+            throw new BusinessException("Atribuições informadas para inclusão e remoção: " + conflitantes);
+        }
+
+        Cartorio cartorio = findOrFail(id, versoesEsperadas);
+
+        Set<String> atribuicoesIds = cartorio.getAtribuicoes().stream()
+                .map(Atribuicao::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+        Set<String> naoVinculadas = removidas.stream()
+                .filter(atribuicao -> !atribuicoesIds.contains(atribuicao))
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (!naoVinculadas.isEmpty()) {
+            // inexistentes respondem como na inclusão; as demais existem, mas não estão no cartório
+            catalog.findAtribuicoes(naoVinculadas);
+            throw new BusinessException("Atribuições não vinculadas ao cartório: " + String.join(", ", naoVinculadas));
+        }
+
+        atribuicoesIds.addAll(incluidas);
+        atribuicoesIds.removeAll(removidas);
+
+        return changeAtribuicoes(cartorio, atribuicoesIds);
     }
 
     @Transactional(readOnly = true)
@@ -109,15 +208,81 @@ public class CartorioService {
     }
 
     @Transactional(readOnly = true)
-    public Page<CartorioResponseMin> listAll(Pageable pageable) {
-        Page<Cartorio> cartorios = repository.findAll(pageable);
-        return new PageImpl<>(
-                cartorios.getContent().stream()
-                        .map(CartorioResponseMin::fromEntity)
-                        .collect(Collectors.toList()),
-                pageable,
-                cartorios.getTotalElements()
-        );
+    public Page<CartorioResponseMin> listAll(CartorioFiltro filtro, Pageable pageable) {
+        return filtro.isVazio() ? repository.findPageMin(pageable) : repository.findPageMin(filtro, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<CartorioResponseMin> listSlice(CartorioFiltro filtro, Pageable pageable) {
+        return filtro.isVazio() ? repository.findSliceMin(pageable) : repository.findSliceMin(filtro, pageable);
+    }
+
+    public Page<CartorioResponseMin> search(String consulta, Pageable pageable) {
+        return searchIndex.search(consulta, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CartorioCursorResponse listByCursor(String after, int size) {
+        int limite = Math.min(Math.max(size, 1), TAMANHO_MAXIMO_CURSOR);
+        Pageable pageable = PageRequest.of(0, limite + 1);
+
+        List<CartorioResponseMin> cartorios;
+        if (after == null || after.isBlank()) {
+            cartorios = repository.findPrimeirosPorNome(pageable);
+        } else {
+            CartorioCursor cursor = CartorioCursor.decode(after);
+            cartorios = repository.findProximosPorNome(cursor.getNome(), cursor.getId(), pageable);
+        }
+
+        if (cartorios.size() <= limite) {
+            return new CartorioCursorResponse(cartorios, null);
+        }
+
+        List<CartorioResponseMin> pagina = cartorios.subList(0, limite);
+        return new CartorioCursorResponse(pagina, CartorioCursor.of(pagina.get(limite - 1)).encode());
+    }
+
+    /**
+     * Devolve os cartórios incluídos ou alterados e os ids excluídos após o token, na ordem em que as alterações foram
+     * confirmadas. Sem token a sincronização começa do início e inclui todos os cartórios existentes. O próximo token é
+     * sempre devolvido, mesmo sem alterações, para ser guardado e reapresentado na próxima sincronização.
+     * <p>
+     * Cada cartório aparece uma vez, com o estado atual: se foi alterado de novo depois de lido, volta a aparecer em uma
+     * sincronização seguinte.
+     */
+    @Transactional(readOnly = true)
+    public CartorioAlteracoesResponse listChanges(String since, int size) {
+        int limite = Math.min(Math.max(size, 1), TAMANHO_MAXIMO_CURSOR);
+        CartorioRevisao apos = since == null || since.isBlank() ? CartorioRevisao.INICIO : CartorioRevisao.decode(since);
+
+        List<CartorioRevisao> revisoes = batchRepository.findAlteracoes(apos, limite + 1);
+        boolean hasNext = revisoes.size() > limite;
+        if (hasNext) {
+            revisoes = revisoes.subList(0, limite);
+        }
+
+        List<Integer> alteradosIds = new ArrayList<>();
+        List<Integer> excluidos = new ArrayList<>();
+        for (CartorioRevisao revisao : revisoes) {
+            if (revisao.isExcluido()) {
+                excluidos.add(revisao.getId());
+            } else {
+                alteradosIds.add(revisao.getId());
+            }
+        }
+
+        Map<Integer, CartorioResponse> cartorios = alteradosIds.isEmpty() ? Map.of() :
+                repository.findDistinctDetalhadosByIdIn(alteradosIds).stream()
+                        .map(CartorioResponse::fromEntity)
+                        .collect(Collectors.toMap(CartorioResponse::getId, Function.identity()));
+        // um cartório excluído entre as duas consultas é omitido; a exclusão chega na próxima sincronização
+        List<CartorioResponse> alterados = alteradosIds.stream()
+                .map(cartorios::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        CartorioRevisao ultima = revisoes.isEmpty() ? apos : revisoes.get(revisoes.size() - 1);
+        return new CartorioAlteracoesResponse(alterados, excluidos, ultima.encode(), hasNext);
     }
 
     @Transactional
@@ -126,24 +291,108 @@ public class CartorioService {
         try {
             repository.delete(cartorio);
             repository.flush();
-        } catch (Exception e) {
+        } catch (DataIntegrityViolationException e) {
             throw new IntegrityConstraintException("Registro utilizado em outro cadastro.");
         }
+        statistics.cartorioRemovido(cartorio);
+        registrar(OperacaoEvento.EXCLUSAO, Collections.singletonMap(id, null));
+        searchIndex.remove(id);
+    }
+
+    /**
+     * Aplica o conjunto final de atribuições de uma vez: as que o cartório já tem são mantidas sem nova consulta e só
+     * as novas são buscadas no catálogo, que rejeita inexistentes e inativas. O Hibernate grava apenas a diferença
+     * na tabela de associação.
+     */
+    private CartorioResponse changeAtribuicoes(Cartorio cartorio, Set<String> atribuicoesIds) {
+        Set<String> novas = new HashSet<>(atribuicoesIds);
+        Set<String> removidas = new HashSet<>();
+        Set<Atribuicao> atribuicoes = new HashSet<>();
+        for (Atribuicao atual : cartorio.getAtribuicoes()) {
+            if (novas.remove(atual.getId())) {
+                atribuicoes.add(atual);
+            } else {
+                removidas.add(atual.getId());
+            }
+        }
+
+        if (!novas.isEmpty()) {
+            catalog.findAtribuicoesAtivas(novas).stream()
+                    .map(this::referencia)
+                    .forEach(atribuicoes::add);
+        }
+
+        cartorio.changeAtribuicoes(atribuicoes);
+        statistics.atribuicoesAlteradas(novas, removidas);
+
+        return flush(cartorio);
     }
 
     private Cartorio findOrFail(Integer id) {
-        return repository.findById(id)
+        return repository.findDetalhadoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cartório não encontrado: " + id));
     }
 
-    private void validateDuplicateId(Integer id) {
-        if (repository.existsById(id)) {
-            throw new DuplicateResourceException("Registro já cadastrado");
+    private Cartorio findOrFail(Integer id, Set<Long> versoesEsperadas) {
+        Cartorio cartorio = findOrFail(id);
+        if (versoesEsperadas != null && !versoesEsperadas.contains(cartorio.getVersao())) {
+            throw new PreconditionFailedException("O cartório foi alterado por outra requisição");
+        }
+        return cartorio;
+    }
+
+    /**
+     * Sincroniza a alteração antes de montar a resposta, para que a versão devolvida no ETag já seja a nova, e registra
+     * o cartório alterado no outbox.
+     */
+    private CartorioResponse flush(Cartorio cartorio) {
+        repository.flush();
+        CartorioResponse response = toResponse(cartorio);
+        registrar(OperacaoEvento.ALTERACAO, Collections.singletonMap(response.getId(), response));
+        return response;
+    }
+
+    /**
+     * Registra os eventos dos cartórios no outbox e usa a sequência de cada um como a sua revisão para a sincronização
+     * incremental: cartórios incluídos ou alterados a gravam na própria linha, excluídos na tabela de exclusões. Uma
+     * inclusão descarta a exclusão anterior do mesmo id.
+     */
+    void registrar(OperacaoEvento operacao, Map<Integer, ?> dadosPorId) {
+        if (dadosPorId.isEmpty()) {
+            return;
         }
+
+        long sequencia = outbox.registrar(RecursoEvento.CARTORIO, operacao, dadosPorId);
+        Map<Integer, Long> revisoes = new LinkedHashMap<>();
+        for (Integer id : dadosPorId.keySet()) {
+            revisoes.put(id, sequencia++);
+        }
+
+        if (operacao == OperacaoEvento.EXCLUSAO) {
+            batchRepository.insertExclusoes(revisoes);
+            return;
+        }
+        if (operacao == OperacaoEvento.INCLUSAO) {
+            batchRepository.deleteExclusoes(revisoes.keySet());
+        }
+        batchRepository.updateRevisoes(revisoes);
+    }
+
+    private RuntimeException duplicidade(DataIntegrityViolationException e, Cartorio cartorio) {
+        if (ConstraintViolations.violou(e, ConstraintViolations.CHAVE_PRIMARIA)) {
+            return new DuplicateResourceException("Registro já cadastrado");
+        }
+        if (ConstraintViolations.violou(e, "uk_cartorios_nome_normalizado")) {
+            return repository.findByNomeNormalizado(cartorio.getNomeNormalizado())
+                    .map(existente -> new DuplicateResourceException(
+                            String.format("Nome já informado no registro com código %d", existente.getId())))
+                    .orElseGet(() -> new DuplicateResourceException("Nome já informado em outro registro"));
+        }
+        return e;
     }
 
     private void validateDuplicateNome(String nome) {
-        repository.findByNomeIgnoreCase(nome)
+        repository.findByNomeNormalizado(TextNormalizer.normalize(nome))
                 .ifPresent(cartorio -> {
                     throw new DuplicateResourceException(
                             String.format("Nome já informado no registro com código %d", cartorio.getId())
@@ -151,28 +400,71 @@ public class CartorioService {
                 });
     }
 
-    private Cartorio toEntity(CreateCartorioRequest dto) {
-        SituacaoResponse situacao = situacaoService.findById(dto.getSituacaoId());
+    private static List<Integer> ordenados(Set<Integer> ids) {
+        return ids.stream()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Referências às situações e atribuições já validadas pelo catálogo: o Hibernate grava só a chave estrangeira, sem
+     * consultar a linha referenciada.
+     */
+    private Situacao referencia(SituacaoResponse situacao) {
+        return entityManager.getReference(Situacao.class, situacao.getId());
+    }
+
+    private Atribuicao referencia(AtribuicaoResponse atribuicao) {
+        return entityManager.getReference(Atribuicao.class, atribuicao.getId());
+    }
 
-        Set<Atribuicao> atribuicoes = dto.getAtribuicoesIds().stream()
-                .map(atribuicaoService::findById)
-                .map(atribuicaoDTO -> Atribuicao.builder()
-                        .id(atribuicaoDTO.getId())
-                        .nome(atribuicaoDTO.getNome())
-                        .situacao(atribuicaoDTO.isSituacao())
-                        .build()
-                )
+    /**
+     * Monta a resposta sem carregar as referências: situação e atribuições ainda não carregadas vêm do catálogo.
+     */
+    private CartorioResponse toResponse(Cartorio cartorio) {
+        Situacao situacao = cartorio.getSituacao();
+        Set<AtribuicaoResponse> atribuicoes = cartorio.getAtribuicoes().stream()
+                .map(atribuicao -> Hibernate.isInitialized(atribuicao)
+                        ? AtribuicaoResponse.fromEntity(atribuicao)
+                        : catalog.findAtribuicao(atribuicao.getId()))
                 .collect(Collectors.toSet());
+        return CartorioResponse.of(cartorio,
+                Hibernate.isInitialized(situacao)
+                        ? SituacaoResponse.fromEntity(situacao)
+                        : catalog.findSituacao(situacao.getId()),
+                atribuicoes);
+    }
+
+    /**
+     * Cartório com cópias desligadas da situação e das atribuições do catálogo, para a importação, que grava via JDBC
+     * e monta os eventos a partir da própria entidade.
+     */
+    Cartorio toEntity(CreateCartorioRequest dto) {
+        return toEntity(dto,
+                situacao -> Situacao.builder()
+                        .id(situacao.getId())
+                        .nome(situacao.getNome())
+                        .build(),
+                atribuicao -> Atribuicao.builder()
+                        .id(atribuicao.getId())
+                        .nome(atribuicao.getNome())
+                        .situacao(atribuicao.isSituacao())
+                        .build());
+    }
+
+    private Cartorio toEntity(CreateCartorioRequest dto,
+                              Function<SituacaoResponse, Situacao> situacoes,
+                              Function<AtribuicaoResponse, Atribuicao> atribuicoes) {
+        SituacaoResponse situacao = catalog.findSituacao(dto.getSituacaoId());
 
         return Cartorio.builder()
                 .id(dto.getId())
                 .nome(dto.getNome())
                 .observacao(dto.getObservacao())
-                .situacao(Situacao.builder()
-                        .id(situacao.getId())
-                        .nome(situacao.getNome())
-                        .build())
-                .atribuicoes(atribuicoes)
+                .situacao(situacoes.apply(situacao))
+                .atribuicoes(catalog.findAtribuicoesAtivas(dto.getAtribuicoesIds()).stream()
+                        .map(atribuicoes)
+                        .collect(Collectors.toSet()))
                 .build();
     }
 
@@ -0,0 +1,146 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.domain.repositories.CartorioCounterRepository;
+import dev.dluks.escriba.domain.repositories.CartorioCounterRepository.Tipo;
+import dev.dluks.escriba.dtos.cartorio.CartorioEstatisticasResponse;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Quantidade de cartórios por situação e por atribuição a partir de contadores, sem percorrer os cartórios.
+ * <p>
+ * Os contadores são atualizados pelos fluxos de escrita de cartórios na mesma transação da alteração e
+ * reconciliados periodicamente com uma contagem direta nas tabelas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "escriba.service", histogram = true)
+public class CartorioStatisticsService {
+
+    private final CartorioCounterRepository repository;
+
+    @Transactional(readOnly = true)
+    public CartorioEstatisticasResponse estatisticas() {
+        return new CartorioEstatisticasResponse(
+                repository.findContagens(Tipo.SITUACAO),
+                repository.findContagens(Tipo.ATRIBUICAO));
+    }
+
+    public void cartorioIncluido(Cartorio cartorio) {
+        cartoriosIncluidos(List.of(cartorio));
+    }
+
+    public void cartoriosIncluidos(Collection<Cartorio> cartorios) {
+        aplicar(cartorios, 1);
+    }
+
+    public void cartorioRemovido(Cartorio cartorio) {
+        aplicar(List.of(cartorio), -1);
+    }
+
+    public void situacaoAlterada(String anterior, String nova) {
+        situacoesAlteradas(List.of(anterior), nova);
+    }
+
+    /**
+     * Move para a situação nova um cartório de cada situação anterior informada.
+     */
+    public void situacoesAlteradas(Collection<String> anteriores, String nova) {
+        SortedMap<String, Long> situacoes = new TreeMap<>();
+        for (String anterior : anteriores) {
+            if (!anterior.equals(nova)) {
+                situacoes.merge(anterior, -1L, Long::sum);
+                situacoes.merge(nova, 1L, Long::sum);
+            }
+        }
+        if (!situacoes.isEmpty()) {
+            repository.incrementar(Tipo.SITUACAO, situacoes);
+        }
+    }
+
+    public void atribuicaoIncluida(String atribuicaoId) {
+        atribuicoesAlteradas(Set.of(atribuicaoId), Set.of());
+    }
+
+    public void atribuicaoRemovida(String atribuicaoId) {
+        atribuicoesAlteradas(Set.of(), Set.of(atribuicaoId));
+    }
+
+    public void atribuicoesAlteradas(Set<String> incluidas, Set<String> removidas) {
+        SortedMap<String, Long> atribuicoes = new TreeMap<>();
+        incluidas.forEach(id -> atribuicoes.merge(id, 1L, Long::sum));
+        removidas.forEach(id -> atribuicoes.merge(id, -1L, Long::sum));
+        repository.incrementar(Tipo.ATRIBUICAO, atribuicoes);
+    }
+
+    /**
+     * Recalcula os contadores a partir das tabelas e corrige os divergentes, reunindo as faixas de cada um. Os
+     * contadores são travados antes da contagem, de modo que escritas em andamento terminam antes e as novas aguardam
+     * o fim da reconciliação; só a escrita que cria a linha de uma faixa não aguarda, e uma diferença deixada por ela
+     * é corrigida na reconciliação seguinte.
+     *
+     * @return quantidade de contadores corrigidos
+     */
+    @Scheduled(fixedDelayString = "${escriba.estatisticas.reconciliacao:PT15M}",
+            initialDelayString = "${escriba.estatisticas.reconciliacao:PT15M}")
+    @Transactional
+    public int reconciliar() {
+        int corrigidos = 0;
+        for (Tipo tipo : Tipo.values()) {
+            Map<String, Long> contadores = repository.lockContadores(tipo);
+            Map<String, Long> contados = repository.countCartorios(tipo);
+
+            Map<String, Long> divergentes = new TreeMap<>();
+            contados.forEach((id, quantidade) -> {
+                if (!quantidade.equals(contadores.get(id))) {
+                    divergentes.put(id, quantidade);
+                }
+            });
+            contadores.forEach((id, quantidade) -> {
+                if (quantidade != 0 && !contados.containsKey(id)) {
+                    divergentes.put(id, 0L);
+                }
+            });
+
+            if (!divergentes.isEmpty()) {
+                log.warn("Reconciliação corrigiu {} contador(es) de cartórios por {}: {}", divergentes.size(), tipo,
+                        divergentes.keySet());
+                repository.definir(tipo, divergentes);
+                corrigidos += divergentes.size();
+            }
+        }
+        return corrigidos;
+    }
+
+    /**
+     * Situações antes de atribuições e cada grupo em ordem de id: a mesma ordem de travamento em todas as escritas.
+     */
+    private void aplicar(Collection<Cartorio> cartorios, long sinal) {
+        SortedMap<String, Long> situacoes = new TreeMap<>();
+        SortedMap<String, Long> atribuicoes = new TreeMap<>();
+        for (Cartorio cartorio : cartorios) {
+            situacoes.merge(cartorio.getSituacao().getId(), sinal, Long::sum);
+            for (Atribuicao atribuicao : cartorio.getAtribuicoes()) {
+                atribuicoes.merge(atribuicao.getId(), sinal, Long::sum);
+            }
+        }
+
+        repository.incrementar(Tipo.SITUACAO, situacoes);
+        repository.incrementar(Tipo.ATRIBUICAO, atribuicoes);
+    }
+
+}
@@ -0,0 +1,107 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import dev.dluks.escriba.domain.repositories.DatabaseMaintenanceRepository;
+import dev.dluks.escriba.dtos.banco.BackupResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Checkpoint e cópias de segurança online do banco em arquivo (perfil {@code prod}). Com o banco em memória as
+ * operações são rejeitadas, já que não há arquivo a gravar nem a copiar.
+ */
+@Slf4j
+@Service
+public class DatabaseBackupService {
+
+    static final String PREFIXO = "cartoriodb-";
+    static final String EXTENSAO = ".zip";
+
+    private static final DateTimeFormatter FORMATO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final DatabaseMaintenanceRepository repository;
+    private final Path diretorio;
+    private final int copias;
+
+    public DatabaseBackupService(DatabaseMaintenanceRepository repository,
+                                 @Value("${escriba.backup.diretorio:./data/backup}") String diretorio,
+                                 @Value("${escriba.backup.copias:7}") int copias) {
+        this.repository = repository;
+        this.diretorio = Paths.get(diretorio).toAbsolutePath().normalize();
+        this.copias = copias;
+    }
+
+    public void checkpoint() {
+        exigirArquivo();
+        repository.checkpoint();
+    }
+
+    /**
+     * Gera uma cópia do banco no diretório de backup e apaga as mais antigas além da quantidade mantida. As cópias
+     * são feitas uma de cada vez; as escritas continuam durante a cópia.
+     */
+    public synchronized BackupResponse backup() {
+        exigirArquivo();
+
+        LocalDateTime criadoEm = LocalDateTime.now();
+        Path arquivo = diretorio.resolve(PREFIXO + FORMATO.format(criadoEm) + EXTENSAO);
+        long inicio = System.nanoTime();
+        try {
+            Files.createDirectories(diretorio);
+            repository.backup(arquivo);
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            long tamanho = Files.size(arquivo);
+            log.info("Backup do banco gravado em {} ({} bytes em {} ms)", arquivo, tamanho, duracaoMs);
+
+            expurgarCopias();
+            return new BackupResponse(arquivo.getFileName().toString(), tamanho, duracaoMs, criadoEm);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o backup em " + arquivo, e);
+        }
+    }
+
+    @Scheduled(cron = "${escriba.backup.agendamento:-}")
+    public void backupAgendado() {
+        backup();
+    }
+
+    private void exigirArquivo() {
+        if (repository.findCaminho() == null) {
+            throw new BusinessException("O banco está em memória; checkpoint e backup exigem o perfil prod");
+        }
+    }
+
+    /**
+     * Os nomes carregam o instante da cópia, então a ordem alfabética é a cronológica.
+     */
+    private void expurgarCopias() throws IOException {
+        if (copias <= 0) {
+            return;
+        }
+
+        List<Path> existentes = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, PREFIXO + "*" + EXTENSAO)) {
+            arquivos.forEach(existentes::add);
+        }
+        existentes.sort(Comparator.reverseOrder());
+        for (Path antigo : existentes.subList(Math.min(copias, existentes.size()), existentes.size())) {
+            Files.deleteIfExists(antigo);
+            log.info("Backup antigo removido: {}", antigo);
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package dev.dluks.escriba.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dluks.escriba.domain.repositories.EventoRepository;
+import dev.dluks.escriba.dtos.evento.EventoResponse;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registra os eventos de alteração de cartórios, situações e atribuições no outbox, na mesma transação da escrita:
+ * um evento só existe se a alteração foi confirmada, e toda alteração confirmada tem o seu evento.
+ * <p>
+ * A reserva das sequências trava o contador até o commit, por isso deve ser a última escrita da transação, salvo
+ * as que voltam aos registros que ela própria já travou. As alterações pendentes no contexto de persistência são
+ * sincronizadas antes, para que nenhum outro travamento seja pedido enquanto o contador está preso.
+ * <p>
+ * O travamento serializa as escritas apenas nesse trecho final (eventos, revisões e commit) e é o que permite
+ * retomar o fluxo SSE e a sincronização de cartórios só pela última sequência vista: as sequências chegam contínuas
+ * e na ordem de commit. Com uma sequence do banco, uma transação poderia confirmar depois de outra que reservou um
+ * valor maior, e o consumidor que já avançou além dele perderia o evento. O custo é acompanhado pelo timer
+ * {@value #METRICA}: {@code fase=espera} é o tempo até obter a reserva, quase todo esperando quem a detém, e
+ * {@code fase=retencao} é o tempo da reserva até o fim da transação, durante o qual as demais esperam.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    static final String METRICA = "escriba.eventos.sequencia";
+
+    private final EventoRepository repository;
+    private final EventStream stream;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${escriba.eventos.retencao:P7D}")
+    private Duration retencao;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long registrar(RecursoEvento recurso, OperacaoEvento operacao, Object id, Object dados) {
+        return registrar(recurso, operacao, Collections.singletonMap(id, dados));
+    }
+
+    /**
+     * Registra um evento por registro, na ordem de iteração do mapa de dados por id.
+     *
+     * @return a sequência do primeiro evento; os demais seguem em ordem, sem lacunas. 0 se não houver registros
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long registrar(RecursoEvento recurso, OperacaoEvento operacao, Map<?, ?> dadosPorId) {
+        if (dadosPorId.isEmpty()) {
+            return 0;
+        }
+
+        entityManager.flush();
+        long inicio = System.nanoTime();
+        long primeira = repository.reservar(dadosPorId.size());
+        long reservada = System.nanoTime();
+        timer("espera").record(Duration.ofNanos(reservada - inicio));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                timer("retencao").record(Duration.ofNanos(System.nanoTime() - reservada));
+            }
+        });
+        long sequencia = primeira;
+        LocalDateTime registradoEm = LocalDateTime.now();
+
+        List<EventoResponse> eventos = new ArrayList<>(dadosPorId.size());
+        for (Map.Entry<?, ?> registro : dadosPorId.entrySet()) {
+            eventos.add(new EventoResponse(sequencia++, recurso, operacao, String.valueOf(registro.getKey()),
+                    toJson(registro.getValue()), registradoEm));
+        }
+        repository.insertAll(eventos);
+
+        AfterCommit.run(stream::notificar);
+        return primeira;
+    }
+
+    /**
+     * Remove os eventos mais antigos que o período de retenção. Quem retomar o fluxo a partir de um deles recebe
+     * 410 e precisa reler os cadastros.
+     *
+     * @return quantidade de eventos removidos
+     */
+    @Scheduled(fixedDelayString = "${escriba.eventos.expurgo:PT1H}",
+            initialDelayString = "${escriba.eventos.expurgo:PT1H}")
+    @Transactional
+    public int expurgar() {
+        int removidos = repository.deleteAnteriores(LocalDateTime.now().minus(retencao));
+        if (removidos > 0) {
+            log.info("Expurgo removeu {} evento(s) com mais de {}", removidos, retencao);
+        }
+        return removidos;
+    }
+
+    private Timer timer(String fase) {
+        return Timer.builder(METRICA)
+                .description("Reserva de sequências de eventos, que trava o contador até o fim da transação")
+                .tag("fase", fase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private String toJson(Object dados) {
+        if (dados == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(dados);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Dados do evento não serializáveis", e);
+        }
+    }
+
+}
@@ -0,0 +1,243 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import dev.dluks.escriba.domain.exceptions.ResourceGoneException;
+import dev.dluks.escriba.domain.repositories.EventoRepository;
+import dev.dluks.escriba.dtos.evento.EventoResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entrega os eventos do outbox às conexões SSE abertas.
+ * <p>
+ * Uma única thread lê o outbox a partir da menor sequência entre as conexões e enfileira para cada uma os eventos que
+ * ela ainda não recebeu, então conexões em dia custam uma consulta por rodada, seja qual for a quantidade. A leitura é
+ * acionada após o commit das escritas, quando uma conexão é aberta e periodicamente, junto com o comentário que mantém
+ * vivas as conexões ociosas.
+ * <p>
+ * Cada conexão tem uma fila limitada, esvaziada por uma tarefa própria, para que um cliente lento não atrase os
+ * demais. Se a fila enche, a conexão é encerrada e o cliente retoma pelo {@code Last-Event-ID}.
+ */
+@Slf4j
+@Service
+public class EventStream {
+
+    private final EventoRepository repository;
+    private final long timeout;
+    private final int tamanhoLote;
+    private final int tamanhoFila;
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean entregaPendente = new AtomicBoolean();
+    private final ExecutorService entregador = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "escriba-eventos");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService remetentes = Executors.newCachedThreadPool(tarefa -> {
+        Thread thread = new Thread(tarefa, "escriba-eventos-envio");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EventStream(EventoRepository repository,
+                       @Value("${escriba.eventos.conexao:PT30M}") Duration conexao,
+                       @Value("${escriba.eventos.lote:500}") int tamanhoLote,
+                       @Value("${escriba.eventos.fila:1000}") int tamanhoFila) {
+        this.repository = repository;
+        this.timeout = conexao.toMillis();
+        this.tamanhoLote = tamanhoLote;
+        this.tamanhoFila = tamanhoFila;
+    }
+
+    /**
+     * Abre uma conexão que recebe os eventos com sequência maior que a informada, ou apenas os novos se ela for
+     * {@code null}. Ao expirar a conexão o cliente reconecta com o {@code Last-Event-ID} e continua de onde parou.
+     */
+    public SseEmitter assinar(Long apos) {
+        if (apos != null && apos < 0) {
+            throw new BusinessException("A sequência deve ser maior ou igual a zero");
+        }
+
+        long ultima = repository.findUltimaSequencia();
+        long inicio = apos != null ? apos : ultima;
+        if (inicio > ultima) {
+            throw new ResourceGoneException(String.format(
+                    "Sequência %d desconhecida; a última registrada é %d", inicio, ultima));
+        }
+        if (inicio < ultima) {
+            Long primeira = repository.findPrimeiraSequencia();
+            if (primeira == null || primeira > inicio + 1) {
+                throw new ResourceGoneException(String.format(
+                        "Os eventos após a sequência %d não estão mais disponíveis", inicio));
+            }
+        }
+
+        SseEmitter emitter = criarEmitter(timeout);
+        Assinante assinante = new Assinante(emitter, inicio);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(erro -> assinantes.remove(assinante));
+        assinantes.add(assinante);
+
+        notificar();
+        return emitter;
+    }
+
+    /**
+     * Agenda uma rodada de entrega; chamadas feitas enquanto uma rodada aguarda a vez são atendidas por ela.
+     */
+    public void notificar() {
+        if (entregaPendente.compareAndSet(false, true)) {
+            entregador.execute(this::entregar);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${escriba.eventos.heartbeat:PT15S}")
+    public void manterConexoes() {
+        entregador.execute(() -> assinantes.forEach(Assinante::heartbeat));
+        notificar();
+    }
+
+    int getAssinantes() {
+        return assinantes.size();
+    }
+
+    SseEmitter criarEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        entregador.shutdownNow();
+        remetentes.shutdownNow();
+        assinantes.forEach(assinante -> assinante.emitter.complete());
+    }
+
+    private void entregar() {
+        entregaPendente.set(false);
+        try {
+            while (!assinantes.isEmpty()) {
+                long menor = assinantes.stream()
+                        .mapToLong(assinante -> assinante.ultimaSequencia)
+                        .min()
+                        .getAsLong();
+                List<EventoResponse> eventos = repository.findApos(menor, tamanhoLote);
+                assinantes.forEach(assinante -> assinante.enviar(eventos));
+                if (eventos.size() < tamanhoLote) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao entregar eventos às conexões abertas", e);
+        }
+    }
+
+    /**
+     * Conexão aberta, a última sequência enfileirada para ela pela thread de leitura e a fila que a sua tarefa de
+     * envio esvazia. Só a tarefa de envio escreve no emitter, então um envio bloqueado não prende a leitura.
+     */
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> fila;
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private volatile boolean descartado;
+        private boolean encerrado;
+        private long ultimaSequencia;
+
+        private Assinante(SseEmitter emitter, long ultimaSequencia) {
+            this.emitter = emitter;
+            this.fila = new ArrayBlockingQueue<>(tamanhoFila);
+            this.ultimaSequencia = ultimaSequencia;
+        }
+
+        private void enviar(List<EventoResponse> eventos) {
+            for (EventoResponse evento : eventos) {
+                if (evento.getSequencia() > ultimaSequencia) {
+                    if (!enfileirar(SseEmitter.event()
+                            .id(String.valueOf(evento.getSequencia()))
+                            .data(evento, MediaType.APPLICATION_JSON))) {
+                        return;
+                    }
+                    ultimaSequencia = evento.getSequencia();
+                }
+            }
+        }
+
+        private boolean enfileirar(SseEmitter.SseEventBuilder evento) {
+            if (descartado) {
+                return false;
+            }
+            if (!fila.offer(evento)) {
+                log.warn("Conexão de eventos encerrada: {} eventos aguardando envio", fila.size());
+                descartar();
+                return false;
+            }
+            agendarEnvio();
+            return true;
+        }
+
+        private void heartbeat() {
+            enfileirar(SseEmitter.event().comment(""));
+        }
+
+        private void descartar() {
+            descartado = true;
+            assinantes.remove(this);
+            fila.clear();
+            agendarEnvio();
+        }
+
+        private void agendarEnvio() {
+            if (enviando.compareAndSet(false, true)) {
+                try {
+                    remetentes.execute(this::esvaziar);
+                } catch (RejectedExecutionException e) {
+                    enviando.set(false);
+                }
+            }
+        }
+
+        private void esvaziar() {
+            try {
+                SseEmitter.SseEventBuilder evento;
+                while (!descartado && (evento = fila.poll()) != null) {
+                    emitter.send(evento);
+                }
+                if (descartado && !encerrado) {
+                    encerrado = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // conexão encerrada pelo cliente; o contêiner notifica o emitter, que deixa de ser assinante
+                descartado = true;
+                encerrado = true;
+                assinantes.remove(this);
+                fila.clear();
+            } finally {
+                enviando.set(false);
+            }
+            if (descartado ? !encerrado : !fila.isEmpty()) {
+                agendarEnvio();
+            }
+        }
+    }
+
+}
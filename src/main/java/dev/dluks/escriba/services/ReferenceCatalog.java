@@ -0,0 +1,223 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
+import dev.dluks.escriba.domain.repositories.AtribuicaoRepository;
+import dev.dluks.escriba.domain.repositories.SituacaoRepository;
+import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponse;
+import dev.dluks.escriba.dtos.situacao.SituacaoResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cópia imutável em memória das situações e atribuições consultadas pelos fluxos de escrita de cartórios.
+ * <p>
+ * O snapshot é substituído por inteiro (copy-on-write) após o commit das alterações feitas por
+ * {@link SituacaoService} e {@link AtribuicaoService}. Registros ausentes do snapshot são buscados no banco
+ * e incorporados a ele apenas se continuarem ausentes: a leitura pode ter visto uma versão anterior à que um commit
+ * concorrente acabou de publicar, e essa deve prevalecer. Pelo mesmo motivo a leitura só é incorporada se nenhuma
+ * remoção foi publicada desde que ela começou; do contrário um registro excluído por um commit concorrente voltaria ao
+ * catálogo. Nesse caso a leitura ainda responde a consulta que a fez e o registro é buscado de novo na próxima.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceCatalog {
+
+    private final SituacaoRepository situacaoRepository;
+    private final AtribuicaoRepository atribuicaoRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), 0);
+
+    /**
+     * Conta como remoção: uma leitura iniciada antes da recarga pode ter visto registros que a recarga já não vê.
+     */
+    @PostConstruct
+    public void reload() {
+        Map<String, SituacaoResponse> situacoes = situacaoRepository.findAll().stream()
+                .map(SituacaoResponse::fromEntity)
+                .collect(Collectors.toMap(SituacaoResponse::getId, Function.identity()));
+        Map<String, AtribuicaoResponse> atribuicoes = atribuicaoRepository.findAll().stream()
+                .map(AtribuicaoResponse::fromEntity)
+                .collect(Collectors.toMap(AtribuicaoResponse::getId, Function.identity()));
+        remove(atuais -> {
+            atuais.clear();
+            atuais.putAll(situacoes);
+        }, atuais -> {
+            atuais.clear();
+            atuais.putAll(atribuicoes);
+        });
+    }
+
+    public SituacaoResponse findSituacao(String id) {
+        Snapshot lido = snapshot;
+        SituacaoResponse situacao = lido.situacoes.get(id);
+        if (situacao != null) {
+            return situacao;
+        }
+
+        situacao = situacaoRepository.findById(id)
+                .map(SituacaoResponse::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("Situação não encontrada com o id: " + id));
+        return incorporar(lido.remocoes, situacao);
+    }
+
+    public AtribuicaoResponse findAtribuicao(String id) {
+        Snapshot lido = snapshot;
+        AtribuicaoResponse atribuicao = lido.atribuicoes.get(id);
+        if (atribuicao != null) {
+            return atribuicao;
+        }
+
+        atribuicao = atribuicaoRepository.findById(id)
+                .map(AtribuicaoResponse::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("Atribuição não encontrada: " + id));
+        return incorporar(lido.remocoes, atribuicao);
+    }
+
+    public List<AtribuicaoResponse> findAtribuicoes(Set<String> ids) {
+        Snapshot lido = snapshot;
+        Map<String, AtribuicaoResponse> atribuicoes = lido.atribuicoes.keySet().containsAll(ids)
+                ? lido.atribuicoes
+                : loadAtribuicoes(lido.remocoes, ids);
+
+        String naoEncontradas = ids.stream()
+                .filter(id -> !atribuicoes.containsKey(id))
+                .sorted()
+                .collect(Collectors.joining(", "));
+        if (!naoEncontradas.isEmpty()) {
+            throw new ResourceNotFoundException("Atribuições não encontradas: " + naoEncontradas);
+        }
+
+        return ids.stream()
+                .map(atribuicoes::get)
+                .collect(Collectors.toList());
+    }
+
+    public List<AtribuicaoResponse> findAtribuicoesAtivas(Set<String> ids) {
+        List<AtribuicaoResponse> encontradas = findAtribuicoes(ids);
+
+        String inativas = encontradas.stream()
+                .filter(atribuicao -> !atribuicao.isSituacao())
+                .map(AtribuicaoResponse::getId)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        if (!inativas.isEmpty()) {
+            throw new BusinessException("Não é possível adicionar atribuições inativas: " + inativas);
+        }
+
+        return encontradas;
+    }
+
+    public void put(SituacaoResponse situacao) {
+        AfterCommit.run(() -> replace(situacao));
+    }
+
+    public void put(AtribuicaoResponse atribuicao) {
+        AfterCommit.run(() -> replace(atribuicao));
+    }
+
+    public void removeSituacao(String id) {
+        AfterCommit.run(() -> remove(situacoes -> situacoes.remove(id), atribuicoes -> { }));
+    }
+
+    public void removeAtribuicao(String id) {
+        AfterCommit.run(() -> remove(situacoes -> { }, atribuicoes -> atribuicoes.remove(id)));
+    }
+
+    private Map<String, AtribuicaoResponse> loadAtribuicoes(long remocoes, Collection<String> ids) {
+        Map<String, AtribuicaoResponse> carregadas = atribuicaoRepository.findByIdIn(ids).stream()
+                .map(AtribuicaoResponse::fromEntity)
+                .collect(Collectors.toMap(AtribuicaoResponse::getId, Function.identity()));
+
+        Snapshot atual = incorporar(remocoes, situacoes -> { },
+                atribuicoes -> carregadas.values().forEach(atribuicao ->
+                        atribuicoes.putIfAbsent(atribuicao.getId(), atribuicao)));
+
+        Map<String, AtribuicaoResponse> atribuicoes = new HashMap<>(carregadas);
+        carregadas.keySet().forEach(id -> {
+            AtribuicaoResponse publicada = atual.atribuicoes.get(id);
+            if (publicada != null) {
+                atribuicoes.put(id, publicada);
+            }
+        });
+        return atribuicoes;
+    }
+
+    private SituacaoResponse incorporar(long remocoes, SituacaoResponse situacao) {
+        return incorporar(remocoes, situacoes -> situacoes.putIfAbsent(situacao.getId(), situacao), atribuicoes -> { })
+                .situacoes.getOrDefault(situacao.getId(), situacao);
+    }
+
+    private AtribuicaoResponse incorporar(long remocoes, AtribuicaoResponse atribuicao) {
+        return incorporar(remocoes, situacoes -> { },
+                atribuicoes -> atribuicoes.putIfAbsent(atribuicao.getId(), atribuicao))
+                .atribuicoes.getOrDefault(atribuicao.getId(), atribuicao);
+    }
+
+    private void replace(SituacaoResponse situacao) {
+        update(situacoes -> situacoes.put(situacao.getId(), situacao), atribuicoes -> { });
+    }
+
+    private void replace(AtribuicaoResponse atribuicao) {
+        update(situacoes -> { }, atribuicoes -> atribuicoes.put(atribuicao.getId(), atribuicao));
+    }
+
+    /**
+     * Aplica a leitura do banco apenas se nenhuma remoção foi publicada desde o snapshot em que ela começou.
+     */
+    private synchronized Snapshot incorporar(long remocoes,
+                                             Consumer<Map<String, SituacaoResponse>> situacoesChange,
+                                             Consumer<Map<String, AtribuicaoResponse>> atribuicoesChange) {
+        if (snapshot.remocoes != remocoes) {
+            return snapshot;
+        }
+        return update(situacoesChange, atribuicoesChange);
+    }
+
+    private synchronized Snapshot update(Consumer<Map<String, SituacaoResponse>> situacoesChange,
+                                         Consumer<Map<String, AtribuicaoResponse>> atribuicoesChange) {
+        return change(situacoesChange, atribuicoesChange, snapshot.remocoes);
+    }
+
+    private synchronized Snapshot remove(Consumer<Map<String, SituacaoResponse>> situacoesChange,
+                                         Consumer<Map<String, AtribuicaoResponse>> atribuicoesChange) {
+        return change(situacoesChange, atribuicoesChange, snapshot.remocoes + 1);
+    }
+
+    private Snapshot change(Consumer<Map<String, SituacaoResponse>> situacoesChange,
+                            Consumer<Map<String, AtribuicaoResponse>> atribuicoesChange,
+                            long remocoes) {
+        Map<String, SituacaoResponse> situacoes = new HashMap<>(snapshot.situacoes);
+        Map<String, AtribuicaoResponse> atribuicoes = new HashMap<>(snapshot.atribuicoes);
+        situacoesChange.accept(situacoes);
+        atribuicoesChange.accept(atribuicoes);
+        snapshot = new Snapshot(situacoes, atribuicoes, remocoes);
+        return snapshot;
+    }
+
+    private static final class Snapshot {
+
+        private final Map<String, SituacaoResponse> situacoes;
+        private final Map<String, AtribuicaoResponse> atribuicoes;
+        /** Quantidade de remoções publicadas até este snapshot. */
+        private final long remocoes;
+
+        private Snapshot(Map<String, SituacaoResponse> situacoes, Map<String, AtribuicaoResponse> atribuicoes,
+                         long remocoes) {
+            this.situacoes = Map.copyOf(situacoes);
+            this.atribuicoes = Map.copyOf(atribuicoes);
+            this.remocoes = remocoes;
+        }
+    }
+
+}
@@ -2,57 +2,78 @@ package dev.dluks.escriba.services;
 
 import dev.dluks.escriba.domain.entities.Situacao;
 import dev.dluks.escriba.domain.exceptions.DuplicateResourceException;
+import dev.dluks.escriba.domain.exceptions.IntegrityConstraintException;
+import dev.dluks.escriba.domain.exceptions.PreconditionFailedException;
 import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.domain.repositories.ConstraintViolations;
 import dev.dluks.escriba.domain.repositories.SituacaoRepository;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
 import dev.dluks.escriba.dtos.situacao.CreateSituacaoRequest;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponseMin;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponse;
 import dev.dluks.escriba.dtos.situacao.UpdateSituacaoRequest;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "escriba.service", histogram = true)
 public class SituacaoService {
 
     private final SituacaoRepository repository;
-
+    private final CartorioRepository cartorioRepository;
+    private final ReferenceCatalog catalog;
+    private final EventOutbox outbox;
+
+    /**
+     * Insere sem consultar antes: id ou nome repetidos são detectados pelas restrições do banco, o que também
+     * cobre inclusões concorrentes.
+     */
     @Transactional
     public SituacaoResponse create(CreateSituacaoRequest dto) {
-        validateDuplicateId(dto.getId());
-        validateDuplicateNome(dto.getNome());
-
-        Situacao situacao = repository.save(
-                Situacao.builder()
-                        .id(dto.getId())
-                        .nome(dto.getNome())
-                        .build()
-        );
+        Situacao situacao = Situacao.builder()
+                .id(dto.getId())
+                .nome(dto.getNome())
+                .build();
+
+        try {
+            repository.insert(situacao);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicidade(e, situacao);
+        }
 
-        return SituacaoResponse.fromEntity(situacao);
+        return registrar(OperacaoEvento.INCLUSAO, SituacaoResponse.fromEntity(situacao));
     }
 
     @Transactional
-    public SituacaoResponse update(String id, UpdateSituacaoRequest dto) {
+    public SituacaoResponse update(String id, UpdateSituacaoRequest dto, Set<Long> versoesEsperadas) {
         Situacao situacao = findByIdOrFail(id);
+        if (versoesEsperadas != null && !versoesEsperadas.contains(situacao.getVersao())) {
+            throw new PreconditionFailedException("A situação foi alterada por outra requisição");
+        }
 
-        if (!situacao.getNome().equalsIgnoreCase(dto.getNome())) {
+        if (!situacao.getNomeNormalizado().equals(TextNormalizer.normalize(dto.getNome()))) {
             validateDuplicateNome(dto.getNome());
         }
 
-        Situacao situacaoAtualizada = repository.save(
-                Situacao.builder()
-                        .id(id)
-                        .nome(dto.getNome())
-                        .build()
-        );
+        situacao.changeNome(dto.getNome());
+        repository.flush();
 
-        return SituacaoResponse.fromEntity(situacaoAtualizada);
+        return registrar(OperacaoEvento.ALTERACAO, SituacaoResponse.fromEntity(situacao));
     }
 
     @Transactional(readOnly = true)
@@ -60,14 +81,50 @@ public class SituacaoService {
         return repository.findAll(pageable).map(SituacaoResponseMin::fromEntity);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<SituacaoResponseMin> listSlice(Pageable pageable) {
+        return repository.findSliceBy(pageable).map(SituacaoResponseMin::fromEntity);
+    }
+
     public SituacaoResponse findById(String id) {
 
         return SituacaoResponse.fromEntity(findByIdOrFail(id));
     }
 
+    /**
+     * Cartórios na situação, pelo índice de {@code cartorios.situacao_id}.
+     */
+    @Transactional(readOnly = true)
+    public Page<CartorioResponseMin> findCartorios(String id, Pageable pageable) {
+        catalog.findSituacao(id);
+        return cartorioRepository.findPageMin(new CartorioFiltro(id, null, null), pageable);
+    }
+
     @Transactional
     public void delete(String id) {
-        repository.delete(findByIdOrFail(id));
+        Situacao situacao = findByIdOrFail(id);
+
+        long cartorios = cartorioRepository.countBySituacaoId(id);
+        if (cartorios > 0) {
+            throw new IntegrityConstraintException(
+                    String.format("Situação utilizada por %d cartório(s)", cartorios));
+        }
+
+        // o cartório incluído por outra transação depois da contagem só aparece na chave estrangeira
+        try {
+            repository.delete(situacao);
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new IntegrityConstraintException("Registro utilizado em outro cadastro.");
+        }
+        outbox.registrar(RecursoEvento.SITUACAO, OperacaoEvento.EXCLUSAO, id, null);
+        catalog.removeSituacao(id);
+    }
+
+    private SituacaoResponse registrar(OperacaoEvento operacao, SituacaoResponse situacao) {
+        outbox.registrar(RecursoEvento.SITUACAO, operacao, situacao.getId(), situacao);
+        catalog.put(situacao);
+        return situacao;
     }
 
     private Situacao findByIdOrFail(String id) {
@@ -75,14 +132,21 @@ public class SituacaoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Situação não encontrada com o id: " + id));
     }
 
-    private void validateDuplicateId(String id) {
-        if (repository.existsById(id)) {
-            throw new DuplicateResourceException("Registro já cadastrado");
+    private RuntimeException duplicidade(DataIntegrityViolationException e, Situacao situacao) {
+        if (ConstraintViolations.violou(e, ConstraintViolations.CHAVE_PRIMARIA)) {
+            return new DuplicateResourceException("Registro já cadastrado");
+        }
+        if (ConstraintViolations.violou(e, "uk_situacoes_nome")) {
+            return repository.findByNomeNormalizado(situacao.getNomeNormalizado())
+                    .map(existente -> new DuplicateResourceException(
+                            String.format("Nome já informado no registro com código %s", existente.getId())))
+                    .orElseGet(() -> new DuplicateResourceException("Nome já informado em outro registro"));
         }
+        return e;
     }
 
     private void validateDuplicateNome(String nome) {
-        Optional<Situacao> situacao = repository.findByNomeIgnoreCase(nome);
+        Optional<Situacao> situacao = repository.findByNomeNormalizado(TextNormalizer.normalize(nome));
 
         if (situacao.isPresent()) {
             throw new DuplicateResourceException(
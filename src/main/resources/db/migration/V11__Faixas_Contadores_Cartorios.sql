@@ -0,0 +1,7 @@
+-- Cada contador passa a ser a soma de várias linhas (faixas): escritas concorrentes no mesmo contador atualizam linhas
+-- diferentes em vez de aguardar a trava de uma única linha. Os contadores existentes ficam na faixa 0
+ALTER TABLE contadores_cartorios ADD COLUMN faixa SMALLINT NOT NULL DEFAULT 0;
+
+ALTER TABLE contadores_cartorios DROP PRIMARY KEY;
+
+ALTER TABLE contadores_cartorios ADD PRIMARY KEY (tipo, referencia_id, faixa);
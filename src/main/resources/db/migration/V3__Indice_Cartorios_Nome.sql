@@ -0,0 +1,2 @@
+-- Índice para a paginação por cursor (keyset) ordenada por nome e id
+CREATE INDEX idx_cartorios_nome_id ON cartorios (nome, id);
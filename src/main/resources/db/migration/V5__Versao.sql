@@ -0,0 +1,4 @@
+-- Versão para controle de concorrência otimista (@Version), exposta como ETag
+ALTER TABLE situacoes ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE atribuicoes ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE cartorios ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,5 @@
+-- Filtro da listagem por situação, já na ordem padrão por nome
+CREATE INDEX idx_cartorios_situacao_nome ON cartorios (situacao_id, nome);
+
+-- Busca reversa de cartórios por atribuição; a chave primária começa por cartorio_id
+CREATE INDEX idx_cartorios_atribuicoes_atribuicao ON cartorios_atribuicoes (atribuicao_id, cartorio_id);
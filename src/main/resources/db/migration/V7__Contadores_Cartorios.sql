@@ -0,0 +1,18 @@
+-- Quantidade de cartórios por situação e por atribuição, mantida pelas escritas e reconciliada periodicamente
+CREATE TABLE contadores_cartorios
+(
+    tipo          VARCHAR(20) NOT NULL,
+    referencia_id VARCHAR(20) NOT NULL,
+    quantidade    BIGINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (tipo, referencia_id)
+);
+
+INSERT INTO contadores_cartorios (tipo, referencia_id, quantidade)
+SELECT 'SITUACAO', situacao_id, COUNT(*)
+FROM cartorios
+GROUP BY situacao_id;
+
+INSERT INTO contadores_cartorios (tipo, referencia_id, quantidade)
+SELECT 'ATRIBUICAO', atribuicao_id, COUNT(*)
+FROM cartorios_atribuicoes
+GROUP BY atribuicao_id;
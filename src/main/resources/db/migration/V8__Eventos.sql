@@ -0,0 +1,23 @@
+-- Outbox de eventos de alteração, gravado na mesma transação das escritas e lido pelo fluxo SSE de /api/v1/events
+CREATE TABLE eventos
+(
+    sequencia     BIGINT      NOT NULL PRIMARY KEY,
+    recurso       VARCHAR(20) NOT NULL,
+    operacao      VARCHAR(20) NOT NULL,
+    recurso_id    VARCHAR(20) NOT NULL,
+    dados         CLOB,
+    registrado_em TIMESTAMP   NOT NULL
+);
+
+-- Expurgo dos eventos fora do período de retenção
+CREATE INDEX idx_eventos_registrado_em ON eventos (registrado_em);
+
+-- Última sequência atribuída. Quem registra eventos trava a linha até o commit, o que mantém as sequências
+-- contínuas e na mesma ordem em que as transações são confirmadas
+CREATE TABLE eventos_sequencia
+(
+    valor BIGINT NOT NULL
+);
+
+INSERT INTO eventos_sequencia (valor)
+VALUES (0);
@@ -0,0 +1,15 @@
+-- Revisão de cada cartório para a sincronização incremental: a sequência do último evento que o alterou.
+-- Os cartórios já existentes ficam com revisão 0 e são entregues na primeira sincronização
+ALTER TABLE cartorios ADD COLUMN revisao BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_cartorios_revisao ON cartorios (revisao, id);
+
+-- Exclusões de cartórios com a revisão em que ocorreram, entregues pela sincronização incremental.
+-- Uma nova inclusão com o mesmo id remove o registro da exclusão
+CREATE TABLE cartorios_excluidos
+(
+    id      INT    NOT NULL PRIMARY KEY,
+    revisao BIGINT NOT NULL
+);
+
+CREATE INDEX idx_cartorios_excluidos_revisao ON cartorios_excluidos (revisao, id);
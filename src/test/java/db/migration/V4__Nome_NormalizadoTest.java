@@ -0,0 +1,104 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class V4__Nome_NormalizadoTest {
+
+    private Connection conexao;
+    private Context context;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conexao = DriverManager.getConnection("jdbc:h2:mem:v4", "sa", "");
+        try (Statement sql = conexao.createStatement()) {
+            for (String tabela : List.of("situacoes", "atribuicoes")) {
+                sql.execute("CREATE TABLE " + tabela + " (id VARCHAR(20) PRIMARY KEY, nome VARCHAR(50) NOT NULL)");
+            }
+            sql.execute("CREATE TABLE cartorios (id INT PRIMARY KEY, nome VARCHAR(150) NOT NULL)");
+        }
+        context = mock(Context.class);
+        when(context.getConnection()).thenReturn(conexao);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement sql = conexao.createStatement()) {
+            sql.execute("DROP ALL OBJECTS");
+        }
+        conexao.close();
+    }
+
+    @Test
+    @DisplayName("Deve preencher os nomes normalizados com a normalização da aplicação")
+    void shouldFillNormalizedNames() throws SQLException {
+        try (Statement sql = conexao.createStatement()) {
+            // ṣ e a tabulação ficariam de fora de uma expressão com lista fixa de acentos e TRIM em SQL
+            sql.execute("INSERT INTO cartorios VALUES (1, 'Cartório Ṣul'), (2, 'Cartório Norte'), " +
+                        "(3, CONCAT(CHAR(9), 'Leste'))");
+        }
+
+        new V4__Nome_Normalizado().migrate(context);
+
+        assertEquals(List.of("cartorio sul", "cartorio norte", "leste"), normalizados("cartorios"));
+        assertTrue(normalizados("situacoes").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve exigir nome normalizado único")
+    void shouldCreateUniqueIndex() throws SQLException {
+        try (Statement sql = conexao.createStatement()) {
+            sql.execute("INSERT INTO situacoes VALUES ('SIT_A', 'Ativo')");
+        }
+
+        new V4__Nome_Normalizado().migrate(context);
+
+        try (Statement sql = conexao.createStatement()) {
+            assertThrows(SQLException.class, () ->
+                    sql.execute("INSERT INTO situacoes VALUES ('SIT_B', 'ATIVO', 'ativo')"));
+            assertThrows(SQLException.class, () ->
+                    sql.execute("INSERT INTO situacoes (id, nome) VALUES ('SIT_C', 'Inativo')"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve interromper a migração quando nomes distintos forem iguais para a aplicação")
+    void shouldFailOnEquivalentNames() throws SQLException {
+        try (Statement sql = conexao.createStatement()) {
+            sql.execute("INSERT INTO atribuicoes VALUES ('A1', 'Registro Ṣ'), ('A2', 'Registro S')");
+        }
+
+        FlywayException exception = assertThrows(FlywayException.class, () ->
+                new V4__Nome_Normalizado().migrate(context));
+
+        assertTrue(exception.getMessage().contains("Registro Ṣ / Registro S"));
+    }
+
+    private List<String> normalizados(String tabela) throws SQLException {
+        List<String> valores = new ArrayList<>();
+        try (Statement sql = conexao.createStatement();
+             ResultSet linhas = sql.executeQuery("SELECT nome_normalizado FROM " + tabela + " ORDER BY id")) {
+            while (linhas.next()) {
+                valores.add(linhas.getString(1));
+            }
+        }
+        return valores;
+    }
+
+}
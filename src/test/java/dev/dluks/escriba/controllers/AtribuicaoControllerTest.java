@@ -5,6 +5,7 @@ import dev.dluks.escriba.domain.entities.Atribuicao;
 import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponse;
 import dev.dluks.escriba.dtos.atribuicao.CreateAtribuicaoRequest;
 import dev.dluks.escriba.dtos.atribuicao.UpdateAtribuicaoRequest;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
 import dev.dluks.escriba.services.AtribuicaoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,9 +15,13 @@ import org.mockito.quality.Strictness;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -113,7 +118,7 @@ class AtribuicaoControllerTest {
         // Use ArgumentMatchers para corresponder aos argumentos exatos
         when(service.update(eq(id), argThat(request ->
                 request.getNome().equals(updateDto.getNome())
-        ))).thenReturn(updatedResponse);
+        ), isNull())).thenReturn(updatedResponse);
 
         // Act & Assert
         mockMvc.perform(put("/api/v1/atribuicoes/{id}", id)
@@ -129,7 +134,7 @@ class AtribuicaoControllerTest {
         // Verifica que o método foi chamado com os argumentos corretos
         verify(service).update(eq(id), argThat(request ->
                 request.getNome().equals(updateDto.getNome())
-        ));
+        ), isNull());
     }
 
     @Test
@@ -159,4 +164,15 @@ class AtribuicaoControllerTest {
         verify(service).delete(id);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve listar os cartórios da atribuição")
+    void shouldListCartoriosDaAtribuicao() throws Exception {
+        when(service.findCartorios(eq("ATRIB_TESTE"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new CartorioResponseMin(1, "1º Cartório"))));
+
+        mockMvc.perform(get("/api/v1/atribuicoes/{id}/cartorios", "ATRIB_TESTE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nome").value("1º Cartório"));
+    }
+
+}
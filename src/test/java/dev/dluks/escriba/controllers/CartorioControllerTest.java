@@ -5,14 +5,30 @@ import dev.dluks.escriba.config.WebMvcTestConfig;
 import dev.dluks.escriba.domain.entities.Atribuicao;
 import dev.dluks.escriba.domain.entities.Cartorio;
 import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
+import dev.dluks.escriba.dtos.cartorio.AlteracaoAtribuicoesRequest;
+import dev.dluks.escriba.dtos.cartorio.AlteracaoSituacaoEmLoteRequest;
+import dev.dluks.escriba.dtos.cartorio.AlteracaoSituacaoEmLoteResponse;
+import dev.dluks.escriba.dtos.cartorio.AtribuicoesCartorioRequest;
+import dev.dluks.escriba.dtos.cartorio.CartorioAlteracoesResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioCursorResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioEstatisticasResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
 import dev.dluks.escriba.dtos.cartorio.CartorioResponse;
 import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.cartorio.ContagemResponse;
 import dev.dluks.escriba.dtos.cartorio.CreateCartorioRequest;
+import dev.dluks.escriba.dtos.cartorio.ModoFiltroAtribuicoes;
 import dev.dluks.escriba.dtos.cartorio.UpdateCartorioRequest;
+import dev.dluks.escriba.services.CartorioExportService;
+import dev.dluks.escriba.services.CartorioImportService;
 import dev.dluks.escriba.services.CartorioService;
+import dev.dluks.escriba.services.CartorioStatisticsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +38,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -30,9 +48,13 @@ import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -51,6 +73,15 @@ class CartorioControllerTest {
     @MockBean
     private CartorioService service;
 
+    @MockBean
+    private CartorioImportService importService;
+
+    @MockBean
+    private CartorioExportService exportService;
+
+    @MockBean
+    private CartorioStatisticsService statisticsService;
+
     private Situacao situacao;
 
     private Atribuicao atribuicao;
@@ -114,7 +145,7 @@ class CartorioControllerTest {
     @DisplayName("Deve listar cartórios")
     void shouldListCartorios() throws Exception {
         Page<CartorioResponseMin> page = new PageImpl<>(List.of(responseMin));
-        when(service.listAll(any(Pageable.class))).thenReturn(page);
+        when(service.listAll(any(CartorioFiltro.class), any(Pageable.class))).thenReturn(page);
 
         mockMvc.perform(get("/api/v1/cartorios")
                         .param("page", "0")
@@ -124,6 +155,91 @@ class CartorioControllerTest {
                 .andExpect(jsonPath("$.content[0].nome").value(dto.getNome()));
     }
 
+    @Test
+    @DisplayName("Deve listar cartórios sem contagem total")
+    void shouldListCartoriosWithoutTotal() throws Exception {
+        when(service.listSlice(any(CartorioFiltro.class), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(responseMin)));
+
+        mockMvc.perform(get("/api/v1/cartorios")
+                        .param("total", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(dto.getId()))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve listar cartórios filtrados por situação e atribuições")
+    void shouldListCartoriosFiltered() throws Exception {
+        ArgumentCaptor<CartorioFiltro> filtro = ArgumentCaptor.forClass(CartorioFiltro.class);
+        when(service.listAll(filtro.capture(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(responseMin)));
+
+        mockMvc.perform(get("/api/v1/cartorios")
+                        .param("situacaoId", "SIT_BLOQUEADO")
+                        .param("atribuicaoId", "ATRIB_NOTAS", "ATRIB_PROTESTO")
+                        .param("modo", "TODAS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(dto.getId()));
+
+        assertEquals("SIT_BLOQUEADO", filtro.getValue().getSituacaoId());
+        assertEquals(Set.of("ATRIB_NOTAS", "ATRIB_PROTESTO"), filtro.getValue().getAtribuicoesIds());
+        assertEquals(ModoFiltroAtribuicoes.TODAS, filtro.getValue().getModo());
+    }
+
+    @Test
+    @DisplayName("Deve retornar as estatísticas de cartórios")
+    void shouldReturnEstatisticas() throws Exception {
+        when(statisticsService.estatisticas()).thenReturn(new CartorioEstatisticasResponse(
+                List.of(new ContagemResponse("SIT_ATIVO", "Ativo", 3), new ContagemResponse("SIT_BLOQUEADO", "Bloqueado", 2)),
+                List.of(new ContagemResponse("ATRIB_NOTAS", "Notas", 4))));
+
+        mockMvc.perform(get("/api/v1/cartorios/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.situacoes[1].quantidade").value(2))
+                .andExpect(jsonPath("$.atribuicoes[0].id").value("ATRIB_NOTAS"));
+    }
+
+    @Test
+    @DisplayName("Deve pesquisar cartórios")
+    void shouldSearchCartorios() throws Exception {
+        when(service.search(eq("cartorio"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(responseMin)));
+
+        mockMvc.perform(get("/api/v1/cartorios/search")
+                        .param("q", "cartorio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(dto.getId()))
+                .andExpect(jsonPath("$.content[0].nome").value(dto.getNome()));
+    }
+
+    @Test
+    @DisplayName("Deve listar cartórios por cursor")
+    void shouldListCartoriosByCursor() throws Exception {
+        when(service.listByCursor("abc", 1)).thenReturn(new CartorioCursorResponse(List.of(responseMin), "def"));
+
+        mockMvc.perform(get("/api/v1/cartorios/cursor")
+                        .param("after", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(dto.getId()))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("Deve listar alterações de cartórios a partir do token")
+    void shouldListCartorioChanges() throws Exception {
+        when(service.listChanges("abc", 500))
+                .thenReturn(new CartorioAlteracoesResponse(List.of(response), List.of(7), "def", false));
+
+        mockMvc.perform(get("/api/v1/cartorios/changes")
+                        .param("since", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alterados[0].id").value(dto.getId()))
+                .andExpect(jsonPath("$.excluidos[0]").value(7))
+                .andExpect(jsonPath("$.nextToken").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
     @Test
     @DisplayName("Deve buscar um cartório")
     void shouldFindCartorio() throws Exception {
@@ -138,15 +254,188 @@ class CartorioControllerTest {
     @Test
     @DisplayName("Deve atualizar um cartório")
     void shouldUpdateCartorio() throws Exception {
-        when(service.update(eq(dto.getId()), any(UpdateCartorioRequest.class))).thenReturn(response);
+        when(service.update(eq(dto.getId()), any(UpdateCartorioRequest.class), isNull())).thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}", dto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(dto.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve repassar a versão do If-Match ao atualizar um cartório")
+    void shouldUpdateCartorioWithIfMatch() throws Exception {
+        when(service.update(eq(dto.getId()), any(UpdateCartorioRequest.class), eq(Set.of(3L)))).thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}", dto.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        verify(service).update(eq(dto.getId()), any(UpdateCartorioRequest.class), eq(Set.of(3L)));
+    }
+
+    @Test
+    @DisplayName("Deve repassar todas as versões de um If-Match com lista de ETags")
+    void shouldUpdateCartorioWithIfMatchList() throws Exception {
+        when(service.update(eq(dto.getId()), any(UpdateCartorioRequest.class), eq(Set.of(1L, 2L))))
+                .thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}", dto.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"1\", W/\"5\", \"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
 
+        verify(service).update(eq(dto.getId()), any(UpdateCartorioRequest.class), eq(Set.of(1L, 2L)));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar qualquer versão atual com If-Match *")
+    void shouldUpdateCartorioWithIfMatchAny() throws Exception {
+        when(service.update(eq(dto.getId()), any(UpdateCartorioRequest.class), isNull())).thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}", dto.getId())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        verify(service).update(eq(dto.getId()), any(UpdateCartorioRequest.class), isNull());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar If-Match fraco com 412")
+    void shouldRejectWeakIfMatch() throws Exception {
         mockMvc.perform(put("/api/v1/cartorios/{id}", dto.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(service, never()).update(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve substituir as atribuições do cartório")
+    void shouldReplaceAtribuicoes() throws Exception {
+        AtribuicoesCartorioRequest request = AtribuicoesCartorioRequest.builder()
+                .atribuicoesIds(Set.of("ATRIB_NOTAS"))
+                .build();
+        when(service.replaceAtribuicoes(dto.getId(), Set.of("ATRIB_NOTAS"), Set.of(2L))).thenReturn(response);
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}/atribuicoes", dto.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atribuicoes[0].id").value("ATRIB_NOTAS"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao substituir atribuições por conjunto vazio")
+    void shouldReturn400WhenReplaceAtribuicoesWithEmptySet() throws Exception {
+        AtribuicoesCartorioRequest request = AtribuicoesCartorioRequest.builder()
+                .atribuicoesIds(Set.of())
+                .build();
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}/atribuicoes", dto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", hasItems("atribuicoesIds: Pelo menos uma atribuição é obrigatória")));
+
+        verify(service, never()).replaceAtribuicoes(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve incluir e remover atribuições do cartório")
+    void shouldChangeAtribuicoes() throws Exception {
+        AlteracaoAtribuicoesRequest request = AlteracaoAtribuicoesRequest.builder()
+                .incluir(Set.of("ATRIB_NOTAS"))
+                .remover(Set.of("ATRIB_PROTESTO"))
+                .build();
+        when(service.changeAtribuicoes(dto.getId(), Set.of("ATRIB_NOTAS"), Set.of("ATRIB_PROTESTO"), null))
+                .thenReturn(response);
+
+        mockMvc.perform(patch("/api/v1/cartorios/{id}/atribuicoes", dto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(dto.getId()));
     }
 
+    @Test
+    @DisplayName("Não deve alterar atribuições sem nenhuma inclusão ou remoção")
+    void shouldNotChangeAtribuicoesWithoutChanges() throws Exception {
+        mockMvc.perform(patch("/api/v1/cartorios/{id}/atribuicoes", dto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"incluir\": [], \"remover\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", hasItems(
+                        "alteracaoInformada: Informe ao menos uma atribuição para incluir ou remover")));
+
+        verify(service, never()).changeAtribuicoes(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve alterar atribuições com id vazio para remover")
+    void shouldNotChangeAtribuicoesWithBlankIdToRemove() throws Exception {
+        mockMvc.perform(patch("/api/v1/cartorios/{id}/atribuicoes", dto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"remover\": [\" \"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", hasItems("remover[]: Atribuição não pode ser vazia")));
+
+        verify(service, never()).changeAtribuicoes(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao remover atribuição inexistente")
+    void shouldReturnNotFoundWhenRemovingUnknownAtribuicao() throws Exception {
+        when(service.changeAtribuicoes(dto.getId(), null, Set.of("ATRIB_X"), null))
+                .thenThrow(new ResourceNotFoundException("Atribuições não encontradas: ATRIB_X"));
+
+        mockMvc.perform(patch("/api/v1/cartorios/{id}/atribuicoes", dto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"remover\": [\"ATRIB_X\"]}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Atribuições não encontradas: ATRIB_X"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 ao remover atribuição que não está no cartório")
+    void shouldRejectRemovingAtribuicaoNotInCartorio() throws Exception {
+        when(service.changeAtribuicoes(dto.getId(), null, Set.of("ATRIB_PROTESTO"), null))
+                .thenThrow(new BusinessException("Atribuições não vinculadas ao cartório: ATRIB_PROTESTO"));
+
+        mockMvc.perform(patch("/api/v1/cartorios/{id}/atribuicoes", dto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"remover\": [\"ATRIB_PROTESTO\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Atribuições não vinculadas ao cartório: ATRIB_PROTESTO"));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a situação de vários cartórios em lote")
+    void shouldUpdateSituacaoEmLote() throws Exception {
+        AlteracaoSituacaoEmLoteRequest request = AlteracaoSituacaoEmLoteRequest.builder()
+                .ids(Set.of(1, 2, 3))
+                .situacaoId("SIT_BLOQUEADO")
+                .build();
+        when(service.changeSituacaoEmLote(Set.of(1, 2, 3), "SIT_BLOQUEADO"))
+                .thenReturn(new AlteracaoSituacaoEmLoteResponse(List.of(1, 3), List.of(), List.of(2)));
+
+        mockMvc.perform(put("/api/v1/cartorios/situacao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alterados", hasItems(1, 3)))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(2));
+    }
+
     @Test
     @DisplayName("Deve remover um cartório")
     void shouldDeleteCartorio() throws Exception {
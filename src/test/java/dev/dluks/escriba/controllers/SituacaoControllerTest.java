@@ -2,6 +2,9 @@ package dev.dluks.escriba.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.exceptions.IntegrityConstraintException;
+import dev.dluks.escriba.domain.exceptions.PreconditionFailedException;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
 import dev.dluks.escriba.dtos.situacao.CreateSituacaoRequest;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponse;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponseMin;
@@ -15,12 +18,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -131,7 +137,7 @@ class SituacaoControllerTest {
         // Use ArgumentMatchers para corresponder aos argumentos exatos
         when(service.update(eq(id), argThat(request ->
                 request.getNome().equals(dto.getNome())
-        ))).thenReturn(updatedEntity);
+        ), isNull())).thenReturn(updatedEntity);
 
         // Act & Assert
         mockMvc.perform(put("/api/v1/situacoes/{id}", id)
@@ -147,7 +153,27 @@ class SituacaoControllerTest {
         // Verifica que o método foi chamado com os argumentos corretos
         verify(service).update(eq(id), argThat(request ->
                 request.getNome().equals(dto.getNome())
-        ));
+        ), isNull());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar alteração de situação com If-Match divergente")
+    void shouldRejectUpdateSituacaoWithStaleIfMatch() throws Exception {
+        String id = "SIT_TESTE";
+        UpdateSituacaoRequest dto = UpdateSituacaoRequest.builder()
+                .nome("Teste Updated")
+                .build();
+        when(service.update(eq(id), any(UpdateSituacaoRequest.class), eq(Set.of(3L))))
+                .thenThrow(new PreconditionFailedException("A situação foi alterada por outra requisição"));
+
+        mockMvc.perform(put("/api/v1/situacoes/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("A situação foi alterada por outra requisição"));
+
+        verify(service).update(eq(id), any(UpdateSituacaoRequest.class), eq(Set.of(3L)));
     }
 
     @Test
@@ -161,4 +187,27 @@ class SituacaoControllerTest {
         verify(service).delete(id);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve retornar 409 ao apagar situação utilizada por cartórios")
+    void shouldReturn409WhenDeleteSituacaoInUse() throws Exception {
+        String id = "SIT_TESTE";
+        doThrow(new IntegrityConstraintException("Situação utilizada por 2 cartório(s)")).when(service).delete(id);
+
+        mockMvc.perform(delete("/api/v1/situacoes/{id}", id))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Situação utilizada por 2 cartório(s)"));
+    }
+
+    @Test
+    @DisplayName("Deve listar os cartórios da situação")
+    void shouldListCartoriosDaSituacao() throws Exception {
+        when(service.findCartorios(eq("SIT_TESTE"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new CartorioResponseMin(1, "1º Cartório"))));
+
+        mockMvc.perform(get("/api/v1/situacoes/{id}/cartorios", "SIT_TESTE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+}
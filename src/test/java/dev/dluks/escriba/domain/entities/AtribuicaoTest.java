@@ -96,5 +96,20 @@ class AtribuicaoTest {
         assertThrows(DomainException.class, builder::build);
     }
 
+    @Test
+    @DisplayName("Deve alterar o nome da atribuição mantendo a situação")
+    void shouldChangeNome() {
+        Atribuicao atribuicao = Atribuicao.builder()
+                .id("ATRIB_NOTAS")
+                .nome("Notas")
+                .situacao(false)
+                .build();
 
-}
\ No newline at end of file
+        atribuicao.changeNome("Tabelionato de Notas");
+
+        assertEquals("Tabelionato de Notas", atribuicao.getNome());
+        assertEquals("tabelionato de notas", atribuicao.getNomeNormalizado());
+        assertFalse(atribuicao.isSituacao());
+        assertThrows(DomainException.class, () -> atribuicao.changeNome("A".repeat(51)));
+    }
+}
@@ -63,6 +63,19 @@ class CartorioTest {
         assertNotNull(cartorio);
     }
 
+    @Test
+    @DisplayName("Deve normalizar o nome sem acentos e em minúsculas")
+    void shouldNormalizeNome() {
+        Cartorio cartorio = Cartorio.builder()
+                .id(1)
+                .nome("  Cartório de Títulos e Documentos ")
+                .situacao(situacaoAtiva)
+                .atribuicoes(new HashSet<>(Set.of(atribuicaoNotas)))
+                .build();
+
+        assertEquals("cartorio de titulos e documentos", cartorio.getNomeNormalizado());
+    }
+
     @Test
     @DisplayName("Não deve criar cartório sem atribuição")
     void shouldNotCreateCartorioWithoutAtribuicao() {
@@ -186,6 +199,92 @@ class CartorioTest {
         );
     }
 
+    @Test
+    @DisplayName("Deve alterar nome e observação do cartório")
+    void shouldChangeDados() {
+        Cartorio cartorio = Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .observacao("Observação")
+                .situacao(situacaoAtiva)
+                .atribuicoes(Set.of(atribuicaoNotas))
+                .build();
+
+        cartorio.changeDados("Cartório São José", null);
+
+        assertEquals("Cartório São José", cartorio.getNome());
+        assertEquals("cartorio sao jose", cartorio.getNomeNormalizado());
+        assertNull(cartorio.getObservacao());
+        assertEquals(Set.of(atribuicaoNotas), cartorio.getAtribuicoes());
+    }
+
+    @Test
+    @DisplayName("Não deve alterar cartório para nome inválido")
+    void shouldNotChangeDadosWithInvalidNome() {
+        Cartorio cartorio = Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(situacaoAtiva)
+                .atribuicoes(Set.of(atribuicaoNotas))
+                .build();
+        String nomeLongo = "A".repeat(151);
+
+        DomainException exception = assertThrows(DomainException.class, () -> cartorio.changeDados(" ", null));
+        assertEquals("Nome é obrigatório", exception.getMessage());
+        exception = assertThrows(DomainException.class, () -> cartorio.changeDados(nomeLongo, null));
+        assertEquals("Nome não pode ter mais que 150 caracteres", exception.getMessage());
+        assertEquals("1º Cartório", cartorio.getNome());
+    }
+
+    @Test
+    @DisplayName("Deve substituir as atribuições mantendo inativas já existentes")
+    void shouldChangeAtribuicoes() {
+        Atribuicao protestoInativa = Atribuicao.builder()
+                .id("ATRIB_PROTESTO")
+                .nome("Protesto")
+                .situacao(false)
+                .build();
+        Atribuicao registroCivil = Atribuicao.builder()
+                .id("ATRIB_CIVIL")
+                .nome("Registro Civil")
+                .situacao(true)
+                .build();
+        Cartorio cartorio = Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(situacaoAtiva)
+                .atribuicoes(Set.of(atribuicaoNotas, protestoInativa))
+                .build();
+
+        cartorio.changeAtribuicoes(Set.of(protestoInativa, registroCivil));
+
+        assertEquals(Set.of(protestoInativa, registroCivil), cartorio.getAtribuicoes());
+    }
+
+    @Test
+    @DisplayName("Não deve substituir atribuições por conjunto vazio ou com nova inativa")
+    void shouldNotChangeAtribuicoesToEmptyOrInactive() {
+        Atribuicao protestoInativa = Atribuicao.builder()
+                .id("ATRIB_PROTESTO")
+                .nome("Protesto")
+                .situacao(false)
+                .build();
+        Cartorio cartorio = Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(situacaoAtiva)
+                .atribuicoes(Set.of(atribuicaoNotas))
+                .build();
+        Set<Atribuicao> vazio = Set.of();
+        Set<Atribuicao> comInativa = Set.of(protestoInativa);
+
+        DomainException exception = assertThrows(DomainException.class, () -> cartorio.changeAtribuicoes(vazio));
+        assertEquals("O cartório deve ter pelo menos uma atribuição", exception.getMessage());
+        exception = assertThrows(DomainException.class, () -> cartorio.changeAtribuicoes(comInativa));
+        assertEquals("Não é possível adicionar uma atribuição inativa", exception.getMessage());
+        assertEquals(Set.of(atribuicaoNotas), cartorio.getAtribuicoes());
+    }
+
     private void shouldThrowDomainExceptionForId(
             Integer id,
             Cartorio.CartorioBuilder builder) {
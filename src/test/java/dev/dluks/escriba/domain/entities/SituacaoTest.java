@@ -83,4 +83,18 @@ class SituacaoTest {
         assertThrows(DomainException.class, builder::build);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve alterar o nome da situação")
+    void shouldChangeNome() {
+        Situacao situacao = Situacao.builder()
+                .id("SIT_ATIVO")
+                .nome("Ativo")
+                .build();
+
+        situacao.changeNome("Em Análise");
+
+        assertEquals("Em Análise", situacao.getNome());
+        assertEquals("em analise", situacao.getNomeNormalizado());
+        assertThrows(DomainException.class, () -> situacao.changeNome(""));
+    }
+}
@@ -1,10 +1,13 @@
 package dev.dluks.escriba.domain.repositories;
 
 import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Optional;
@@ -18,6 +21,9 @@ class SituacaoRepositoryTest {
     @Autowired
     private SituacaoRepository repository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     @DisplayName("Deve verificar existência por id")
     void shouldExistsById() {
@@ -48,8 +54,8 @@ class SituacaoRepositoryTest {
     }
 
     @Test
-    @DisplayName("Deve buscar por nome")
-    void shouldFindByNomeIgnoreCase() {
+    @DisplayName("Deve buscar por nome sem diferenciar maiúsculas")
+    void shouldFindByNomeRegardlessOfCase() {
         Situacao situacao = Situacao.builder()
                 .id("SIT_TEST")
                 .nome("Test")
@@ -57,8 +63,51 @@ class SituacaoRepositoryTest {
 
         repository.save(situacao);
 
-        Optional<Situacao> optional = repository.findByNomeIgnoreCase("test");
+        Optional<Situacao> optional = repository.findByNomeNormalizado(TextNormalizer.normalize("TEST"));
         assertTrue(optional.isPresent());
         assertEquals("SIT_TEST", optional.get().getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve buscar por nome normalizado, ignorando acentos e caixa")
+    void shouldFindByNomeNormalizado() {
+        Situacao situacao = Situacao.builder()
+                .id("SIT_TEST")
+                .nome("Em Análise")
+                .build();
+
+        repository.save(situacao);
+
+        Optional<Situacao> optional = repository.findByNomeNormalizado(TextNormalizer.normalize("EM ANALISE"));
+        assertTrue(optional.isPresent());
+        assertEquals("SIT_TEST", optional.get().getId());
+    }
+
+    @Test
+    @DisplayName("Deve identificar a chave primária violada na inclusão")
+    void shouldIdentifyPrimaryKeyViolationOnInsert() {
+        repository.insert(Situacao.builder().id("SIT_TEST").nome("Test").build());
+        entityManager.clear();
+
+        Situacao duplicada = Situacao.builder().id("SIT_TEST").nome("Outro").build();
+        DataIntegrityViolationException e =
+                assertThrows(DataIntegrityViolationException.class, () -> repository.insert(duplicada));
+
+        assertTrue(ConstraintViolations.violou(e, ConstraintViolations.CHAVE_PRIMARIA));
+        assertFalse(ConstraintViolations.violou(e, "uk_situacoes_nome"));
+    }
+
+    @Test
+    @DisplayName("Deve identificar o nome repetido na inclusão")
+    void shouldIdentifyNomeViolationOnInsert() {
+        repository.insert(Situacao.builder().id("SIT_TEST").nome("Em Análise").build());
+        entityManager.clear();
+
+        Situacao duplicada = Situacao.builder().id("SIT_TEST_2").nome("EM ANALISE").build();
+        DataIntegrityViolationException e =
+                assertThrows(DataIntegrityViolationException.class, () -> repository.insert(duplicada));
+
+        assertTrue(ConstraintViolations.violou(e, "uk_situacoes_nome"));
+        assertFalse(ConstraintViolations.violou(e, ConstraintViolations.CHAVE_PRIMARIA));
+    }
+}
@@ -1,6 +1,7 @@
 package dev.dluks.escriba.integration;
 
 import dev.dluks.escriba.domain.repositories.AtribuicaoRepository;
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
 import dev.dluks.escriba.dtos.atribuicao.CreateAtribuicaoRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,10 +18,15 @@ class AtribuicaoIT extends IntegrationTestBase {
     @Autowired
     private AtribuicaoRepository repository;
 
+    @Autowired
+    private CartorioRepository cartorioRepository;
+
     private CreateAtribuicaoRequest dto;
 
     @Override
     protected void cleanDatabase() {
+        // cartórios deixados por outras classes de teste referenciam os registros apagados aqui
+        cartorioRepository.deleteAll();
         repository.deleteAll();
     }
 
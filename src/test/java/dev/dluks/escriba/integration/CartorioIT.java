@@ -1,25 +1,42 @@
 package dev.dluks.escriba.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import dev.dluks.escriba.domain.entities.Atribuicao;
 import dev.dluks.escriba.domain.entities.Cartorio;
 import dev.dluks.escriba.domain.entities.Situacao;
 import dev.dluks.escriba.domain.repositories.AtribuicaoRepository;
+import dev.dluks.escriba.domain.repositories.CartorioCounterRepository;
+import dev.dluks.escriba.domain.repositories.CartorioCounterRepository.Tipo;
 import dev.dluks.escriba.domain.repositories.CartorioRepository;
 import dev.dluks.escriba.domain.repositories.SituacaoRepository;
 import dev.dluks.escriba.dtos.cartorio.CartorioResponse;
 import dev.dluks.escriba.dtos.cartorio.CreateCartorioRequest;
+import dev.dluks.escriba.dtos.cartorio.UpdateCartorioRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class CartorioIT extends IntegrationTestBase {
@@ -33,6 +50,12 @@ class CartorioIT extends IntegrationTestBase {
     @Autowired
     private AtribuicaoRepository atribuicaoRepository;
 
+    @Autowired
+    private CartorioCounterRepository counterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private CreateCartorioRequest dto;
     private CreateCartorioRequest badDto;
     private Cartorio cartorio;
@@ -111,6 +134,48 @@ class CartorioIT extends IntegrationTestBase {
                 .andExpect(jsonPath("$.atribuicoes[0].nome").value(atribuicao.getNome()));
     }
 
+    @Test
+    @DisplayName("Deve pesquisar cartórios criados, alterados e removidos pela API")
+    void shouldSearchCartorios() throws Exception {
+        mockMvc.perform(post("/api/v1/cartorios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/cartorios/search")
+                        .param("q", "CARTORIO integ"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(dto.getId()));
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}", dto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UpdateCartorioRequest("Tabelionato Central", "Centro"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/cartorios/search")
+                        .param("q", "cartorio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+        mockMvc.perform(get("/api/v1/cartorios/search")
+                        .param("q", "tabeliao central"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+        mockMvc.perform(get("/api/v1/cartorios/search")
+                        .param("q", "tabelionato cent"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nome").value("Tabelionato Central"));
+
+        mockMvc.perform(delete("/api/v1/cartorios/{id}", dto.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/cartorios/search")
+                        .param("q", "tabelionato"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
     @Test
     void naoDeveCriarCartorioSemAtribuicao() throws Exception {
         mockMvc.perform(post("/api/v1/cartorios")
@@ -124,6 +189,316 @@ class CartorioIT extends IntegrationTestBase {
                 .andExpect(jsonPath("$.errors[0]").value("atribuicoesIds: Pelo menos uma atribuição é obrigatória"));
     }
 
+    @Test
+    @DisplayName("Deve informar todas as atribuições inexistentes ao criar cartório")
+    void shouldReportAllMissingAtribuicoesOnCreate() throws Exception {
+        CreateCartorioRequest request = CreateCartorioRequest.builder()
+                .id(3)
+                .nome("3º Cartório")
+                .situacaoId(situacao.getId())
+                .atribuicoesIds(new HashSet<>(Set.of(atribuicao.getId(), "ATRIB_X", "ATRIB_Y")))
+                .build();
+
+        mockMvc.perform(post("/api/v1/cartorios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Atribuições não encontradas: ATRIB_X, ATRIB_Y"));
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todos os cartórios por cursor em ordem de nome e id")
+    void shouldWalkAllCartoriosByCursor() throws Exception {
+        for (int id = 1; id <= 5; id++) {
+            cartorioRepository.save(Cartorio.builder()
+                    .id(id)
+                    .nome("Cartório " + (6 - id))
+                    .situacao(situacao)
+                    .atribuicoes(new HashSet<>(Set.of(atribuicao)))
+                    .build());
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String body = mockMvc.perform(get("/api/v1/cartorios/cursor")
+                            .param("size", "2")
+                            .param("after", cursor == null ? "" : cursor))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("content").forEach(item -> ids.add(item.get("id").asInt()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(List.of(5, 4, 3, 2, 1), ids);
+    }
+
+    @Test
+    @DisplayName("Deve sincronizar inclusões, alterações e exclusões a partir do token anterior")
+    void shouldSyncChangesSinceToken() throws Exception {
+        cartorioRepository.save(Cartorio.builder()
+                .id(9)
+                .nome("Cartório Legado")
+                .situacao(situacao)
+                .atribuicoes(new HashSet<>(Set.of(atribuicao)))
+                .build());
+        List<Integer> iniciais = new ArrayList<>();
+        String token = sincronizar(null, iniciais, new ArrayList<>());
+        assertEquals(List.of(9), iniciais);
+
+        mockMvc.perform(post("/api/v1/cartorios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/cartorios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CreateCartorioRequest.builder()
+                                .id(2)
+                                .nome("2º Cartório")
+                                .situacaoId(situacao.getId())
+                                .atribuicoesIds(new HashSet<>(Set.of(atribuicao.getId())))
+                                .build())))
+                .andExpect(status().isCreated());
+        mockMvc.perform(put("/api/v1/cartorios/{id}", dto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UpdateCartorioRequest("Tabelionato Central", "Centro"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/cartorios/situacao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [9], \"situacaoId\": \"SIT_INATIVO\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/cartorios/{id}", 2))
+                .andExpect(status().isNoContent());
+
+        List<Integer> alterados = new ArrayList<>();
+        List<Integer> excluidos = new ArrayList<>();
+        token = sincronizar(token, alterados, excluidos);
+
+        assertEquals(List.of(1, 9), alterados);
+        assertEquals(List.of(2), excluidos);
+        mockMvc.perform(get("/api/v1/cartorios/changes")
+                        .param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alterados", hasSize(0)))
+                .andExpect(jsonPath("$.excluidos", hasSize(0)))
+                .andExpect(jsonPath("$.nextToken").value(token));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token de sincronização inválido")
+    void shouldRejectInvalidChangesToken() throws Exception {
+        mockMvc.perform(get("/api/v1/cartorios/changes")
+                        .param("since", "invalido"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Token inválido"));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar cartórios por situação e por qualquer ou todas as atribuições")
+    void shouldFilterCartoriosBySituacaoAndAtribuicoes() throws Exception {
+        cartorioRepository.save(Cartorio.builder()
+                .id(1).nome("Cartório A").situacao(situacao)
+                .atribuicoes(new HashSet<>(Set.of(atribuicao, atribuicao2))).build());
+        cartorioRepository.save(Cartorio.builder()
+                .id(2).nome("Cartório B").situacao(situacaoInativo)
+                .atribuicoes(new HashSet<>(Set.of(atribuicao))).build());
+        cartorioRepository.save(Cartorio.builder()
+                .id(3).nome("Cartório C").situacao(situacaoInativo)
+                .atribuicoes(new HashSet<>(Set.of(atribuicao, atribuicao2))).build());
+
+        mockMvc.perform(get("/api/v1/cartorios")
+                        .param("situacaoId", situacaoInativo.getId())
+                        .param("atribuicaoId", atribuicao2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(3));
+
+        mockMvc.perform(get("/api/v1/cartorios")
+                        .param("atribuicaoId", atribuicao.getId(), atribuicao2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        mockMvc.perform(get("/api/v1/cartorios")
+                        .param("atribuicaoId", atribuicao.getId(), atribuicao2.getId())
+                        .param("modo", "TODAS")
+                        .param("total", "false")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    @DisplayName("Deve manter os contadores das estatísticas nas escritas de cartórios")
+    void shouldKeepEstatisticasCounters() throws Exception {
+        mockMvc.perform(post("/api/v1/cartorios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+        assertEquals(1, importados(importar(MediaType.APPLICATION_NDJSON,
+                "{\"id\": 2, \"nome\": \"2º Cartório\", \"situacaoId\": \"SIT_ATIVO\", " +
+                "\"atribuicoesIds\": [\"ATRIB_NOTAS\", \"ATRIB_ESCRITURAS\"]}")));
+        mockMvc.perform(put("/api/v1/cartorios/{id}/situacao", 2)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"SIT_INATIVO\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/cartorios/{id}/atribuicoes/add", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"ATRIB_ESCRITURAS\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/cartorios/{id}/atribuicoes/remove", 2)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"ATRIB_NOTAS\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/cartorios/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.situacoes[?(@.id == 'SIT_ATIVO')].quantidade").value(1))
+                .andExpect(jsonPath("$.situacoes[?(@.id == 'SIT_INATIVO')].quantidade").value(1))
+                .andExpect(jsonPath("$.atribuicoes[?(@.id == 'ATRIB_NOTAS')].quantidade").value(1))
+                .andExpect(jsonPath("$.atribuicoes[?(@.id == 'ATRIB_ESCRITURAS')].quantidade").value(2));
+
+        mockMvc.perform(delete("/api/v1/cartorios/{id}", 1))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/cartorios/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.atribuicoes[?(@.id == 'ATRIB_NOTAS')].quantidade").value(0));
+
+        assertEquals(0, statisticsService.reconciliar());
+    }
+
+    @Test
+    @DisplayName("Deve somar as faixas dos contadores na leitura e reuni-las na reconciliação")
+    void shouldSumCounterStripes() throws Exception {
+        // threads diferentes escrevem em faixas diferentes do mesmo contador
+        for (int i = 0; i < 2; i++) {
+            Thread escrita = new Thread(() -> counterRepository.incrementar(Tipo.SITUACAO,
+                    new TreeMap<>(Map.of(situacao.getId(), 1L))));
+            escrita.start();
+            escrita.join();
+        }
+        assertTrue(faixas(situacao.getId()) >= 2);
+
+        mockMvc.perform(get("/api/v1/cartorios/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.situacoes[?(@.id == 'SIT_ATIVO')].quantidade").value(2));
+
+        assertEquals(1, statisticsService.reconciliar());
+        assertEquals(1, faixas(situacao.getId()));
+
+        mockMvc.perform(get("/api/v1/cartorios/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.situacoes[?(@.id == 'SIT_ATIVO')].quantidade").value(0));
+    }
+
+    @Test
+    @DisplayName("Deve listar cartórios por situação e atribuição e impedir a exclusão das utilizadas")
+    void shouldListCartoriosByReferenceAndRejectDeletingUsedOnes() throws Exception {
+        mockMvc.perform(post("/api/v1/cartorios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/situacoes/{id}/cartorios", situacao.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(dto.getId()));
+        mockMvc.perform(get("/api/v1/atribuicoes/{id}/cartorios", atribuicao2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+
+        mockMvc.perform(delete("/api/v1/situacoes/{id}", situacao.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Situação utilizada por 1 cartório(s)"));
+        mockMvc.perform(delete("/api/v1/atribuicoes/{id}", atribuicao.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Atribuição utilizada por 1 cartório(s)"));
+
+        mockMvc.perform(delete("/api/v1/atribuicoes/{id}", atribuicao2.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/v1/situacoes/{id}", situacaoInativo.getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a situação de vários cartórios em lote")
+    void shouldUpdateSituacaoEmLote() throws Exception {
+        assertEquals(3, importados(importar(MediaType.APPLICATION_NDJSON,
+                "{\"id\": 1, \"nome\": \"1º Cartório\", \"situacaoId\": \"SIT_ATIVO\", " +
+                "\"atribuicoesIds\": [\"ATRIB_NOTAS\"]}\n" +
+                "{\"id\": 2, \"nome\": \"2º Cartório\", \"situacaoId\": \"SIT_INATIVO\", " +
+                "\"atribuicoesIds\": [\"ATRIB_NOTAS\"]}\n" +
+                "{\"id\": 3, \"nome\": \"3º Cartório\", \"situacaoId\": \"SIT_ATIVO\", " +
+                "\"atribuicoesIds\": [\"ATRIB_NOTAS\"]}")));
+
+        mockMvc.perform(put("/api/v1/cartorios/situacao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1, 2, 3, 99], \"situacaoId\": \"SIT_INATIVO\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alterados", contains(1, 3)))
+                .andExpect(jsonPath("$.inalterados", contains(2)))
+                .andExpect(jsonPath("$.naoEncontrados", contains(99)));
+
+        mockMvc.perform(get("/api/v1/cartorios/{id}", 3))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.situacao.id").value("SIT_INATIVO"));
+
+        mockMvc.perform(get("/api/v1/cartorios/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.situacoes[?(@.id == 'SIT_ATIVO')].quantidade").value(0))
+                .andExpect(jsonPath("$.situacoes[?(@.id == 'SIT_INATIVO')].quantidade").value(3));
+
+        assertEquals(0, statisticsService.reconciliar());
+    }
+
+    @Test
+    @DisplayName("Deve substituir e alterar o conjunto de atribuições do cartório")
+    void shouldReplaceAndChangeAtribuicoes() throws Exception {
+        mockMvc.perform(post("/api/v1/cartorios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}/atribuicoes", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"atribuicoesIds\": [\"ATRIB_ESCRITURAS\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atribuicoes", hasSize(1)))
+                .andExpect(jsonPath("$.atribuicoes[0].id").value("ATRIB_ESCRITURAS"));
+
+        mockMvc.perform(patch("/api/v1/cartorios/{id}/atribuicoes", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"incluir\": [\"ATRIB_NOTAS\"], \"remover\": [\"ATRIB_NOTAS\"]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/v1/cartorios/{id}/atribuicoes", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"remover\": [\"ATRIB_ESCRITURAS\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O cartório deve ter pelo menos uma atribuição"));
+
+        mockMvc.perform(patch("/api/v1/cartorios/{id}/atribuicoes", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"incluir\": [\"ATRIB_NOTAS\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atribuicoes", hasSize(2)));
+
+        mockMvc.perform(get("/api/v1/cartorios/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atribuicoes[?(@.id == 'ATRIB_NOTAS')].quantidade").value(1))
+                .andExpect(jsonPath("$.atribuicoes[?(@.id == 'ATRIB_ESCRITURAS')].quantidade").value(1));
+
+        assertEquals(0, statisticsService.reconciliar());
+    }
+
     @Test
     @DisplayName("Deve incluir uma nova atribuição ao cartório")
     void shouldIncludeANewAtribuicaoToCartorio() throws Exception {
@@ -181,4 +556,255 @@ class CartorioIT extends IntegrationTestBase {
                 .andExpect(jsonPath("$.situacao.id").value("SIT_INATIVO"));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve importar cartórios em NDJSON informando o resultado de cada registro")
+    void shouldImportCartoriosFromNdjson() throws Exception {
+        cartorioRepository.save(Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(situacao)
+                .atribuicoes(new HashSet<>(Set.of(atribuicao)))
+                .build());
+
+        String corpo = String.join("\n",
+                "{\"id\":2,\"nome\":\"2º Cartório\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}",
+                "{\"id\":1,\"nome\":\"Outro\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}",
+                "{\"id\":3,\"nome\":\"2º CARTÓRIO\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}",
+                "{\"id\":4,\"nome\":\"4º Cartório\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_INEXISTENTE\"]}",
+                "{\"id\":5,\"nome\":\"5º Cartório\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_ESCRITURAS\"]}");
+
+        List<JsonNode> resultados = importar(MediaType.APPLICATION_NDJSON, corpo);
+
+        assertEquals(5, resultados.size());
+        assertEquals(2, importados(resultados));
+        assertEquals("Registro já cadastrado", resultados.get(1).get("mensagem").asText());
+        assertEquals("Nome já informado no registro com código 2", resultados.get(2).get("mensagem").asText());
+        assertEquals("Atribuições não encontradas: ATRIB_INEXISTENTE", resultados.get(3).get("mensagem").asText());
+
+        assertEquals(3, cartorioRepository.count());
+        mockMvc.perform(get("/api/v1/cartorios/{id}", 5))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atribuicoes[0].id").value("ATRIB_ESCRITURAS"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar registros malformados no meio do NDJSON e seguir importando os seguintes")
+    void shouldSkipMalformedRecordInNdjson() throws Exception {
+        String corpo = String.join("\n",
+                "{\"id\":1,\"nome\":\"1º Cartório\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}",
+                "{\"id\":\"dois\",\"nome\":\"2º Cartório\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}",
+                "{\"id\":3,\"nome\":\"3º Cartório\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}",
+                "{\"id\":4,\"nome\":[\"4º Cartório\"],\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}");
+
+        List<JsonNode> resultados = importar(MediaType.APPLICATION_NDJSON, corpo);
+
+        assertEquals(4, resultados.size());
+        assertEquals(2, importados(resultados));
+        assertEquals(2, resultados.get(1).get("linha").asLong());
+        assertEquals("REJEITADO", resultados.get(1).get("status").asText());
+        assertEquals(3, resultados.get(2).get("linha").asLong());
+        assertEquals(3, resultados.get(2).get("id").asInt());
+        assertEquals("IMPORTADO", resultados.get(2).get("status").asText());
+        assertEquals(4, resultados.get(3).get("id").asInt());
+        assertEquals("REJEITADO", resultados.get(3).get("status").asText());
+
+        assertEquals(2, cartorioRepository.count());
+        mockMvc.perform(get("/api/v1/cartorios/{id}", 3))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("3º Cartório"));
+    }
+
+    @Test
+    @DisplayName("Deve importar cartórios de um array JSON")
+    void shouldImportCartoriosFromJsonArray() throws Exception {
+        List<CreateCartorioRequest> requests = List.of(dto, CreateCartorioRequest.builder()
+                .id(2)
+                .nome("2º Cartório")
+                .situacaoId(situacao.getId())
+                .atribuicoesIds(new HashSet<>(Set.of(atribuicao2.getId())))
+                .build());
+
+        List<JsonNode> resultados = importar(MediaType.APPLICATION_JSON, objectMapper.writeValueAsString(requests));
+
+        assertEquals(2, resultados.size());
+        assertEquals(2, importados(resultados));
+
+        assertEquals(2, cartorioRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve regravar um a um os registros do lote que falhou e rejeitar só os que violam restrições")
+    void shouldRetryFailedImportChunkRowByRow() throws Exception {
+        // removida direto no banco: o catálogo ainda a aceita e a falha só aparece no INSERT do lote
+        situacaoRepository.delete(situacaoInativo);
+
+        String corpo = String.join("\n",
+                "{\"id\":1,\"nome\":\"1º Cartório\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}",
+                "{\"id\":2,\"nome\":\"2º Cartório\",\"situacaoId\":\"SIT_INATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}",
+                "{\"id\":3,\"nome\":\"3º Cartório\",\"situacaoId\":\"SIT_ATIVO\",\"atribuicoesIds\":[\"ATRIB_NOTAS\"]}");
+
+        List<JsonNode> resultados = importar(MediaType.APPLICATION_NDJSON, corpo);
+
+        assertEquals(2, importados(resultados));
+        assertEquals(2, resultados.get(1).get("id").asInt());
+        assertEquals("REJEITADO", resultados.get(1).get("status").asText());
+        assertEquals("Situação não encontrada com o id: SIT_INATIVO", resultados.get(1).get("mensagem").asText());
+        assertEquals(2, cartorioRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve exportar todos os cartórios em CSV com situação e atribuições")
+    void shouldExportCartoriosAsCsv() throws Exception {
+        cartorioRepository.save(Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório, Centro")
+                .situacao(situacao)
+                .atribuicoes(new HashSet<>(Set.of(atribuicao, atribuicao2)))
+                .build());
+        cartorioRepository.save(Cartorio.builder()
+                .id(2)
+                .nome("2º Cartório")
+                .observacao("Teste de Integração")
+                .situacao(situacaoInativo)
+                .atribuicoes(new HashSet<>(Set.of(atribuicao)))
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/cartorios/export").param("formato", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"cartorios.csv\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(String.join("\n",
+                "id,nome,observacao,situacao_id,situacao_nome,atribuicoes_ids,atribuicoes_nomes",
+                "1,\"1º Cartório, Centro\",,SIT_ATIVO,Ativo,ATRIB_ESCRITURAS|ATRIB_NOTAS,Escrituras|Notas",
+                "2,2º Cartório,Teste de Integração,SIT_INATIVO,Inativo,ATRIB_NOTAS,Notas",
+                ""), csv);
+    }
+
+    @Test
+    @DisplayName("Deve exportar cartórios em NDJSON, um por linha")
+    void shouldExportCartoriosAsNdjson() throws Exception {
+        cartorioRepository.save(Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(situacao)
+                .atribuicoes(new HashSet<>(Set.of(atribuicao, atribuicao2)))
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/cartorios/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] linhas = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8)
+                .split("\n");
+
+        assertEquals(1, linhas.length);
+        JsonNode cartorioExportado = objectMapper.readTree(linhas[0]);
+        assertEquals(1, cartorioExportado.get("id").asInt());
+        assertEquals("SIT_ATIVO", cartorioExportado.get("situacao").get("id").asText());
+        assertEquals(2, cartorioExportado.get("atribuicoes").size());
+    }
+
+    @Test
+    @DisplayName("Deve usar a versão do cartório como ETag em leituras condicionais e alterações com If-Match")
+    void shouldHonorETagAndIfMatch() throws Exception {
+        cartorioRepository.save(Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(situacao)
+                .atribuicoes(new HashSet<>(Set.of(atribuicao)))
+                .build());
+
+        mockMvc.perform(get("/api/v1/cartorios/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(get("/api/v1/cartorios/{id}", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}/atribuicoes/add", 1)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"ATRIB_ESCRITURAS\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/api/v1/cartorios/{id}/atribuicoes/remove", 1)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"ATRIB_NOTAS\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/v1/cartorios/{id}", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atribuicoes", hasSize(2)));
+    }
+
+    /**
+     * Envia o corpo para a importação e devolve o relatório NDJSON, um resultado por registro.
+     */
+    private List<JsonNode> importar(MediaType tipo, String corpo) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/cartorios/import")
+                        .contentType(tipo)
+                        .content(corpo))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String relatorio = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        List<JsonNode> resultados = new ArrayList<>();
+        for (String linha : relatorio.split("\n")) {
+            resultados.add(objectMapper.readTree(linha));
+        }
+        return resultados;
+    }
+
+    private static long importados(List<JsonNode> resultados) {
+        return resultados.stream()
+                .filter(resultado -> "IMPORTADO".equals(resultado.get("status").asText()))
+                .count();
+    }
+
+    /**
+     * Percorre as alterações uma por página, como um cliente com lote mínimo, e devolve o token final.
+     */
+    private String sincronizar(String token, List<Integer> alterados, List<Integer> excluidos) throws Exception {
+        JsonNode pagina;
+        do {
+            String body = mockMvc.perform(get("/api/v1/cartorios/changes")
+                            .param("size", "1")
+                            .param("since", token == null ? "" : token))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            pagina = objectMapper.readTree(body);
+            pagina.get("alterados").forEach(item -> alterados.add(item.get("id").asInt()));
+            pagina.get("excluidos").forEach(item -> excluidos.add(item.asInt()));
+            token = pagina.get("nextToken").asText();
+        } while (pagina.get("hasNext").asBoolean());
+        return token;
+    }
+
+    private int faixas(String referenciaId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM contadores_cartorios WHERE tipo = 'SITUACAO' AND referencia_id = ?",
+                Integer.class, referenciaId);
+    }
+}
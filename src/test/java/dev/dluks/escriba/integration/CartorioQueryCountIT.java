@@ -0,0 +1,107 @@
+package dev.dluks.escriba.integration;
+
+import dev.dluks.escriba.configs.QueryCounter;
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.repositories.AtribuicaoRepository;
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.domain.repositories.SituacaoRepository;
+import dev.dluks.escriba.dtos.cartorio.CreateCartorioRequest;
+import dev.dluks.escriba.dtos.cartorio.UpdateCartorioRequest;
+import dev.dluks.escriba.services.CartorioService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fixa a quantidade de comandos SQL de cada escrita: uma consulta a mais, como o SELECT da linha referenciada que o
+ * Hibernate faz ao gravar uma associação montada fora do contexto, quebra o build.
+ */
+class CartorioQueryCountIT extends IntegrationTestBase {
+
+    @Autowired
+    private CartorioService service;
+
+    @Autowired
+    private QueryCounter counter;
+
+    @Autowired
+    private CartorioRepository cartorioRepository;
+
+    @Autowired
+    private SituacaoRepository situacaoRepository;
+
+    @Autowired
+    private AtribuicaoRepository atribuicaoRepository;
+
+    @Override
+    protected void cleanDatabase() {
+        cartorioRepository.deleteAll();
+        situacaoRepository.deleteAll();
+        atribuicaoRepository.deleteAll();
+    }
+
+    @Override
+    protected void setupTestData() {
+        Situacao ativo = situacaoRepository.save(Situacao.builder().id("SIT_ATIVO").nome("Ativo").build());
+        situacaoRepository.save(Situacao.builder().id("SIT_INATIVO").nome("Inativo").build());
+        Atribuicao notas = atribuicaoRepository.save(Atribuicao.builder()
+                .id("ATRIB_NOTAS")
+                .nome("Notas")
+                .situacao(true)
+                .build());
+        cartorioRepository.save(Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(ativo)
+                .atribuicoes(new HashSet<>(Set.of(notas)))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve criar cartório sem consultar situação e atribuições")
+    void shouldCreateWithoutSelectingReferences() {
+        counter.start();
+        service.create(CreateCartorioRequest.builder()
+                .id(2)
+                .nome("2º Cartório")
+                .situacaoId("SIT_ATIVO")
+                .atribuicoesIds(Set.of("ATRIB_NOTAS"))
+                .build());
+
+        // INSERT cartorios, INSERT cartorios_atribuicoes, MERGE dos contadores de situação e de atribuição,
+        // UPDATE eventos_sequencia, INSERT eventos, DELETE cartorios_excluidos e UPDATE da revisão
+        assertEquals(8, counter.stop());
+    }
+
+    @Test
+    @DisplayName("Deve alterar situação sem consultar a situação nova")
+    void shouldChangeSituacaoWithoutSelectingSituacao() {
+        counter.start();
+        service.changeSituacao(1, "SIT_INATIVO", null);
+
+        // SELECT do cartório com as associações, MERGE dos contadores, UPDATE cartorios,
+        // UPDATE eventos_sequencia, INSERT eventos e UPDATE da revisão
+        assertEquals(6, counter.stop());
+    }
+
+    @Test
+    @DisplayName("Deve alterar nome e observação sem consultas extras")
+    void shouldUpdateWithoutExtraQueries() {
+        counter.start();
+        service.update(1, UpdateCartorioRequest.builder()
+                .nome("Outro nome")
+                .observacao("Observação")
+                .build(), null);
+
+        // SELECT do cartório com as associações, SELECT do nome duplicado, UPDATE cartorios,
+        // UPDATE eventos_sequencia, INSERT eventos e UPDATE da revisão
+        assertEquals(6, counter.stop());
+    }
+}
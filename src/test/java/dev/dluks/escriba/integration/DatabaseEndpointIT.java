@@ -0,0 +1,38 @@
+package dev.dluks.escriba.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A manutenção do banco só fica disponível na web quando o endpoint é incluído explicitamente na exposição do
+ * Actuator; o caso exposto é coberto pelo {@link DatabaseRestartIT}.
+ */
+class DatabaseEndpointIT extends IntegrationTestBase {
+
+    @Override
+    protected void cleanDatabase() {
+    }
+
+    @Override
+    protected void setupTestData() {
+    }
+
+    @Test
+    @DisplayName("Não deve expor a manutenção do banco na web por padrão")
+    void shouldNotExposeDatabaseEndpointByDefault() throws Exception {
+        mockMvc.perform(get("/actuator"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.database").doesNotExist());
+
+        mockMvc.perform(post("/actuator/database/backup"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/database/backup"))
+                .andExpect(status().isNotFound());
+    }
+
+}
@@ -0,0 +1,135 @@
+package dev.dluks.escriba.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dluks.escriba.EscribaApplication;
+import org.h2.tools.Restore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sobe a aplicação com o perfil {@code prod} sobre um diretório temporário, encerra e sobe de novo, como um
+ * reinício do servidor. Cada contexto é criado pelo próprio teste, fora do cache de contextos do Spring.
+ */
+class DatabaseRestartIT {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve preservar os dados do banco em arquivo entre reinícios")
+    void shouldKeepDataAcrossRestarts() throws Exception {
+        Path banco = diretorio.resolve("banco");
+        int migracoes;
+
+        try (ConfigurableApplicationContext contexto = iniciar(banco)) {
+            MockMvc mockMvc = mockMvc(contexto);
+            criarCartorio(mockMvc);
+            migracoes = contarMigracoes(contexto);
+
+            mockMvc.perform(post("/actuator/database/checkpoint"))
+                    .andExpect(status().isNoContent());
+        }
+
+        try (ConfigurableApplicationContext contexto = iniciar(banco)) {
+            MockMvc mockMvc = mockMvc(contexto);
+
+            mockMvc.perform(get("/api/v1/cartorios/{id}", 1))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nome").value("Cartório Persistente"))
+                    .andExpect(jsonPath("$.atribuicoes[0].id").value("ATRIB_DURAVEL"));
+            // índice de busca e contadores são reconstruídos a partir do banco na subida
+            mockMvc.perform(get("/api/v1/cartorios/search").param("q", "persistente"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1));
+            mockMvc.perform(get("/api/v1/cartorios/estatisticas"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(1));
+
+            // as migrações já aplicadas não rodam de novo
+            assertEquals(migracoes, contarMigracoes(contexto));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o banco a partir do backup online")
+    void shouldRestoreFromOnlineBackup() throws Exception {
+        Path arquivo;
+        try (ConfigurableApplicationContext contexto = iniciar(diretorio.resolve("banco"))) {
+            MockMvc mockMvc = mockMvc(contexto);
+            criarCartorio(mockMvc);
+
+            String body = mockMvc.perform(post("/actuator/database/backup"))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            JsonNode backup = new ObjectMapper().readTree(body);
+            arquivo = diretorio.resolve("banco").resolve("backup").resolve(backup.get("arquivo").asText());
+            assertTrue(Files.size(arquivo) > 0);
+        }
+
+        Path restaurado = diretorio.resolve("restaurado");
+        Files.createDirectories(restaurado);
+        Restore.execute(arquivo.toString(), restaurado.toString(), "cartoriodb");
+
+        try (ConfigurableApplicationContext contexto = iniciar(restaurado)) {
+            mockMvc(contexto).perform(get("/api/v1/cartorios/{id}", 1))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nome").value("Cartório Persistente"));
+        }
+    }
+
+    /**
+     * O perfil {@code prod} vem depois do {@code test} para que o banco em arquivo substitua o de memória; o de teste
+     * continua desligando as tarefas agendadas. O diretório vai como argumento de linha de comando porque as
+     * propriedades do builder são apenas padrões, que o {@code application-prod.yml} sobrescreve. O endpoint
+     * {@code database} do Actuator é exposto só aqui; por padrão ele fica fora da web.
+     */
+    private static ConfigurableApplicationContext iniciar(Path banco) {
+        return new SpringApplicationBuilder(EscribaApplication.class)
+                .profiles("test", "prod")
+                .run("--escriba.banco.diretorio=" + banco.toAbsolutePath(), "--server.port=0",
+                        "--management.endpoints.web.exposure.include=health,database");
+    }
+
+    private static MockMvc mockMvc(ConfigurableApplicationContext contexto) {
+        return MockMvcBuilders.webAppContextSetup((WebApplicationContext) contexto).build();
+    }
+
+    private static int contarMigracoes(ConfigurableApplicationContext contexto) {
+        return contexto.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT COUNT(*) FROM \"flyway_schema_history\"", Integer.class);
+    }
+
+    private static void criarCartorio(MockMvc mockMvc) throws Exception {
+        mockMvc.perform(post("/api/v1/atribuicoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"ATRIB_DURAVEL\", \"nome\": \"Durável\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/cartorios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 1, \"nome\": \"Cartório Persistente\", \"situacaoId\": \"SIT_ATIVO\", " +
+                                 "\"atribuicoesIds\": [\"ATRIB_DURAVEL\"]}"))
+                .andExpect(status().isCreated());
+    }
+
+}
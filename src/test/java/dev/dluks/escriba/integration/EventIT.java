@@ -0,0 +1,144 @@
+package dev.dluks.escriba.integration;
+
+import dev.dluks.escriba.domain.repositories.EventoRepository;
+import dev.dluks.escriba.domain.repositories.SituacaoRepository;
+import dev.dluks.escriba.dtos.evento.EventoResponse;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
+import dev.dluks.escriba.dtos.situacao.CreateSituacaoRequest;
+import dev.dluks.escriba.dtos.situacao.UpdateSituacaoRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class EventIT extends IntegrationTestBase {
+
+    private static final String SITUACAO_ID = "SIT_EVENTO";
+
+    @Autowired
+    private SituacaoRepository situacaoRepository;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    private CreateSituacaoRequest situacao;
+
+    @Override
+    protected void cleanDatabase() {
+        situacaoRepository.findById(SITUACAO_ID).ifPresent(situacaoRepository::delete);
+    }
+
+    @Override
+    protected void setupTestData() {
+        situacao = new CreateSituacaoRequest(SITUACAO_ID, "Situação Evento");
+    }
+
+    @Test
+    @DisplayName("Deve registrar um evento por escrita, em sequência")
+    void shouldRecordOneEventPerWrite() throws Exception {
+        long ultima = eventoRepository.findUltimaSequencia();
+
+        mockMvc.perform(post("/api/v1/situacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(situacao)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(put("/api/v1/situacoes/" + SITUACAO_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateSituacaoRequest("Situação Renomeada"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/situacoes/" + SITUACAO_ID))
+                .andExpect(status().isNoContent());
+
+        List<EventoResponse> eventos = eventoRepository.findApos(ultima, 10);
+
+        assertEquals(List.of(ultima + 1, ultima + 2, ultima + 3), eventos.stream()
+                .map(EventoResponse::getSequencia)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(OperacaoEvento.INCLUSAO, OperacaoEvento.ALTERACAO, OperacaoEvento.EXCLUSAO),
+                eventos.stream()
+                        .map(EventoResponse::getOperacao)
+                        .collect(Collectors.toList()));
+        assertTrue(eventos.stream().allMatch(evento ->
+                evento.getRecurso() == RecursoEvento.SITUACAO && SITUACAO_ID.equals(evento.getRecursoId())));
+        assertTrue(eventos.get(1).getDados().contains("Situação Renomeada"));
+        assertNull(eventos.get(2).getDados());
+    }
+
+    @Test
+    @DisplayName("Deve medir a espera e a retenção da reserva de sequências")
+    void shouldMeasureSequenceReservation() throws Exception {
+        mockMvc.perform(post("/api/v1/situacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(situacao)))
+                .andExpect(status().isCreated());
+
+        for (String fase : List.of("espera", "retencao")) {
+            mockMvc.perform(get("/actuator/metrics/escriba.eventos.sequencia")
+                            .param("tag", "fase:" + fase))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").isNotEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve registrar evento de escrita rejeitada")
+    void shouldNotRecordEventOfRejectedWrite() throws Exception {
+        mockMvc.perform(post("/api/v1/situacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(situacao)))
+                .andExpect(status().isCreated());
+        long ultima = eventoRepository.findUltimaSequencia();
+
+        mockMvc.perform(post("/api/v1/situacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(situacao)))
+                .andExpect(status().isConflict());
+
+        assertEquals(ultima, eventoRepository.findUltimaSequencia());
+        assertTrue(eventoRepository.findApos(ultima, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve abrir o fluxo de eventos a partir do Last-Event-ID")
+    void shouldOpenStreamFromLastEventId() throws Exception {
+        long ultima = eventoRepository.findUltimaSequencia();
+
+        mockMvc.perform(get("/api/v1/events")
+                        .header("Last-Event-ID", ultima)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("Deve responder 410 para sequência desconhecida")
+    void shouldRejectUnknownSequence() throws Exception {
+        long ultima = eventoRepository.findUltimaSequencia();
+
+        mockMvc.perform(get("/api/v1/events")
+                        .param("after", String.valueOf(ultima + 100))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isGone())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value(
+                        String.format("Sequência %d desconhecida; a última registrada é %d", ultima + 100, ultima)));
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 para sequência negativa")
+    void shouldRejectNegativeSequence() throws Exception {
+        mockMvc.perform(get("/api/v1/events")
+                        .param("after", "-5")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A sequência deve ser maior ou igual a zero"));
+    }
+
+}
@@ -1,6 +1,9 @@
 package dev.dluks.escriba.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.dluks.escriba.services.CartorioSearchIndex;
+import dev.dluks.escriba.services.CartorioStatisticsService;
+import dev.dluks.escriba.services.ReferenceCatalog;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -19,11 +22,25 @@ public abstract class IntegrationTestBase {
     @Autowired
     protected ObjectMapper objectMapper;
 
+    @Autowired
+    protected ReferenceCatalog referenceCatalog;
+
+    @Autowired
+    protected CartorioSearchIndex searchIndex;
+
+    @Autowired
+    protected CartorioStatisticsService statisticsService;
+
     @BeforeEach
     void setUp() {
         // Setup comum para todos os testes de integração
         cleanDatabase();
         setupTestData();
+        // Os dados de teste são gravados direto nos repositórios, fora dos serviços que mantêm o catálogo,
+        // o índice de busca e os contadores
+        referenceCatalog.reload();
+        searchIndex.reload();
+        statisticsService.reconciliar();
     }
 
     protected abstract void cleanDatabase();
@@ -0,0 +1,100 @@
+package dev.dluks.escriba.integration;
+
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.repositories.AtribuicaoRepository;
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.domain.repositories.SituacaoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MetricsIT extends IntegrationTestBase {
+
+    @Autowired
+    private CartorioRepository cartorioRepository;
+
+    @Autowired
+    private SituacaoRepository situacaoRepository;
+
+    @Autowired
+    private AtribuicaoRepository atribuicaoRepository;
+
+    @Override
+    protected void cleanDatabase() {
+        cartorioRepository.deleteAll();
+        situacaoRepository.deleteAll();
+        atribuicaoRepository.deleteAll();
+    }
+
+    @Override
+    protected void setupTestData() {
+        Situacao ativo = situacaoRepository.save(Situacao.builder().id("SIT_ATIVO").nome("Ativo").build());
+        Atribuicao notas = atribuicaoRepository.save(Atribuicao.builder()
+                .id("ATRIB_NOTAS")
+                .nome("Notas")
+                .situacao(true)
+                .build());
+        cartorioRepository.save(Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(ativo)
+                .atribuicoes(new HashSet<>(Set.of(notas)))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve publicar métricas de serviço e de comandos SQL por requisição")
+    void shouldPublishMetrics() throws Exception {
+        mockMvc.perform(get("/api/v1/situacoes"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/escriba.http.server.queries")
+                        .param("tag", "uri:/api/v1/situacoes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").isNotEmpty());
+
+        mockMvc.perform(get("/actuator/metrics/escriba.service")
+                        .param("tag", "class:dev.dluks.escriba.services.SituacaoService"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve contar nas métricas por requisição os comandos SQL executados via JdbcTemplate")
+    void shouldCountJdbcTemplateQueriesPerRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/cartorios/estatisticas"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/escriba.http.server.queries")
+                        .param("tag", "uri:/api/v1/cartorios/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'MAX')].value").value(2.0));
+    }
+
+    @Test
+    @DisplayName("Deve contar na requisição os comandos SQL da exportação executada fora da thread da requisição")
+    void shouldCountAsyncExportQueriesPerRequest() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/cartorios/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        // a consulta da exportação, executada pelo executor do MVC depois que a thread da requisição foi liberada
+        mockMvc.perform(get("/actuator/metrics/escriba.http.server.queries")
+                        .param("tag", "uri:/api/v1/cartorios/export"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'MAX')].value").value(1.0));
+    }
+}
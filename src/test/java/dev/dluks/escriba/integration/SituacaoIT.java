@@ -1,5 +1,6 @@
 package dev.dluks.escriba.integration;
 
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
 import dev.dluks.escriba.domain.repositories.SituacaoRepository;
 import dev.dluks.escriba.dtos.situacao.CreateSituacaoRequest;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponseMin;
@@ -19,12 +20,17 @@ class SituacaoIT extends IntegrationTestBase {
     @Autowired
     private SituacaoRepository repository;
 
+    @Autowired
+    private CartorioRepository cartorioRepository;
+
     private SituacaoResponseMin dto;
 
     private CreateSituacaoRequest badDto;
 
     @Override
     protected void cleanDatabase() {
+        // cartórios deixados por outras classes de teste referenciam os registros apagados aqui
+        cartorioRepository.deleteAll();
         repository.deleteAll();
     }
 
@@ -82,4 +88,4 @@ class SituacaoIT extends IntegrationTestBase {
                         .content(objectMapper.writeValueAsString(badDto)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+}
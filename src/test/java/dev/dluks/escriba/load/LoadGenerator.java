@@ -0,0 +1,202 @@
+package dev.dluks.escriba.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Gerador de carga HTTP em malha fechada: cada thread escolhe uma operação pelo peso, envia a requisição,
+ * espera a resposta e registra a latência em microssegundos no histograma HDR da operação.
+ */
+class LoadGenerator {
+
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final int threads;
+    private final Duration duracao;
+    private final Duration aquecimento;
+
+    LoadGenerator(String baseUrl, int threads, Duration duracao, Duration aquecimento) {
+        this.baseUrl = baseUrl;
+        this.threads = threads;
+        this.duracao = duracao;
+        this.aquecimento = aquecimento;
+    }
+
+    Resultado executar(String nome, List<Operacao> operacoes) throws InterruptedException {
+        rodar(operacoes, aquecimento, null);
+        Resultado resultado = new Resultado(nome, operacoes);
+        rodar(operacoes, duracao, resultado);
+        return resultado;
+    }
+
+    private void rodar(List<Operacao> operacoes, Duration tempo, Resultado resultado) throws InterruptedException {
+        int pesoTotal = operacoes.stream().mapToInt(Operacao::getPeso).sum();
+        long fim = System.nanoTime() + tempo.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < fim) {
+                    Operacao operacao = sortear(operacoes, pesoTotal);
+                    HttpRequest request = operacao.requisicao.get();
+                    long inicio = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (resultado != null) {
+                        resultado.registrar(operacao, status, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio));
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(tempo.toSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Operacao sortear(List<Operacao> operacoes, int pesoTotal) {
+        int sorteio = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            sorteio -= operacao.peso;
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        return operacoes.get(operacoes.size() - 1);
+    }
+
+    HttpRequest.Builder get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+    }
+
+    HttpRequest.Builder send(String metodo, String caminho, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    static final class Operacao {
+
+        private final String nome;
+        private final int peso;
+        private final Supplier<HttpRequest> requisicao;
+
+        Operacao(String nome, int peso, Supplier<HttpRequest> requisicao) {
+            this.nome = nome;
+            this.peso = peso;
+            this.requisicao = requisicao;
+        }
+
+        int getPeso() {
+            return peso;
+        }
+    }
+
+    static final class Resultado {
+
+        private final String nome;
+        private final Histogram geral = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+        private final Map<String, Histogram> porOperacao = new LinkedHashMap<>();
+        private final LongAdder erros = new LongAdder();
+        private final LongAdder falhasServidor = new LongAdder();
+        private final long inicio = System.nanoTime();
+        private volatile long fim;
+
+        private Resultado(String nome, List<Operacao> operacoes) {
+            this.nome = nome;
+            operacoes.forEach(operacao -> porOperacao.put(operacao.nome, new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3)));
+        }
+
+        private void registrar(Operacao operacao, int status, long latenciaUs) {
+            long valor = Math.min(latenciaUs, LATENCIA_MAXIMA_US);
+            geral.recordValue(valor);
+            porOperacao.get(operacao.nome).recordValue(valor);
+            if (status < 200 || status >= 400) {
+                erros.increment();
+            }
+            if (status < 0 || status >= 500) {
+                falhasServidor.increment();
+            }
+            fim = System.nanoTime();
+        }
+
+        long getTotal() {
+            return geral.getTotalCount();
+        }
+
+        long getErros() {
+            return erros.sum();
+        }
+
+        long getFalhasServidor() {
+            return falhasServidor.sum();
+        }
+
+        double getVazao() {
+            return getTotal() / ((fim - inicio) / 1_000_000_000.0);
+        }
+
+        void imprimir(PrintStream saida) {
+            saida.printf("%n== %s: %d requisições, %.1f req/s, %d erros (%d falhas do servidor)%n",
+                    nome, getTotal(), getVazao(), getErros(), getFalhasServidor());
+            saida.printf("%-28s %10s %10s %10s %10s %10s%n", "operação", "n", "p50 ms", "p99 ms", "p999 ms", "max ms");
+            List<Map.Entry<String, Histogram>> linhas = new ArrayList<>(porOperacao.entrySet());
+            linhas.add(Map.entry("(todas)", geral));
+            for (Map.Entry<String, Histogram> linha : linhas) {
+                Histogram histograma = linha.getValue();
+                saida.printf("%-28s %10d %10.2f %10.2f %10.2f %10.2f%n",
+                        linha.getKey(),
+                        histograma.getTotalCount(),
+                        histograma.getValueAtPercentile(50) / 1000.0,
+                        histograma.getValueAtPercentile(99) / 1000.0,
+                        histograma.getValueAtPercentile(99.9) / 1000.0,
+                        histograma.getMaxValue() / 1000.0);
+            }
+        }
+
+        /**
+         * Grava a distribuição completa em formato .hgrm (em milissegundos), legível pelo HdrHistogram plotter.
+         */
+        void gravar(Path diretorio) throws IOException {
+            Files.createDirectories(diretorio);
+            try (PrintStream saida = new PrintStream(Files.newOutputStream(diretorio.resolve(nome + ".hgrm")))) {
+                geral.outputPercentileDistribution(saida, 1000.0);
+            }
+        }
+    }
+
+}
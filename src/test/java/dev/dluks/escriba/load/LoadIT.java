@@ -0,0 +1,189 @@
+package dev.dluks.escriba.load;
+
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.repositories.AtribuicaoRepository;
+import dev.dluks.escriba.domain.repositories.CartorioBatchRepository;
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.domain.repositories.SituacaoRepository;
+import dev.dluks.escriba.services.ReferenceCatalog;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes de carga contra a aplicação em porta aleatória com um banco H2 próprio e pré-carregado.
+ * <p>
+ * Só rodam com {@code -Describa.load=true}. Parâmetros: {@code escriba.load.threads} (padrão 8),
+ * {@code escriba.load.duration} e {@code escriba.load.warmup} em segundos (padrão 20 e 5) e
+ * {@code escriba.load.cartorios} (padrão 5000). As distribuições completas são gravadas em {@code target/load}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:escriba-load;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.show-sql=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "escriba.load", matches = "true")
+class LoadIT {
+
+    private static final int TAMANHO_PAGINA = 20;
+    private static final int QUANTIDADE_ATRIBUICOES = 20;
+    private static final Path DIRETORIO_RESULTADOS = Path.of("target", "load");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SituacaoRepository situacaoRepository;
+
+    @Autowired
+    private AtribuicaoRepository atribuicaoRepository;
+
+    @Autowired
+    private CartorioRepository cartorioRepository;
+
+    @Autowired
+    private CartorioBatchRepository batchRepository;
+
+    @Autowired
+    private ReferenceCatalog referenceCatalog;
+
+    private final int quantidadeCartorios = Integer.getInteger("escriba.load.cartorios", 5000);
+    private final AtomicInteger proximoId = new AtomicInteger();
+    private int primeiroCartorio;
+    private final AtomicInteger revisao = new AtomicInteger();
+
+    private LoadGenerator generator;
+    private List<String> atribuicoes;
+
+    @BeforeAll
+    void seed() {
+        Situacao situacao = situacaoRepository.findAll().get(0);
+        List<Atribuicao> salvas = atribuicaoRepository.saveAll(IntStream.rangeClosed(1, QUANTIDADE_ATRIBUICOES)
+                .mapToObj(i -> Atribuicao.builder()
+                        .id("CARGA_" + i)
+                        .nome("Atribuição de carga " + i)
+                        .situacao(true)
+                        .build())
+                .collect(Collectors.toList()));
+        atribuicoes = salvas.stream().map(Atribuicao::getId).collect(Collectors.toList());
+
+        int inicio = cartorioRepository.findAll().stream().mapToInt(Cartorio::getId).max().orElse(0) + 1;
+        List<Cartorio> lote = new ArrayList<>();
+        for (int id = inicio; id < inicio + quantidadeCartorios; id++) {
+            lote.add(Cartorio.builder()
+                    .id(id)
+                    .nome("Cartório de carga " + id)
+                    .observacao("Gerado para teste de carga")
+                    .situacao(situacao)
+                    .atribuicoes(Set.of(salvas.get(id % salvas.size()), salvas.get((id + 7) % salvas.size())))
+                    .build());
+            if (lote.size() == 1000) {
+                batchRepository.insertAll(lote);
+                lote.clear();
+            }
+        }
+        batchRepository.insertAll(lote);
+        primeiroCartorio = inicio;
+        proximoId.set(inicio + quantidadeCartorios);
+        referenceCatalog.reload();
+
+        generator = new LoadGenerator("http://localhost:" + port,
+                Integer.getInteger("escriba.load.threads", 8),
+                Duration.ofSeconds(Long.getLong("escriba.load.duration", 20)),
+                Duration.ofSeconds(Long.getLong("escriba.load.warmup", 5)));
+    }
+
+    @Test
+    @DisplayName("Carga de leitura: detalhe de cartório, situações, atribuições e primeira página")
+    void readHeavy() throws Exception {
+        executar("read-heavy", List.of(
+                new LoadGenerator.Operacao("GET /cartorios/{id}", 70,
+                        () -> generator.get("/api/v1/cartorios/" + cartorioAleatorio()).build()),
+                new LoadGenerator.Operacao("GET /cartorios", 10,
+                        () -> generator.get("/api/v1/cartorios?size=" + TAMANHO_PAGINA).build()),
+                new LoadGenerator.Operacao("GET /atribuicoes/{id}", 10,
+                        () -> generator.get("/api/v1/atribuicoes/" + atribuicaoAleatoria()).build()),
+                new LoadGenerator.Operacao("GET /situacoes", 10,
+                        () -> generator.get("/api/v1/situacoes").build())));
+    }
+
+    @Test
+    @DisplayName("Carga de escrita: criação, atualização, atribuições e situação de cartórios")
+    void writeHeavy() throws Exception {
+        String situacao = situacaoRepository.findAll().get(0).getId();
+        executar("write-heavy", List.of(
+                new LoadGenerator.Operacao("POST /cartorios", 30, () -> {
+                    int id = proximoId.getAndIncrement();
+                    return generator.send("POST", "/api/v1/cartorios", String.format(
+                            "{\"id\":%d,\"nome\":\"Cartório novo %d\",\"situacaoId\":\"%s\",\"atribuicoesIds\":[\"%s\"]}",
+                            id, id, situacao, atribuicaoAleatoria())).build();
+                }),
+                new LoadGenerator.Operacao("PUT /cartorios/{id}", 30, () -> {
+                    int id = cartorioAleatorio();
+                    return generator.send("PUT", "/api/v1/cartorios/" + id, String.format(
+                            "{\"nome\":\"Cartório %d rev %d\",\"observacao\":\"Atualizado\"}",
+                            id, revisao.incrementAndGet())).build();
+                }),
+                new LoadGenerator.Operacao("PUT /{id}/atribuicoes/add", 25,
+                        () -> generator.send("PUT", "/api/v1/cartorios/" + cartorioAleatorio() + "/atribuicoes/add",
+                                "{\"id\":\"" + atribuicaoAleatoria() + "\"}").build()),
+                new LoadGenerator.Operacao("PUT /{id}/situacao", 15,
+                        () -> generator.send("PUT", "/api/v1/cartorios/" + cartorioAleatorio() + "/situacao",
+                                "{\"id\":\"" + situacao + "\"}").build())));
+    }
+
+    @Test
+    @DisplayName("Carga de listagem com páginas profundas, com e sem contagem total")
+    void deepPages() throws Exception {
+        int paginas = quantidadeCartorios / TAMANHO_PAGINA;
+        executar("deep-pages", List.of(
+                new LoadGenerator.Operacao("GET /cartorios?page=deep", 50,
+                        () -> generator.get(String.format("/api/v1/cartorios?size=%d&page=%d",
+                                TAMANHO_PAGINA, paginaProfunda(paginas))).build()),
+                new LoadGenerator.Operacao("GET /cartorios?page=deep&total=false", 50,
+                        () -> generator.get(String.format("/api/v1/cartorios?size=%d&page=%d&total=false",
+                                TAMANHO_PAGINA, paginaProfunda(paginas))).build())));
+    }
+
+    private void executar(String nome, List<LoadGenerator.Operacao> operacoes) throws Exception {
+        LoadGenerator.Resultado resultado = generator.executar(nome, operacoes);
+        resultado.imprimir(System.out);
+        resultado.gravar(DIRETORIO_RESULTADOS);
+
+        assertTrue(resultado.getTotal() > 0, "Nenhuma requisição concluída");
+        assertEquals(0, resultado.getFalhasServidor(), "Respostas 5xx ou falhas de conexão durante a carga");
+    }
+
+    private int cartorioAleatorio() {
+        return primeiroCartorio + ThreadLocalRandom.current().nextInt(quantidadeCartorios);
+    }
+
+    private String atribuicaoAleatoria() {
+        return atribuicoes.get(ThreadLocalRandom.current().nextInt(atribuicoes.size()));
+    }
+
+    private static int paginaProfunda(int paginas) {
+        return paginas / 2 + ThreadLocalRandom.current().nextInt(Math.max(paginas - paginas / 2, 1));
+    }
+
+}
@@ -2,12 +2,20 @@ package dev.dluks.escriba.services;
 
 import dev.dluks.escriba.domain.entities.Atribuicao;
 import dev.dluks.escriba.domain.exceptions.DuplicateResourceException;
+import dev.dluks.escriba.domain.exceptions.IntegrityConstraintException;
 import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
 import dev.dluks.escriba.domain.repositories.AtribuicaoRepository;
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
 import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponse;
 import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponseMin;
 import dev.dluks.escriba.dtos.atribuicao.CreateAtribuicaoRequest;
 import dev.dluks.escriba.dtos.atribuicao.UpdateAtribuicaoRequest;
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,16 +25,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,6 +54,15 @@ class AtribuicaoServiceTest {
     @Mock
     private AtribuicaoRepository repository;
 
+    @Mock
+    private CartorioRepository cartorioRepository;
+
+    @Mock
+    private ReferenceCatalog catalog;
+
+    @Mock
+    private EventOutbox outbox;
+
     @InjectMocks
     private AtribuicaoService service;
 
@@ -85,50 +111,61 @@ class AtribuicaoServiceTest {
     @Test
     @DisplayName("Deve criar uma atribuição")
     void shouldCreateAtribuicao() {
-        when(repository.existsById(dtoCreate.getId())).thenReturn(false);
-        when(repository.findByNomeIgnoreCase(dtoCreate.getNome())).thenReturn(Optional.empty());
-        when(repository.save(any(Atribuicao.class))).thenReturn(atribuicao);
-
         AtribuicaoResponse result = service.create(dtoCreate);
 
         assertNotNull(result);
         assertEquals(dtoCreate.getId(), result.getId());
         assertEquals(dtoCreate.getNome(), result.getNome());
-        verify(repository).save(any(Atribuicao.class));
+        verify(repository).insert(any(Atribuicao.class));
+        verify(repository, never()).existsById(any());
+        verify(catalog).put(result);
+        verify(outbox).registrar(RecursoEvento.ATRIBUICAO, OperacaoEvento.INCLUSAO, result.getId(), result);
     }
 
     @Test
     @DisplayName("Deve criar uma atribuição com situação false")
     void shouldCreateAtribuicaoWithSituacaoFalse() {
-        when(repository.existsById(dtoCreateWithSituacaoFalse.getId())).thenReturn(false);
-        when(repository.findByNomeIgnoreCase(dtoCreateWithSituacaoFalse.getNome())).thenReturn(Optional.empty());
-        when(repository.save(any(Atribuicao.class))).thenReturn(atribuicaoWithSituacaoFalse);
-
         AtribuicaoResponse result = service.create(dtoCreateWithSituacaoFalse);
 
         assertNotNull(result);
         assertEquals(dtoCreateWithSituacaoFalse.getId(), result.getId());
         assertEquals(dtoCreateWithSituacaoFalse.getNome(), result.getNome());
         assertFalse(result.isSituacao());
-        verify(repository).save(any(Atribuicao.class));
+        verify(repository).insert(any(Atribuicao.class));
     }
 
     @Test
     @DisplayName("Não deve criar uma atribuição com id duplicado")
     void shouldNotCreateAtribuicaoWithDuplicatedId() {
-        when(repository.existsById(dtoCreate.getId())).thenReturn(true);
+        doThrow(violacao("PUBLIC.PRIMARY_KEY_E ON PUBLIC.ATRIBUICOES(ID)"))
+                .when(repository).insert(any(Atribuicao.class));
+
+        DuplicateResourceException exception =
+                assertThrows(DuplicateResourceException.class, () -> service.create(dtoCreate));
 
-        assertThrows(DuplicateResourceException.class, () -> service.create(dtoCreate));
+        assertEquals("Registro já cadastrado", exception.getMessage());
     }
 
     @Test
     @DisplayName("Não deve criar uma atribuição com nome duplicado")
     void shouldNotCreateAtribuicaoWithDuplicatedName() {
-        when(repository.existsById(dtoCreate.getId())).thenReturn(false);
-        when(repository.findByNomeIgnoreCase(dtoCreate.getNome())).thenReturn(Optional.of(atribuicao));
+        doThrow(violacao("PUBLIC.UK_ATRIBUICOES_NOME_NORMALIZADO ON PUBLIC.ATRIBUICOES(NOME_NORMALIZADO)"))
+                .when(repository).insert(any(Atribuicao.class));
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(dtoCreate.getNome()))).thenReturn(Optional.of(atribuicao));
+
+        DuplicateResourceException exception =
+                assertThrows(DuplicateResourceException.class, () -> service.create(dtoCreate));
+
+        assertEquals("Nome já informado no registro com código " + atribuicao.getId(), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Não deve traduzir violação de outra restrição como duplicidade")
+    void shouldRethrowOtherConstraintViolations() {
+        DataIntegrityViolationException violacao = violacao("PUBLIC.CONSTRAINT_X ON PUBLIC.ATRIBUICOES(NOME)");
+        doThrow(violacao).when(repository).insert(any(Atribuicao.class));
 
-        assertThrows(DuplicateResourceException.class, () -> service
-                .create(dtoCreate));
+        assertSame(violacao, assertThrows(DataIntegrityViolationException.class, () -> service.create(dtoCreate)));
     }
 
     @Test
@@ -151,7 +188,7 @@ class AtribuicaoServiceTest {
         String id = "ATRIB_TEST";
         when(repository.findById(id)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> service.update(id, dtoUpdate));
+        assertThrows(ResourceNotFoundException.class, () -> service.update(id, dtoUpdate, null));
     }
 
     @Test
@@ -170,15 +207,27 @@ class AtribuicaoServiceTest {
         verify(repository).findAll(pageable);
     }
 
+    @Test
+    @DisplayName("Deve listar as atribuições sem contagem total")
+    void shouldListAtribuicoesSlice() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(atribuicao), pageable, false));
+
+        Slice<AtribuicaoResponseMin> result = service.findSlice(pageable);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.hasNext());
+        verify(repository).findSliceBy(pageable);
+    }
+
     @Test
     @DisplayName("Deve ativar uma atribuição")
     void shouldActivateAtribuicao() {
         String id = "ATRIB_TESTE";
 
         when(repository.findById(id)).thenReturn(Optional.of(atribuicao));
-        when(repository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        AtribuicaoResponse resultado = service.changeSituacao(id, true);
+        AtribuicaoResponse resultado = service.changeSituacao(id, true, null);
 
         assertTrue(resultado.isSituacao());
     }
@@ -189,9 +238,8 @@ class AtribuicaoServiceTest {
         String id = "ATRIB_TESTE";
 
         when(repository.findById(id)).thenReturn(Optional.of(atribuicao));
-        when(repository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        AtribuicaoResponse resultado = service.changeSituacao(id, false);
+        AtribuicaoResponse resultado = service.changeSituacao(id, false, null);
 
         assertFalse(resultado.isSituacao());
     }
@@ -200,27 +248,37 @@ class AtribuicaoServiceTest {
     @DisplayName("Deve atualizar atribuição")
     void shouldUpdateAtribuicao() {
         when(repository.findById(dtoCreate.getId())).thenReturn(Optional.of(atribuicao));
-        when(repository.findByNomeIgnoreCase(dtoCreate.getNome())).thenReturn(Optional.empty());
-        when(repository.save(any(Atribuicao.class))).thenReturn(atribuicao);
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(dtoUpdate.getNome()))).thenReturn(Optional.empty());
 
-        AtribuicaoResponse result = service.update(dtoCreate.getId(), dtoUpdate);
+        AtribuicaoResponse result = service.update(dtoCreate.getId(), dtoUpdate, null);
 
         assertNotNull(result);
-        assertEquals(dtoCreate.getNome(), result.getNome());
-        verify(repository).save(any(Atribuicao.class));
+        assertEquals(dtoUpdate.getNome(), result.getNome());
+        assertEquals(dtoUpdate.getNome(), atribuicao.getNome());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve manter a situação da atribuição ao atualizar o nome")
+    void shouldKeepSituacaoWhenUpdatingAtribuicao() {
+        when(repository.findById(dtoCreate.getId())).thenReturn(Optional.of(atribuicaoWithSituacaoFalse));
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(dtoUpdate.getNome()))).thenReturn(Optional.empty());
+
+        AtribuicaoResponse result = service.update(dtoCreate.getId(), dtoUpdate, null);
+
+        assertFalse(result.isSituacao());
     }
 
     @Test
     @DisplayName("Deve atualizar atribuição com nome igual ao original")
     void shouldUpdateAtribuicaoWithSameName() {
         when(repository.findById(dtoCreate.getId())).thenReturn(Optional.of(atribuicao));
-        when(repository.save(any(Atribuicao.class))).thenReturn(atribuicao);
 
-        AtribuicaoResponse result = service.update(dtoCreate.getId(), dtoUpdateSame);
+        AtribuicaoResponse result = service.update(dtoCreate.getId(), dtoUpdateSame, null);
 
         assertNotNull(result);
         assertEquals(dtoCreate.getNome(), result.getNome());
-        verify(repository).save(any(Atribuicao.class));
+        verify(repository, never()).save(any());
     }
 
     @Test
@@ -233,6 +291,63 @@ class AtribuicaoServiceTest {
         service.delete(id);
 
         verify(repository).delete(atribuicao);
+        verify(repository).flush();
+        verify(catalog).removeAtribuicao(id);
+        verify(outbox).registrar(RecursoEvento.ATRIBUICAO, OperacaoEvento.EXCLUSAO, id, null);
+    }
+
+    @Test
+    @DisplayName("Não deve apagar atribuição utilizada por cartórios")
+    void shouldNotDeleteAtribuicaoInUse() {
+        String id = "ATRIB_TESTE";
+
+        when(repository.findById(id)).thenReturn(Optional.of(atribuicao));
+        when(cartorioRepository.countByAtribuicaoId(id)).thenReturn(2L);
+
+        IntegrityConstraintException exception =
+                assertThrows(IntegrityConstraintException.class, () -> service.delete(id));
+
+        assertEquals("Atribuição utilizada por 2 cartório(s)", exception.getMessage());
+        verify(repository, never()).delete(any());
+        verify(catalog, never()).removeAtribuicao(any());
+    }
+
+    @Test
+    @DisplayName("Não deve apagar atribuição que passou a ser utilizada depois da contagem")
+    void shouldNotDeleteAtribuicaoReferencedConcurrently() {
+        String id = "ATRIB_TESTE";
+
+        when(repository.findById(id)).thenReturn(Optional.of(atribuicao));
+        doThrow(new DataIntegrityViolationException("fk_cartorios_atribuicoes_atribuicao")).when(repository).flush();
+
+        IntegrityConstraintException exception =
+                assertThrows(IntegrityConstraintException.class, () -> service.delete(id));
+
+        assertEquals("Registro utilizado em outro cadastro.", exception.getMessage());
+        verify(catalog, never()).removeAtribuicao(any());
+        verify(outbox, never()).registrar(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve listar os cartórios que têm a atribuição")
+    void shouldListCartoriosDaAtribuicao() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<CartorioResponseMin> cartorios = new PageImpl<>(List.of(new CartorioResponseMin(1, "1º Cartório")));
+
+        when(cartorioRepository.findPageMin(any(CartorioFiltro.class), eq(pageable))).thenReturn(cartorios);
+
+        Page<CartorioResponseMin> resultado = service.findCartorios("ATRIB_TEST", pageable);
+
+        assertEquals(1, resultado.getTotalElements());
+        verify(catalog).findAtribuicao("ATRIB_TEST");
+        verify(cartorioRepository).findPageMin(
+                argThat((CartorioFiltro filtro) -> filtro.getAtribuicoesIds().equals(Set.of("ATRIB_TEST"))),
+                eq(pageable));
+    }
+
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("could not execute batch",
+                new ConstraintViolationException("could not execute batch", new SQLException(), restricao));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.cartorio.CartorioSearchRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CartorioSearchIndexTest {
+
+    @Mock
+    private CartorioRepository repository;
+
+    private CartorioSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findAllParaBusca()).thenReturn(List.of(
+                new CartorioSearchRow(1, "Cartório de Notas de São Paulo", "Atendimento ao público"),
+                new CartorioSearchRow(2, "Registro de Imóveis de Campinas", "Próximo à estação São Paulo"),
+                new CartorioSearchRow(3, "Tabelionato de Protesto", null)));
+
+        index = new CartorioSearchIndex(repository);
+        index.reload();
+    }
+
+    @Test
+    @DisplayName("Deve pesquisar sem diferenciar acentos e maiúsculas")
+    void shouldSearchIgnoringAccentsAndCase() {
+        assertEquals(List.of(1), ids(index.search("CARTORIO", PageRequest.of(0, 10))));
+        assertEquals(List.of(2), ids(index.search("imoveis", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    @DisplayName("Deve casar termos por prefixo e exigir todos os termos")
+    void shouldMatchPrefixesOfAllTerms() {
+        assertEquals(List.of(3), ids(index.search("tabel prot", PageRequest.of(0, 10))));
+        assertTrue(index.search("tabelionato notas", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar ocorrências no nome antes das da observação")
+    void shouldRankNomeBeforeObservacao() {
+        assertEquals(List.of(1, 2), ids(index.search("são paulo", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar consultas vazias ou só com palavras vazias")
+    void shouldIgnoreBlankQueries() {
+        assertTrue(index.search("  ", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(index.search("de", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve paginar os resultados")
+    void shouldPaginateResults() {
+        Page<CartorioResponseMin> pagina = index.search("sao", PageRequest.of(1, 1));
+
+        assertEquals(List.of(2), ids(pagina));
+        assertEquals(2, pagina.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Deve reindexar cartório alterado e remover cartório apagado")
+    void shouldUpdateAndRemoveDocuments() {
+        index.put(3, "Tabelionato de Notas", "Centro");
+        index.remove(1);
+
+        assertEquals(List.of(3), ids(index.search("notas", PageRequest.of(0, 10))));
+        assertTrue(index.search("protesto", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(3), ids(index.search("centro", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    @DisplayName("Deve separar termos e descartar palavras vazias")
+    void shouldTokenize() {
+        assertEquals(Set.of("primeiro", "oficio", "registro", "civil"),
+                CartorioSearchIndex.tokenize("Primeiro Ofício de Registro Civil"));
+    }
+
+    private List<Integer> ids(Page<CartorioResponseMin> pagina) {
+        return pagina.getContent().stream()
+                .map(CartorioResponseMin::getId)
+                .collect(Collectors.toList());
+    }
+
+}
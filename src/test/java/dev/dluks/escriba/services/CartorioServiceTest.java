@@ -3,16 +3,31 @@ package dev.dluks.escriba.services;
 import dev.dluks.escriba.domain.entities.Atribuicao;
 import dev.dluks.escriba.domain.entities.Cartorio;
 import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.exceptions.DomainException;
 import dev.dluks.escriba.domain.exceptions.DuplicateResourceException;
+import dev.dluks.escriba.domain.exceptions.PreconditionFailedException;
 import dev.dluks.escriba.domain.exceptions.IntegrityConstraintException;
 import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
+import dev.dluks.escriba.domain.repositories.CartorioBatchRepository;
 import dev.dluks.escriba.domain.repositories.CartorioRepository;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
 import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponse;
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import dev.dluks.escriba.dtos.cartorio.AlteracaoSituacaoEmLoteResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioAlteracoesResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioCursor;
+import dev.dluks.escriba.dtos.cartorio.CartorioCursorResponse;
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
 import dev.dluks.escriba.dtos.cartorio.CartorioResponse;
 import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.cartorio.CartorioRevisao;
 import dev.dluks.escriba.dtos.cartorio.CreateCartorioRequest;
+import dev.dluks.escriba.dtos.cartorio.ModoFiltroAtribuicoes;
 import dev.dluks.escriba.dtos.cartorio.UpdateCartorioRequest;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponse;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,17 +37,28 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.persistence.EntityManager;
+import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,10 +69,22 @@ class CartorioServiceTest {
     private CartorioRepository repository;
 
     @Mock
-    private SituacaoService situacaoService;
+    private CartorioBatchRepository batchRepository;
 
     @Mock
-    private AtribuicaoService atribuicaoService;
+    private ReferenceCatalog catalog;
+
+    @Mock
+    private CartorioSearchIndex searchIndex;
+
+    @Mock
+    private CartorioStatisticsService statistics;
+
+    @Mock
+    private EventOutbox outbox;
+
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private CartorioService service;
@@ -55,7 +93,6 @@ class CartorioServiceTest {
     private UpdateCartorioRequest updateDto;
     private UpdateCartorioRequest updateDtoSame;
     private Cartorio cartorio;
-    private Cartorio cartorioUpdated;
     private Situacao situacao;
     private Situacao situacaoInativo;
     private Atribuicao atribuicao;
@@ -111,24 +148,23 @@ class CartorioServiceTest {
                 .atribuicoes(Set.of(atribuicao))
                 .build();
 
-        cartorioUpdated = Cartorio.builder()
-                .id(1)
-                .nome("1º Cartório atualizado")
-                .observacao("Observação teste atualizado")
-                .situacao(situacao)
-                .atribuicoes(Set.of(atribuicao))
-                .build();
-
+        // as referências do JPA são resolvidas para as entidades de teste, já carregadas
+        Map<String, Situacao> situacoes = Map.of(situacao.getId(), situacao, situacaoInativo.getId(), situacaoInativo);
+        when(entityManager.getReference(eq(Situacao.class), any())).thenAnswer(invocation ->
+                situacoes.get(invocation.<String>getArgument(1)));
+        when(entityManager.getReference(eq(Atribuicao.class), any())).thenAnswer(invocation ->
+                atribuicao.getId().equals(invocation.getArgument(1)) ? atribuicao : Atribuicao.builder()
+                        .id(invocation.getArgument(1))
+                        .nome(invocation.getArgument(1))
+                        .build());
     }
 
     @Test
     @DisplayName("Deve criar um cartório")
     void shouldCreateCartorio() {
-        when(repository.existsById(dto.getId())).thenReturn(false);
-        when(repository.findByNomeIgnoreCase(dto.getNome())).thenReturn(Optional.empty());
-        when(situacaoService.findById(dto.getSituacaoId())).thenReturn(situacaoResponse);
-        when(atribuicaoService.findById("ATRIB_NOTAS")).thenReturn(atribuicaoResponse);
-        when(repository.save(any(Cartorio.class))).thenReturn(cartorio);
+        when(outbox.registrar(eq(RecursoEvento.CARTORIO), eq(OperacaoEvento.INCLUSAO), anyMap())).thenReturn(7L);
+        when(catalog.findSituacao(dto.getSituacaoId())).thenReturn(situacaoResponse);
+        when(catalog.findAtribuicoesAtivas(dto.getAtribuicoesIds())).thenReturn(List.of(atribuicaoResponse));
 
         CartorioResponse resultado = service.create(dto);
 
@@ -136,22 +172,41 @@ class CartorioServiceTest {
         assertEquals(dto.getId(), resultado.getId());
         assertEquals(dto.getNome(), resultado.getNome());
         assertEquals(1, resultado.getAtribuicoes().size());
+        verify(repository).insert(any(Cartorio.class));
+        verify(repository, never()).existsById(any());
+        verify(searchIndex).put(cartorio.getId(), cartorio.getNome(), cartorio.getObservacao());
+        verify(statistics).cartorioIncluido(cartorio);
+        verify(outbox).registrar(RecursoEvento.CARTORIO, OperacaoEvento.INCLUSAO, Map.of(resultado.getId(), resultado));
+        verify(batchRepository).deleteExclusoes(Set.of(resultado.getId()));
+        verify(batchRepository).updateRevisoes(Map.of(resultado.getId(), 7L));
     }
 
     @Test
     @DisplayName("Não deve criar cartório com ID duplicado")
     void shouldNotCreateCartorioWithDuplicatedId() {
-        when(repository.existsById(dto.getId())).thenReturn(true);
+        when(catalog.findSituacao(dto.getSituacaoId())).thenReturn(situacaoResponse);
+        when(catalog.findAtribuicoesAtivas(dto.getAtribuicoesIds())).thenReturn(List.of(atribuicaoResponse));
+        doThrow(violacao("PRIMARY KEY ON PUBLIC.CARTORIOS(ID)")).when(repository).insert(any(Cartorio.class));
 
-        assertThrows(DuplicateResourceException.class, () ->
+        DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () ->
                 service.create(dto)
         );
+
+        assertEquals("Registro já cadastrado", exception.getMessage());
+        verify(statistics, never()).cartorioIncluido(any());
+        verify(searchIndex, never()).put(any(), any(), any());
+        verify(outbox, never()).registrar(any(), any(), anyMap());
+        verify(batchRepository, never()).updateRevisoes(any());
     }
 
     @Test
     @DisplayName("Não deve criar cartório com nome duplicado")
     void shouldNotCreateCartorioWithDuplicatedName() {
-        when(repository.findByNomeIgnoreCase(cartorio.getNome()))
+        when(catalog.findSituacao(dto.getSituacaoId())).thenReturn(situacaoResponse);
+        when(catalog.findAtribuicoesAtivas(dto.getAtribuicoesIds())).thenReturn(List.of(atribuicaoResponse));
+        doThrow(violacao("PUBLIC.UK_CARTORIOS_NOME_NORMALIZADO ON PUBLIC.CARTORIOS(NOME_NORMALIZADO)"))
+                .when(repository).insert(any(Cartorio.class));
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(cartorio.getNome())))
                 .thenReturn(Optional.of(cartorio));
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () ->
@@ -164,24 +219,27 @@ class CartorioServiceTest {
     @Test
     @DisplayName("Deve atualizar cartório")
     void shouldUpdateCartorio() {
-        when(repository.findById(cartorio.getId())).thenReturn(Optional.of(cartorio));
-        when(repository.findByNomeIgnoreCase(updateDto.getNome())).thenReturn(Optional.empty());
-        when(repository.save(any(Cartorio.class))).thenReturn(cartorioUpdated);
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(updateDto.getNome()))).thenReturn(Optional.empty());
 
-        CartorioResponse resultado = service.update(cartorio.getId(), updateDto);
+        CartorioResponse resultado = service.update(cartorio.getId(), updateDto, null);
 
         assertNotNull(resultado);
         assertEquals(updateDto.getNome(), resultado.getNome());
+        assertEquals(updateDto.getObservacao(), cartorio.getObservacao());
+        assertEquals(TextNormalizer.normalize(updateDto.getNome()), cartorio.getNomeNormalizado());
+        verify(repository, never()).save(any());
+        verify(searchIndex).put(cartorio.getId(), updateDto.getNome(), updateDto.getObservacao());
+        verify(outbox).registrar(RecursoEvento.CARTORIO, OperacaoEvento.ALTERACAO, Map.of(resultado.getId(), resultado));
     }
 
     @Test
     @DisplayName("Deve atualizar cartório com mesmo nome")
     void shouldUpdateCartorioWithSameName() {
-        when(repository.findById(cartorio.getId())).thenReturn(Optional.of(cartorio));
-        when(repository.findByNomeIgnoreCase(updateDtoSame.getNome())).thenReturn(Optional.empty());
-        when(repository.save(any(Cartorio.class))).thenReturn(cartorio);
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(updateDtoSame.getNome()))).thenReturn(Optional.empty());
 
-        CartorioResponse resultado = service.update(cartorio.getId(), updateDtoSame);
+        CartorioResponse resultado = service.update(cartorio.getId(), updateDtoSame, null);
 
         assertNotNull(resultado);
         assertEquals(updateDtoSame.getNome(), resultado.getNome());
@@ -190,13 +248,13 @@ class CartorioServiceTest {
     @Test
     @DisplayName("Não deve atualizar cartório com nome duplicado")
     void shouldNotUpdateCartorioWithDuplicatedName() {
-        when(repository.findById(cartorio.getId())).thenReturn(Optional.of(cartorio));
-        when(repository.findByNomeIgnoreCase(updateDto.getNome())).thenReturn(Optional.of(cartorio));
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(updateDto.getNome()))).thenReturn(Optional.of(cartorio));
 
         Integer id = cartorio.getId();
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () ->
-                service.update(id, updateDto)
+                service.update(id, updateDto, null)
         );
 
         assertTrue(exception.getMessage().contains("Nome já informado no registro"));
@@ -205,17 +263,23 @@ class CartorioServiceTest {
     @Test
     @DisplayName("Deve apagar cartório")
     void shouldDeleteCartorio() {
-        when(repository.findById(dto.getId())).thenReturn(Optional.of(cartorio));
+        when(outbox.registrar(eq(RecursoEvento.CARTORIO), eq(OperacaoEvento.EXCLUSAO), anyMap())).thenReturn(9L);
+        when(repository.findDetalhadoById(dto.getId())).thenReturn(Optional.of(cartorio));
         doNothing().when(repository).delete(any(Cartorio.class));
 
         assertDoesNotThrow(() -> service.delete(dto.getId()));
+        verify(searchIndex).remove(dto.getId());
+        verify(statistics).cartorioRemovido(cartorio);
+        verify(outbox).registrar(RecursoEvento.CARTORIO, OperacaoEvento.EXCLUSAO, Collections.singletonMap(dto.getId(), null));
+        verify(batchRepository).insertExclusoes(Map.of(dto.getId(), 9L));
+        verify(batchRepository, never()).updateRevisoes(any());
     }
 
     @Test
     @DisplayName("Não deve apagar cartório em uso")
     void shouldNotDeleteCartorioInUse() {
-        when(repository.findById(dto.getId())).thenReturn(Optional.of(cartorio));
-        doThrow(new RuntimeException()).when(repository).flush();
+        when(repository.findDetalhadoById(dto.getId())).thenReturn(Optional.of(cartorio));
+        doThrow(new DataIntegrityViolationException("fk_cartorios_atribuicoes_cartorio")).when(repository).flush();
 
         Integer id = dto.getId();
 
@@ -225,27 +289,151 @@ class CartorioServiceTest {
                 );
 
         assertEquals("Registro utilizado em outro cadastro.", exception.getMessage());
+        verify(searchIndex, never()).remove(any());
+        verify(statistics, never()).cartorioRemovido(any());
     }
 
     @Test
     @DisplayName("Deve listar os cartorios paginados")
     void shouldListCartoriosPaginated() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Cartorio> page = new PageImpl<>(List.of(cartorio));
+        Page<CartorioResponseMin> page = new PageImpl<>(List.of(CartorioResponseMin.fromEntity(cartorio)));
 
-        when(repository.findAll(pageable)).thenReturn(page);
+        when(repository.findPageMin(pageable)).thenReturn(page);
 
-        Page<CartorioResponseMin> result = service.listAll(pageable);
+        Page<CartorioResponseMin> result = service.listAll(CartorioFiltro.vazio(), pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertEquals(1, result.getTotalElements());
+        verify(repository, never()).findAll(pageable);
+    }
+
+    @Test
+    @DisplayName("Deve listar os cartórios sem contagem total")
+    void shouldListCartoriosSlice() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(repository.findSliceMin(pageable))
+                .thenReturn(new SliceImpl<>(List.of(CartorioResponseMin.fromEntity(cartorio)), pageable, true));
+
+        Slice<CartorioResponseMin> result = service.listSlice(CartorioFiltro.vazio(), pageable);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.hasNext());
+        verify(repository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Deve listar os cartórios filtrados no banco")
+    void shouldListCartoriosFiltered() {
+        Pageable pageable = PageRequest.of(0, 10);
+        CartorioFiltro filtro = new CartorioFiltro("SIT_ATIVO", Set.of("ATRIB_NOTAS"), ModoFiltroAtribuicoes.TODAS);
+        when(repository.findPageMin(filtro, pageable))
+                .thenReturn(new PageImpl<>(List.of(CartorioResponseMin.fromEntity(cartorio))));
+
+        Page<CartorioResponseMin> result = service.listAll(filtro, pageable);
+
+        assertEquals(1, result.getContent().size());
+        verify(repository, never()).findPageMin(pageable);
+    }
+
+    @Test
+    @DisplayName("Deve listar a primeira página por cursor")
+    void shouldListFirstPageByCursor() {
+        when(repository.findPrimeirosPorNome(PageRequest.of(0, 3))).thenReturn(List.of(
+                new CartorioResponseMin(2, "A"),
+                new CartorioResponseMin(1, "B"),
+                new CartorioResponseMin(3, "C")));
+
+        CartorioCursorResponse result = service.listByCursor(null, 2);
+
+        assertEquals(2, result.getSize());
+        assertTrue(result.isHasNext());
+        CartorioCursor cursor = CartorioCursor.decode(result.getNextCursor());
+        assertEquals(1, cursor.getId());
+        assertEquals("B", cursor.getNome());
+    }
+
+    @Test
+    @DisplayName("Deve listar a página seguinte a partir do cursor")
+    void shouldListNextPageByCursor() {
+        String after = new CartorioCursor(1, "B").encode();
+        when(repository.findProximosPorNome("B", 1, PageRequest.of(0, 3)))
+                .thenReturn(List.of(new CartorioResponseMin(3, "C")));
+
+        CartorioCursorResponse result = service.listByCursor(after, 2);
+
+        assertEquals(1, result.getSize());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido")
+    void shouldRejectInvalidCursor() {
+        assertThrows(BusinessException.class, () -> service.listByCursor("invalido", 10));
+    }
+
+    @Test
+    @DisplayName("Deve listar todas as alterações sem token")
+    void shouldListChangesFromStart() {
+        when(batchRepository.findAlteracoes(argThat(apos -> apos.getRevisao() == 0 && apos.getId() == 0), eq(3)))
+                .thenReturn(List.of(
+                        new CartorioRevisao(cartorio.getId(), 0L, false),
+                        new CartorioRevisao(5, 4L, true),
+                        new CartorioRevisao(6, 5L, false)));
+        when(repository.findDistinctDetalhadosByIdIn(List.of(cartorio.getId()))).thenReturn(List.of(cartorio));
+
+        CartorioAlteracoesResponse result = service.listChanges(null, 2);
+
+        assertEquals(1, result.getAlterados().size());
+        assertEquals(cartorio.getId(), result.getAlterados().get(0).getId());
+        assertEquals(List.of(5), result.getExcluidos());
+        assertTrue(result.isHasNext());
+        CartorioRevisao proxima = CartorioRevisao.decode(result.getNextToken());
+        assertEquals(4L, proxima.getRevisao());
+        assertEquals(5, proxima.getId());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o mesmo token quando não houver alterações")
+    void shouldKeepTokenWithoutChanges() {
+        String since = new CartorioRevisao(5, 4L, false).encode();
+        when(batchRepository.findAlteracoes(any(), eq(11))).thenReturn(List.of());
+
+        CartorioAlteracoesResponse result = service.listChanges(since, 10);
+
+        assertTrue(result.getAlterados().isEmpty());
+        assertTrue(result.getExcluidos().isEmpty());
+        assertFalse(result.isHasNext());
+        assertEquals(since, result.getNextToken());
+        verify(repository, never()).findDistinctDetalhadosByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Deve omitir cartório excluído entre as consultas de alterações")
+    void shouldSkipCartorioDeletedWhileListingChanges() {
+        when(batchRepository.findAlteracoes(any(), eq(11))).thenReturn(List.of(
+                new CartorioRevisao(cartorio.getId(), 3L, false),
+                new CartorioRevisao(8, 4L, false)));
+        when(repository.findDistinctDetalhadosByIdIn(List.of(cartorio.getId(), 8))).thenReturn(List.of(cartorio));
+
+        CartorioAlteracoesResponse result = service.listChanges(null, 10);
+
+        assertEquals(1, result.getAlterados().size());
+        assertEquals(8, CartorioRevisao.decode(result.getNextToken()).getId());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token de alterações inválido")
+    void shouldRejectInvalidChangesToken() {
+        assertThrows(BusinessException.class, () -> service.listChanges("invalido", 10));
     }
 
     @Test
     @DisplayName("Deve buscar cartório por ID")
     void shouldFindCartorioById() {
-        when(repository.findById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
 
         CartorioResponse resultado = service.findById(cartorio.getId());
 
@@ -257,7 +445,7 @@ class CartorioServiceTest {
     @Test
     @DisplayName("Deve falhar ao buscar cartório por ID")
     void shouldFailToFindCartorioById() {
-        when(repository.findById(cartorio.getId())).thenReturn(Optional.empty());
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.empty());
 
         Integer id = cartorio.getId();
 
@@ -267,13 +455,195 @@ class CartorioServiceTest {
     @Test
     @DisplayName("Deve mudar a situacao do cartorio")
     void shouldChangeCartorioSituacao() {
-        when(repository.findById(cartorio.getId())).thenReturn(Optional.of(cartorio));
-        when(situacaoService.findById(situacaoInativo.getId())).thenReturn(SituacaoResponse.fromEntity(situacaoInativo));
-        when(repository.save(any(Cartorio.class))).thenReturn(cartorio);
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+        when(catalog.findSituacao(situacaoInativo.getId())).thenReturn(SituacaoResponse.fromEntity(situacaoInativo));
 
-        CartorioResponse resultado = service.changeSituacao(cartorio.getId(), situacaoInativo.getId());
+        CartorioResponse resultado = service.changeSituacao(cartorio.getId(), situacaoInativo.getId(), null);
 
         assertNotNull(resultado);
         assertEquals(situacaoInativo.getId(), resultado.getSituacao().getId());
+        verify(statistics).situacaoAlterada(situacao.getId(), situacaoInativo.getId());
+    }
+
+    @Test
+    @DisplayName("Deve mudar a situação de vários cartórios em lote")
+    void shouldChangeSituacaoEmLote() {
+        when(outbox.registrar(eq(RecursoEvento.CARTORIO), eq(OperacaoEvento.ALTERACAO_SITUACAO), anyMap()))
+                .thenReturn(20L);
+        when(catalog.findSituacao(situacaoInativo.getId())).thenReturn(SituacaoResponse.fromEntity(situacaoInativo));
+        when(batchRepository.updateSituacao(Set.of(1, 2, 3, 4), situacaoInativo.getId()))
+                .thenReturn(Map.of(1, "SIT_ATIVO", 3, "SIT_BLOQUEADO"));
+        when(batchRepository.findExistingIds(Set.of(2, 4))).thenReturn(Set.of(2));
+
+        AlteracaoSituacaoEmLoteResponse resultado =
+                service.changeSituacaoEmLote(Set.of(1, 2, 3, 4), situacaoInativo.getId());
+
+        assertEquals(List.of(1, 3), resultado.getAlterados());
+        assertEquals(List.of(2), resultado.getInalterados());
+        assertEquals(List.of(4), resultado.getNaoEncontrados());
+        verify(statistics).situacoesAlteradas(argThat(anteriores -> anteriores.size() == 2),
+                eq(situacaoInativo.getId()));
+        verify(outbox).registrar(eq(RecursoEvento.CARTORIO), eq(OperacaoEvento.ALTERACAO_SITUACAO),
+                argThat((Map<?, ?> eventos) -> List.copyOf(eventos.keySet()).equals(List.of(1, 3))));
+        verify(batchRepository).updateRevisoes(Map.of(1, 20L, 3, 21L));
+    }
+
+    @Test
+    @DisplayName("Não deve mudar a situação em lote para situação inexistente")
+    void shouldNotChangeSituacaoEmLoteToUnknownSituacao() {
+        when(catalog.findSituacao("SIT_X")).thenThrow(new ResourceNotFoundException("Situação não encontrada com o id: SIT_X"));
+
+        Set<Integer> ids = Set.of(1, 2);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.changeSituacaoEmLote(ids, "SIT_X"));
+        verify(batchRepository, never()).updateSituacao(any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve contar de novo atribuição que o cartório já possui")
+    void shouldNotCountAtribuicaoAlreadyPresent() {
+        Cartorio comNotas = Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(situacao)
+                .atribuicoes(Set.of(atribuicao))
+                .build();
+        when(repository.findDetalhadoById(comNotas.getId())).thenReturn(Optional.of(comNotas));
+        when(catalog.findAtribuicao(atribuicao.getId())).thenReturn(atribuicaoResponse);
+
+        service.addAtribuicao(comNotas.getId(), atribuicao.getId(), null);
+
+        verify(statistics, never()).atribuicaoIncluida(any());
+    }
+
+    @Test
+    @DisplayName("Deve substituir as atribuições buscando no catálogo apenas as novas")
+    void shouldReplaceAtribuicoesFetchingOnlyNewOnes() {
+        Atribuicao protesto = Atribuicao.builder()
+                .id("ATRIB_PROTESTO")
+                .nome("Protesto")
+                .situacao(true)
+                .build();
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+        when(catalog.findAtribuicoesAtivas(Set.of("ATRIB_PROTESTO")))
+                .thenReturn(List.of(AtribuicaoResponse.fromEntity(protesto)));
+
+        CartorioResponse resultado = service.replaceAtribuicoes(cartorio.getId(), Set.of("ATRIB_PROTESTO"), null);
+
+        assertEquals(1, resultado.getAtribuicoes().size());
+        assertTrue(cartorio.getAtribuicoes().contains(protesto));
+        verify(statistics).atribuicoesAlteradas(Set.of("ATRIB_PROTESTO"), Set.of("ATRIB_NOTAS"));
+        verify(repository).flush();
+    }
+
+    @Test
+    @DisplayName("Deve remover atribuições sem consultar o catálogo")
+    void shouldRemoveAtribuicoesWithoutQueryingCatalog() {
+        Atribuicao protesto = Atribuicao.builder()
+                .id("ATRIB_PROTESTO")
+                .nome("Protesto")
+                .situacao(false)
+                .build();
+        Cartorio comDuas = Cartorio.builder()
+                .id(1)
+                .nome("1º Cartório")
+                .situacao(situacao)
+                .atribuicoes(Set.of(atribuicao, protesto))
+                .build();
+        when(repository.findDetalhadoById(comDuas.getId())).thenReturn(Optional.of(comDuas));
+
+        service.changeAtribuicoes(comDuas.getId(), null, Set.of("ATRIB_NOTAS"), null);
+
+        assertEquals(Set.of(protesto), comDuas.getAtribuicoes());
+        verify(catalog, never()).findAtribuicoesAtivas(any());
+        verify(statistics).atribuicoesAlteradas(Set.of(), Set.of("ATRIB_NOTAS"));
+    }
+
+    @Test
+    @DisplayName("Não deve remover atribuição inexistente")
+    void shouldNotRemoveUnknownAtribuicao() {
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+        when(catalog.findAtribuicoes(Set.of("ATRIB_X")))
+                .thenThrow(new ResourceNotFoundException("Atribuições não encontradas: ATRIB_X"));
+
+        Integer id = cartorio.getId();
+        Set<String> remover = Set.of("ATRIB_X");
+
+        assertThrows(ResourceNotFoundException.class, () -> service.changeAtribuicoes(id, null, remover, null));
+        assertEquals(Set.of(atribuicao), cartorio.getAtribuicoes());
+        verify(statistics, never()).atribuicoesAlteradas(any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve remover atribuição que não está no cartório")
+    void shouldNotRemoveAtribuicaoNotInCartorio() {
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+        when(catalog.findAtribuicoes(Set.of("ATRIB_PROTESTO"))).thenReturn(List.of(new AtribuicaoResponse(
+                "ATRIB_PROTESTO", "Protesto", true)));
+
+        Integer id = cartorio.getId();
+        Set<String> incluir = Set.of("ATRIB_ESCRITURAS");
+        Set<String> remover = Set.of("ATRIB_PROTESTO");
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> service.changeAtribuicoes(id, incluir, remover, null));
+        assertEquals("Atribuições não vinculadas ao cartório: ATRIB_PROTESTO", exception.getMessage());
+        assertEquals(Set.of(atribuicao), cartorio.getAtribuicoes());
+        verify(catalog, never()).findAtribuicoesAtivas(any());
+    }
+
+    @Test
+    @DisplayName("Não deve alterar atribuições informadas para inclusão e remoção")
+    void shouldNotChangeAtribuicoesInBothLists() {
+        Integer id = cartorio.getId();
+        Set<String> ids = Set.of("ATRIB_NOTAS");
+
+        assertThrows(BusinessException.class, () -> service.changeAtribuicoes(id, ids, ids, null));
+        verify(repository, never()).findDetalhadoById(any());
+    }
+
+    @Test
+    @DisplayName("Não deve remover todas as atribuições do cartório")
+    void shouldNotRemoveAllAtribuicoes() {
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+
+        Integer id = cartorio.getId();
+        Set<String> remover = Set.of("ATRIB_NOTAS");
+
+        assertThrows(DomainException.class, () -> service.changeAtribuicoes(id, null, remover, null));
+        assertEquals(Set.of(atribuicao), cartorio.getAtribuicoes());
+        verify(statistics, never()).atribuicoesAlteradas(any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve atualizar cartório com versão divergente do If-Match")
+    void shouldNotUpdateCartorioWithStaleVersao() {
+        ReflectionTestUtils.setField(cartorio, "versao", 3L);
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+
+        Integer id = cartorio.getId();
+
+        assertThrows(PreconditionFailedException.class, () -> service.update(id, updateDto, Set.of(7L)));
+        assertEquals("1º Cartório", cartorio.getNome());
+        verify(repository, never()).flush();
+    }
+
+    @Test
+    @DisplayName("Deve atualizar cartório cuja versão está entre as do If-Match")
+    void shouldUpdateCartorioWithVersaoInIfMatchList() {
+        // a versão é atribuída pelo Hibernate ao gravar
+        ReflectionTestUtils.setField(cartorio, "versao", 3L);
+        when(repository.findDetalhadoById(cartorio.getId())).thenReturn(Optional.of(cartorio));
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(updateDto.getNome()))).thenReturn(Optional.empty());
+
+        CartorioResponse resultado = service.update(cartorio.getId(), updateDto, Set.of(2L, 3L));
+
+        assertEquals(updateDto.getNome(), resultado.getNome());
+    }
+
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("could not execute batch",
+                new ConstraintViolationException("could not execute batch", new SQLException(), restricao));
     }
-}
\ No newline at end of file
+
+}
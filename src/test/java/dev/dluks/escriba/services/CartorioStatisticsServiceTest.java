@@ -0,0 +1,154 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Cartorio;
+import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.repositories.CartorioCounterRepository;
+import dev.dluks.escriba.domain.repositories.CartorioCounterRepository.Tipo;
+import dev.dluks.escriba.dtos.cartorio.CartorioEstatisticasResponse;
+import dev.dluks.escriba.dtos.cartorio.ContagemResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CartorioStatisticsServiceTest {
+
+    @Mock
+    private CartorioCounterRepository repository;
+
+    @InjectMocks
+    private CartorioStatisticsService service;
+
+    private Situacao situacao;
+    private Atribuicao notas;
+    private Atribuicao protesto;
+
+    @BeforeEach
+    void setUp() {
+        situacao = Situacao.builder()
+                .id("SIT_ATIVO")
+                .nome("Ativo")
+                .build();
+
+        notas = Atribuicao.builder()
+                .id("ATRIB_NOTAS")
+                .nome("Notas")
+                .situacao(true)
+                .build();
+
+        protesto = Atribuicao.builder()
+                .id("ATRIB_PROTESTO")
+                .nome("Protesto")
+                .situacao(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve somar o total a partir dos contadores por situação")
+    void shouldSumTotalFromSituacaoCounters() {
+        when(repository.findContagens(Tipo.SITUACAO)).thenReturn(List.of(
+                new ContagemResponse("SIT_ATIVO", "Ativo", 7),
+                new ContagemResponse("SIT_BLOQUEADO", "Bloqueado", 3)));
+        when(repository.findContagens(Tipo.ATRIBUICAO)).thenReturn(List.of(
+                new ContagemResponse("ATRIB_NOTAS", "Notas", 9)));
+
+        CartorioEstatisticasResponse resultado = service.estatisticas();
+
+        assertEquals(10, resultado.getTotal());
+        assertEquals(2, resultado.getSituacoes().size());
+        assertEquals(9, resultado.getAtribuicoes().get(0).getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar os incrementos de vários cartórios incluídos")
+    void shouldAggregateIncrementsOfIncludedCartorios() {
+        service.cartoriosIncluidos(List.of(
+                cartorio(1, Set.of(notas, protesto)),
+                cartorio(2, Set.of(notas))));
+
+        verify(repository).incrementar(Tipo.SITUACAO, new TreeMap<>(Map.of("SIT_ATIVO", 2L)));
+        verify(repository).incrementar(Tipo.ATRIBUICAO,
+                new TreeMap<>(Map.of("ATRIB_NOTAS", 2L, "ATRIB_PROTESTO", 1L)));
+    }
+
+    @Test
+    @DisplayName("Deve decrementar os contadores do cartório removido")
+    void shouldDecrementCountersOfRemovedCartorio() {
+        service.cartorioRemovido(cartorio(1, Set.of(notas)));
+
+        verify(repository).incrementar(Tipo.SITUACAO, new TreeMap<>(Map.of("SIT_ATIVO", -1L)));
+        verify(repository).incrementar(Tipo.ATRIBUICAO, new TreeMap<>(Map.of("ATRIB_NOTAS", -1L)));
+    }
+
+    @Test
+    @DisplayName("Deve mover o cartório entre os contadores de situação")
+    void shouldMoveCartorioBetweenSituacaoCounters() {
+        service.situacaoAlterada("SIT_ATIVO", "SIT_BLOQUEADO");
+        service.situacaoAlterada("SIT_ATIVO", "SIT_ATIVO");
+
+        verify(repository, times(1)).incrementar(eq(Tipo.SITUACAO), any());
+        verify(repository).incrementar(Tipo.SITUACAO, new TreeMap<>(Map.of("SIT_ATIVO", -1L, "SIT_BLOQUEADO", 1L)));
+    }
+
+    @Test
+    @DisplayName("Deve mover vários cartórios para a mesma situação em um único lote")
+    void shouldMoveManyCartoriosToSameSituacao() {
+        service.situacoesAlteradas(List.of("SIT_ATIVO", "SIT_ATIVO", "SIT_BLOQUEADO", "SIT_INATIVO"), "SIT_INATIVO");
+
+        verify(repository).incrementar(Tipo.SITUACAO,
+                new TreeMap<>(Map.of("SIT_ATIVO", -2L, "SIT_BLOQUEADO", -1L, "SIT_INATIVO", 3L)));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar inclusões e remoções de atribuições em um único lote")
+    void shouldApplyAtribuicaoChangesInOneBatch() {
+        service.atribuicoesAlteradas(Set.of("ATRIB_PROTESTO"), Set.of("ATRIB_NOTAS", "ATRIB_CIVIL"));
+
+        verify(repository, times(1)).incrementar(eq(Tipo.ATRIBUICAO), any());
+        verify(repository).incrementar(Tipo.ATRIBUICAO,
+                new TreeMap<>(Map.of("ATRIB_CIVIL", -1L, "ATRIB_NOTAS", -1L, "ATRIB_PROTESTO", 1L)));
+    }
+
+    @Test
+    @DisplayName("Deve corrigir apenas os contadores divergentes na reconciliação")
+    void shouldFixOnlyDivergentCountersOnReconciliation() {
+        when(repository.lockContadores(Tipo.SITUACAO)).thenReturn(Map.of("SIT_ATIVO", 4L, "SIT_BLOQUEADO", 2L));
+        when(repository.countCartorios(Tipo.SITUACAO)).thenReturn(Map.of("SIT_ATIVO", 5L));
+        when(repository.lockContadores(Tipo.ATRIBUICAO)).thenReturn(Map.of("ATRIB_NOTAS", 5L));
+        when(repository.countCartorios(Tipo.ATRIBUICAO)).thenReturn(Map.of("ATRIB_NOTAS", 5L));
+
+        int corrigidos = service.reconciliar();
+
+        assertEquals(2, corrigidos);
+        verify(repository).definir(Tipo.SITUACAO, new TreeMap<>(Map.of("SIT_ATIVO", 5L, "SIT_BLOQUEADO", 0L)));
+        verify(repository, never()).definir(eq(Tipo.ATRIBUICAO), any());
+    }
+
+    private Cartorio cartorio(Integer id, Set<Atribuicao> atribuicoes) {
+        return Cartorio.builder()
+                .id(id)
+                .nome("Cartório " + id)
+                .situacao(situacao)
+                .atribuicoes(atribuicoes)
+                .build();
+    }
+
+}
@@ -0,0 +1,98 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import dev.dluks.escriba.domain.repositories.DatabaseMaintenanceRepository;
+import dev.dluks.escriba.dtos.banco.BackupResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DatabaseBackupServiceTest {
+
+    @Mock
+    private DatabaseMaintenanceRepository repository;
+
+    @TempDir
+    Path diretorio;
+
+    private DatabaseBackupService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DatabaseBackupService(repository, diretorio.resolve("backup").toString(), 2);
+        when(repository.findCaminho()).thenReturn("/dados/cartoriodb");
+        // simula o BACKUP TO do H2 gravando o arquivo pedido
+        doAnswer(invocation -> Files.writeString(invocation.getArgument(0), "zip"))
+                .when(repository).backup(any(Path.class));
+    }
+
+    @Test
+    @DisplayName("Deve gravar o backup no diretório configurado")
+    void shouldWriteBackupToConfiguredDirectory() {
+        BackupResponse resultado = service.backup();
+
+        assertTrue(resultado.getArquivo().startsWith(DatabaseBackupService.PREFIXO));
+        assertTrue(Files.exists(diretorio.resolve("backup").resolve(resultado.getArquivo())));
+        assertEquals(3, resultado.getTamanho());
+        assertNotNull(resultado.getCriadoEm());
+    }
+
+    @Test
+    @DisplayName("Deve manter apenas as cópias mais recentes")
+    void shouldKeepOnlyMostRecentCopies() throws IOException {
+        Path backup = Files.createDirectories(diretorio.resolve("backup"));
+        Files.writeString(backup.resolve("cartoriodb-20200101-000000-000.zip"), "antigo");
+        Files.writeString(backup.resolve("cartoriodb-20200102-000000-000.zip"), "antigo");
+        Files.writeString(backup.resolve("outro.zip"), "alheio");
+
+        BackupResponse resultado = service.backup();
+
+        try (Stream<Path> arquivos = Files.list(backup)) {
+            List<String> nomes = arquivos.map(arquivo -> arquivo.getFileName().toString())
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertEquals(List.of("cartoriodb-20200102-000000-000.zip",
+                    resultado.getArquivo(),
+                    "outro.zip"), nomes);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar as alterações pendentes no checkpoint")
+    void shouldCheckpoint() {
+        service.checkpoint();
+
+        verify(repository).checkpoint();
+    }
+
+    @Test
+    @DisplayName("Não deve fazer backup nem checkpoint de banco em memória")
+    void shouldRejectInMemoryDatabase() {
+        when(repository.findCaminho()).thenReturn(null);
+
+        assertThrows(BusinessException.class, () -> service.backup());
+        assertThrows(BusinessException.class, () -> service.checkpoint());
+        verify(repository, never()).backup(any());
+        verify(repository, never()).checkpoint();
+    }
+
+}
@@ -0,0 +1,221 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import dev.dluks.escriba.domain.exceptions.ResourceGoneException;
+import dev.dluks.escriba.domain.repositories.EventoRepository;
+import dev.dluks.escriba.dtos.evento.EventoResponse;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EventStreamTest {
+
+    @Mock
+    private EventoRepository repository;
+
+    private EventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = new EventStream(repository, Duration.ofMinutes(1), 100, 10);
+        when(repository.findUltimaSequencia()).thenReturn(10L);
+    }
+
+    @Test
+    @DisplayName("Deve assinar apenas os eventos novos quando a sequência não é informada")
+    void shouldSubscribeFromLatestWithoutSequence() {
+        assertNotNull(stream.assinar(null));
+
+        assertEquals(1, stream.getAssinantes());
+        verify(repository, never()).findPrimeiraSequencia();
+    }
+
+    @Test
+    @DisplayName("Deve retomar a partir de uma sequência ainda disponível")
+    void shouldResumeFromAvailableSequence() {
+        when(repository.findPrimeiraSequencia()).thenReturn(5L);
+
+        assertNotNull(stream.assinar(4L));
+
+        assertEquals(1, stream.getAssinantes());
+    }
+
+    @Test
+    @DisplayName("Não deve assinar a partir de sequência posterior à última registrada")
+    void shouldRejectUnknownSequence() {
+        ResourceGoneException exception = assertThrows(ResourceGoneException.class, () -> stream.assinar(11L));
+
+        assertEquals("Sequência 11 desconhecida; a última registrada é 10", exception.getMessage());
+        assertEquals(0, stream.getAssinantes());
+    }
+
+    @Test
+    @DisplayName("Não deve assinar a partir de sequência negativa")
+    void shouldRejectNegativeSequence() {
+        BusinessException exception = assertThrows(BusinessException.class, () -> stream.assinar(-5L));
+
+        assertEquals("A sequência deve ser maior ou igual a zero", exception.getMessage());
+        assertEquals(0, stream.getAssinantes());
+        verify(repository, never()).findUltimaSequencia();
+    }
+
+    @Test
+    @DisplayName("Não deve assinar a partir de sequência cujos eventos seguintes foram expurgados")
+    void shouldRejectExpiredSequence() {
+        when(repository.findPrimeiraSequencia()).thenReturn(6L);
+
+        ResourceGoneException exception = assertThrows(ResourceGoneException.class, () -> stream.assinar(4L));
+
+        assertEquals("Os eventos após a sequência 4 não estão mais disponíveis", exception.getMessage());
+        assertEquals(0, stream.getAssinantes());
+    }
+
+    @Test
+    @DisplayName("Deve entregar eventos às demais conexões enquanto uma está bloqueada no envio")
+    void shouldDeliverToOthersWhileOneSubscriberBlocks() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        EmitterDeTeste lento = new EmitterDeTeste(liberar);
+        EmitterDeTeste rapido = new EmitterDeTeste(null);
+        EventStream stream = streamCom(10, lento, rapido);
+        when(repository.findApos(anyLong(), anyInt())).thenAnswer(invocation ->
+                eventosApos(invocation.getArgument(0), 12));
+
+        stream.assinar(null);
+        stream.assinar(null);
+        stream.notificar();
+
+        try {
+            assertTrue(rapido.aguardar(2));
+            assertEquals(List.of("11", "12"), rapido.ids());
+            assertEquals(2, stream.getAssinantes());
+        } finally {
+            liberar.countDown();
+            stream.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a conexão cuja fila de envio enche sem afetar as demais")
+    void shouldDropSubscriberWhoseQueueFills() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        EmitterDeTeste lento = new EmitterDeTeste(liberar);
+        EmitterDeTeste rapido = new EmitterDeTeste(null);
+        EventStream stream = streamCom(2, lento, rapido);
+        AtomicLong ultima = new AtomicLong(12);
+        when(repository.findApos(anyLong(), anyInt())).thenAnswer(invocation ->
+                eventosApos(invocation.getArgument(0), ultima.get()));
+
+        stream.assinar(null);
+        stream.assinar(null);
+        stream.notificar();
+
+        try {
+            assertTrue(rapido.aguardar(2));
+            ultima.set(14);
+            stream.notificar();
+
+            assertTrue(rapido.aguardar(4));
+            assertEquals(List.of("11", "12", "13", "14"), rapido.ids());
+            assertTrue(aguardar(() -> stream.getAssinantes() == 1));
+        } finally {
+            liberar.countDown();
+        }
+        assertTrue(lento.encerrado.await(5, TimeUnit.SECONDS));
+        stream.encerrar();
+    }
+
+    private EventStream streamCom(int tamanhoFila, SseEmitter... emitters) {
+        Deque<SseEmitter> pendentes = new ArrayDeque<>(List.of(emitters));
+        return new EventStream(repository, Duration.ofMinutes(1), 100, tamanhoFila) {
+            @Override
+            SseEmitter criarEmitter(long timeout) {
+                return pendentes.pop();
+            }
+        };
+    }
+
+    private static List<EventoResponse> eventosApos(long sequencia, long ultima) {
+        return LongStream.rangeClosed(sequencia + 1, ultima)
+                .mapToObj(atual -> new EventoResponse(atual, RecursoEvento.CARTORIO, OperacaoEvento.ALTERACAO,
+                        "1", "{}", LocalDateTime.now()))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        return condicao.getAsBoolean();
+    }
+
+    /**
+     * Emitter que registra os ids enviados e, se houver trava, bloqueia o primeiro envio até ela ser liberada.
+     */
+    private static final class EmitterDeTeste extends SseEmitter {
+
+        private final CountDownLatch trava;
+        private final List<String> enviados = new CopyOnWriteArrayList<>();
+        private final CountDownLatch encerrado = new CountDownLatch(1);
+
+        private EmitterDeTeste(CountDownLatch trava) {
+            this.trava = trava;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (trava != null) {
+                try {
+                    trava.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String texto = builder.build().iterator().next().getData().toString();
+            enviados.add(texto.substring(texto.indexOf("id:") + 3, texto.indexOf('\n')));
+        }
+
+        @Override
+        public synchronized void complete() {
+            encerrado.countDown();
+        }
+
+        private boolean aguardar(int quantidade) throws InterruptedException {
+            return EventStreamTest.aguardar(() -> enviados.size() >= quantidade);
+        }
+
+        private List<String> ids() {
+            return enviados;
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package dev.dluks.escriba.services;
+
+import dev.dluks.escriba.domain.entities.Atribuicao;
+import dev.dluks.escriba.domain.entities.Situacao;
+import dev.dluks.escriba.domain.exceptions.BusinessException;
+import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
+import dev.dluks.escriba.domain.repositories.AtribuicaoRepository;
+import dev.dluks.escriba.domain.repositories.SituacaoRepository;
+import dev.dluks.escriba.dtos.atribuicao.AtribuicaoResponse;
+import dev.dluks.escriba.dtos.situacao.SituacaoResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReferenceCatalogTest {
+
+    @Mock
+    private SituacaoRepository situacaoRepository;
+
+    @Mock
+    private AtribuicaoRepository atribuicaoRepository;
+
+    private ReferenceCatalog catalog;
+
+    private Situacao situacao;
+    private Atribuicao atribuicao;
+    private Atribuicao atribuicaoInativa;
+
+    @BeforeEach
+    void setUp() {
+        situacao = Situacao.builder()
+                .id("SIT_ATIVO")
+                .nome("Ativo")
+                .build();
+
+        atribuicao = Atribuicao.builder()
+                .id("ATRIB_NOTAS")
+                .nome("Notas")
+                .situacao(true)
+                .build();
+
+        atribuicaoInativa = Atribuicao.builder()
+                .id("ATRIB_PROTESTO")
+                .nome("Protesto")
+                .situacao(false)
+                .build();
+
+        when(situacaoRepository.findAll()).thenReturn(List.of(situacao));
+        when(atribuicaoRepository.findAll()).thenReturn(List.of(atribuicao, atribuicaoInativa));
+
+        catalog = new ReferenceCatalog(situacaoRepository, atribuicaoRepository);
+        catalog.reload();
+    }
+
+    @Test
+    @DisplayName("Deve buscar situação sem consultar o banco")
+    void shouldFindSituacaoFromSnapshot() {
+        SituacaoResponse result = catalog.findSituacao("SIT_ATIVO");
+
+        assertEquals("Ativo", result.getNome());
+        verify(situacaoRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar no banco situação ausente do catálogo")
+    void shouldLoadMissingSituacao() {
+        when(situacaoRepository.findById("SIT_NOVA"))
+                .thenReturn(Optional.of(Situacao.builder().id("SIT_NOVA").nome("Nova").build()));
+
+        assertEquals("Nova", catalog.findSituacao("SIT_NOVA").getNome());
+        assertEquals("Nova", catalog.findSituacao("SIT_NOVA").getNome());
+        verify(situacaoRepository, times(1)).findById("SIT_NOVA");
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever com a leitura do banco a situação publicada por um commit concorrente")
+    void shouldKeepSituacaoPublishedWhileLoading() {
+        when(situacaoRepository.findById("SIT_NOVA")).thenAnswer(invocation -> {
+            // o commit concorrente publica a versão nova depois que esta leitura viu a anterior
+            catalog.put(new SituacaoResponse("SIT_NOVA", "Renomeada"));
+            return Optional.of(Situacao.builder().id("SIT_NOVA").nome("Nova").build());
+        });
+
+        assertEquals("Renomeada", catalog.findSituacao("SIT_NOVA").getNome());
+        assertEquals("Renomeada", catalog.findSituacao("SIT_NOVA").getNome());
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever com a leitura do banco a atribuição publicada por um commit concorrente")
+    void shouldKeepAtribuicaoPublishedWhileLoading() {
+        Set<String> ids = Set.of("ATRIB_NOTAS", "ATRIB_NOVA");
+        when(atribuicaoRepository.findByIdIn(ids)).thenAnswer(invocation -> {
+            catalog.put(new AtribuicaoResponse("ATRIB_NOTAS", "Notas", false));
+            return List.of(atribuicao, Atribuicao.builder().id("ATRIB_NOVA").nome("Nova").situacao(true).build());
+        });
+
+        assertThrows(BusinessException.class, () -> catalog.findAtribuicoesAtivas(ids));
+        assertFalse(catalog.findAtribuicao("ATRIB_NOTAS").isSituacao());
+    }
+
+    @Test
+    @DisplayName("Não deve devolver ao catálogo a situação removida por um commit concorrente durante a leitura")
+    void shouldNotResurrectSituacaoRemovedWhileLoading() {
+        when(situacaoRepository.findById("SIT_NOVA"))
+                .thenAnswer(invocation -> {
+                    // a exclusão é confirmada e publicada depois que esta leitura viu o registro
+                    catalog.removeSituacao("SIT_NOVA");
+                    return Optional.of(Situacao.builder().id("SIT_NOVA").nome("Nova").build());
+                })
+                .thenReturn(Optional.empty());
+
+        assertEquals("Nova", catalog.findSituacao("SIT_NOVA").getNome());
+        assertThrows(ResourceNotFoundException.class, () -> catalog.findSituacao("SIT_NOVA"));
+    }
+
+    @Test
+    @DisplayName("Não deve devolver ao catálogo a atribuição removida por um commit concorrente durante a leitura")
+    void shouldNotResurrectAtribuicaoRemovedWhileLoading() {
+        Atribuicao nova = Atribuicao.builder().id("ATRIB_NOVA").nome("Nova").situacao(true).build();
+        Set<String> ids = Set.of("ATRIB_NOTAS", "ATRIB_NOVA");
+        when(atribuicaoRepository.findByIdIn(ids)).thenAnswer(invocation -> {
+            catalog.removeAtribuicao("ATRIB_NOVA");
+            return List.of(atribuicao, nova);
+        });
+        when(atribuicaoRepository.findById("ATRIB_NOVA")).thenReturn(Optional.empty());
+
+        assertEquals(2, catalog.findAtribuicoesAtivas(ids).size());
+        assertThrows(ResourceNotFoundException.class, () -> catalog.findAtribuicao("ATRIB_NOVA"));
+    }
+
+    @Test
+    @DisplayName("Deve falhar ao buscar situação inexistente")
+    void shouldFailToFindSituacao() {
+        when(situacaoRepository.findById("SIT_X")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> catalog.findSituacao("SIT_X"));
+    }
+
+    @Test
+    @DisplayName("Deve buscar várias atribuições ativas sem consultar o banco")
+    void shouldFindAtribuicoesAtivasFromSnapshot() {
+        List<AtribuicaoResponse> result = catalog.findAtribuicoesAtivas(Set.of("ATRIB_NOTAS"));
+
+        assertEquals(1, result.size());
+        assertEquals("ATRIB_NOTAS", result.get(0).getId());
+        verify(atribuicaoRepository, never()).findByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Deve informar todas as atribuições não encontradas")
+    void shouldReportAllMissingAtribuicoes() {
+        Set<String> ids = Set.of("ATRIB_NOTAS", "ATRIB_X", "ATRIB_Y");
+        when(atribuicaoRepository.findByIdIn(ids)).thenReturn(List.of(atribuicao));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
+                catalog.findAtribuicoesAtivas(ids));
+
+        assertEquals("Atribuições não encontradas: ATRIB_X, ATRIB_Y", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Não deve aceitar atribuições inativas")
+    void shouldRejectInactiveAtribuicoes() {
+        Set<String> ids = Set.of("ATRIB_NOTAS", "ATRIB_PROTESTO");
+
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                catalog.findAtribuicoesAtivas(ids));
+
+        assertEquals("Não é possível adicionar atribuições inativas: ATRIB_PROTESTO", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve substituir e remover registros do catálogo")
+    void shouldReplaceAndRemoveEntries() {
+        catalog.put(new AtribuicaoResponse("ATRIB_NOTAS", "Notas", false));
+
+        assertFalse(catalog.findAtribuicao("ATRIB_NOTAS").isSituacao());
+
+        catalog.removeSituacao("SIT_ATIVO");
+        when(situacaoRepository.findById("SIT_ATIVO")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> catalog.findSituacao("SIT_ATIVO"));
+    }
+
+}
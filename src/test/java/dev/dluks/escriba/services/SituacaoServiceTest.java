@@ -2,12 +2,20 @@ package dev.dluks.escriba.services;
 
 import dev.dluks.escriba.domain.entities.Situacao;
 import dev.dluks.escriba.domain.exceptions.DuplicateResourceException;
+import dev.dluks.escriba.domain.exceptions.IntegrityConstraintException;
 import dev.dluks.escriba.domain.exceptions.ResourceNotFoundException;
+import dev.dluks.escriba.domain.repositories.CartorioRepository;
 import dev.dluks.escriba.domain.repositories.SituacaoRepository;
+import dev.dluks.escriba.domain.utils.TextNormalizer;
+import dev.dluks.escriba.dtos.cartorio.CartorioFiltro;
+import dev.dluks.escriba.dtos.cartorio.CartorioResponseMin;
+import dev.dluks.escriba.dtos.evento.OperacaoEvento;
+import dev.dluks.escriba.dtos.evento.RecursoEvento;
 import dev.dluks.escriba.dtos.situacao.CreateSituacaoRequest;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponse;
 import dev.dluks.escriba.dtos.situacao.SituacaoResponseMin;
 import dev.dluks.escriba.dtos.situacao.UpdateSituacaoRequest;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,11 +25,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +48,15 @@ class SituacaoServiceTest {
     @Mock
     private SituacaoRepository repository;
 
+    @Mock
+    private CartorioRepository cartorioRepository;
+
+    @Mock
+    private ReferenceCatalog catalog;
+
+    @Mock
+    private EventOutbox outbox;
+
     @InjectMocks
     private SituacaoService service;
 
@@ -68,16 +89,16 @@ class SituacaoServiceTest {
     @Test
     @DisplayName("Deve criar uma situação")
     void shouldCreateSituacao() {
-        when(repository.existsById(dtoCreate.getId())).thenReturn(false);
-        when(repository.findByNomeIgnoreCase(dtoCreate.getNome())).thenReturn(Optional.empty());
-        when(repository.save(any(Situacao.class))).thenReturn(situacao);
-
         SituacaoResponse result = service.create(dtoCreate);
 
         assertNotNull(result);
         assertEquals(dtoCreate.getId(), result.getId());
         assertEquals(dtoCreate.getNome(), result.getNome());
-        verify(repository).save(any(Situacao.class));
+        verify(repository).insert(any(Situacao.class));
+        verify(repository, never()).existsById(any());
+        verify(repository, never()).findByNomeNormalizado(any());
+        verify(catalog).put(result);
+        verify(outbox).registrar(RecursoEvento.SITUACAO, OperacaoEvento.INCLUSAO, result.getId(), result);
     }
 
     @Test
@@ -105,53 +126,56 @@ class SituacaoServiceTest {
     @Test
     @DisplayName("Não deve criar situação com id duplicado")
     void shouldNotCreateSituacaoWithDuplicateId() {
-        when(repository.existsById(dtoCreate.getId())).thenReturn(true);
+        doThrow(violacao("PUBLIC.PRIMARY_KEY_2 ON PUBLIC.SITUACOES(ID)"))
+                .when(repository).insert(any(Situacao.class));
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () ->
                 service.create(dtoCreate));
 
         assertEquals("Registro já cadastrado", exception.getMessage());
-        verify(repository, never()).save(any());
+        verify(catalog, never()).put(any(SituacaoResponse.class));
+        verify(outbox, never()).registrar(any(), any(), any(), any());
     }
 
     @Test
     @DisplayName("Não deve criar situação com nome duplicado")
     void shouldNotCreateSituacaoWithDuplicateNome() {
-        when(repository.existsById(dtoCreate.getId())).thenReturn(false);
-        when(repository.findByNomeIgnoreCase(dtoCreate.getNome())).thenReturn(Optional.of(situacao));
+        doThrow(violacao("PUBLIC.UK_SITUACOES_NOME_NORMALIZADO ON PUBLIC.SITUACOES(NOME_NORMALIZADO)"))
+                .when(repository).insert(any(Situacao.class));
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(dtoCreate.getNome()))).thenReturn(Optional.of(situacao));
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () ->
                 service.create(dtoCreate));
 
         assertEquals("Nome já informado no registro com código " + situacao.getId(), exception.getMessage());
-        verify(repository, never()).save(any());
+        verify(catalog, never()).put(any(SituacaoResponse.class));
     }
 
     @Test
     @DisplayName("Deve atualizar situação")
     void shouldUpdateSituacao() {
         when(repository.findById(dtoCreate.getId())).thenReturn(Optional.of(situacao));
-        when(repository.findByNomeIgnoreCase(dtoCreate.getNome())).thenReturn(Optional.empty());
-        when(repository.save(any(Situacao.class))).thenReturn(situacao);
+        when(repository.findByNomeNormalizado(TextNormalizer.normalize(dtoUpdate.getNome()))).thenReturn(Optional.empty());
 
-        SituacaoResponse result = service.update(dtoCreate.getId(), dtoUpdate);
+        SituacaoResponse result = service.update(dtoCreate.getId(), dtoUpdate, null);
 
         assertNotNull(result);
-        assertEquals(dtoCreate.getNome(), result.getNome());
-        verify(repository).save(any(Situacao.class));
+        assertEquals(dtoUpdate.getNome(), result.getNome());
+        assertEquals(dtoUpdate.getNome(), situacao.getNome());
+        verify(repository, never()).save(any());
+        verify(outbox).registrar(RecursoEvento.SITUACAO, OperacaoEvento.ALTERACAO, result.getId(), result);
     }
 
     @Test
     @DisplayName("Deve atualizar situação com nome igual ao original")
     void shouldUpdateSituacaoWithSameNome() {
         when(repository.findById(dtoCreate.getId())).thenReturn(Optional.of(situacao));
-        when(repository.save(any(Situacao.class))).thenReturn(situacao);
 
-        SituacaoResponse result = service.update(dtoCreate.getId(), dtoUpdateSame);
+        SituacaoResponse result = service.update(dtoCreate.getId(), dtoUpdateSame, null);
 
         assertNotNull(result);
         assertEquals(dtoCreate.getNome(), result.getNome());
-        verify(repository).save(any(Situacao.class));
+        verify(repository, never()).save(any());
     }
 
     @Test
@@ -170,6 +194,19 @@ class SituacaoServiceTest {
         verify(repository).findAll(pageable);
     }
 
+    @Test
+    @DisplayName("Deve listar sem contagem total")
+    void shouldListSlice() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(situacao), pageable, false));
+
+        Slice<SituacaoResponseMin> result = service.listSlice(pageable);
+
+        assertEquals(1, result.getContent().size());
+        verify(repository).findSliceBy(pageable);
+        verify(repository, never()).findAll(pageable);
+    }
+
     @Test
     @DisplayName("Deve apagar situação")
     void shouldDeleteSituacao() {
@@ -178,6 +215,74 @@ class SituacaoServiceTest {
 
         assertDoesNotThrow(() -> service.delete(dtoCreate.getId()));
         verify(repository).delete(situacao);
+        verify(repository).flush();
+        verify(catalog).removeSituacao(dtoCreate.getId());
+        verify(outbox).registrar(RecursoEvento.SITUACAO, OperacaoEvento.EXCLUSAO, dtoCreate.getId(), null);
+    }
+
+    @Test
+    @DisplayName("Não deve apagar situação utilizada por cartórios")
+    void shouldNotDeleteSituacaoInUse() {
+        when(repository.findById(dtoCreate.getId())).thenReturn(Optional.of(situacao));
+        when(cartorioRepository.countBySituacaoId(dtoCreate.getId())).thenReturn(3L);
+
+        String id = dtoCreate.getId();
+
+        IntegrityConstraintException exception =
+                assertThrows(IntegrityConstraintException.class, () -> service.delete(id));
+
+        assertEquals("Situação utilizada por 3 cartório(s)", exception.getMessage());
+        verify(repository, never()).delete(any());
+        verify(catalog, never()).removeSituacao(any());
+    }
+
+    @Test
+    @DisplayName("Não deve apagar situação que passou a ser utilizada depois da contagem")
+    void shouldNotDeleteSituacaoReferencedConcurrently() {
+        when(repository.findById(dtoCreate.getId())).thenReturn(Optional.of(situacao));
+        doThrow(new DataIntegrityViolationException("fk_cartorios_situacao")).when(repository).flush();
+
+        String id = dtoCreate.getId();
+
+        IntegrityConstraintException exception =
+                assertThrows(IntegrityConstraintException.class, () -> service.delete(id));
+
+        assertEquals("Registro utilizado em outro cadastro.", exception.getMessage());
+        verify(catalog, never()).removeSituacao(any());
+        verify(outbox, never()).registrar(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve listar os cartórios na situação")
+    void shouldListCartoriosDaSituacao() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<CartorioResponseMin> cartorios = new PageImpl<>(List.of(new CartorioResponseMin(1, "1º Cartório")));
+
+        when(cartorioRepository.findPageMin(any(CartorioFiltro.class), eq(pageable))).thenReturn(cartorios);
+
+        Page<CartorioResponseMin> resultado = service.findCartorios(situacao.getId(), pageable);
+
+        assertEquals(1, resultado.getTotalElements());
+        verify(catalog).findSituacao(situacao.getId());
+        verify(cartorioRepository).findPageMin(
+                argThat((CartorioFiltro filtro) -> situacao.getId().equals(filtro.getSituacaoId())),
+                eq(pageable));
+    }
+
+    @Test
+    @DisplayName("Não deve listar cartórios de situação inexistente")
+    void shouldNotListCartoriosOfUnknownSituacao() {
+        when(catalog.findSituacao("SIT_X")).thenThrow(new ResourceNotFoundException("Situação não encontrada com o id: SIT_X"));
+
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.findCartorios("SIT_X", pageable));
+        verify(cartorioRepository, never()).findPageMin(any(CartorioFiltro.class), any());
+    }
+
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("could not execute batch",
+                new ConstraintViolationException("could not execute batch", new SQLException(), restricao));
     }
 
-}
\ No newline at end of file
+}